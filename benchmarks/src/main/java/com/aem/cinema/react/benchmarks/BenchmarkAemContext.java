@@ -0,0 +1,31 @@
+package com.aem.cinema.react.benchmarks;
+
+import com.aem.cinema.react.core.models.impl.CarouselImpl;
+import com.aem.cinema.react.core.models.impl.CarouselItemImpl;
+import com.aem.cinema.react.core.models.impl.CustomNavbarImpl;
+import com.aem.cinema.react.core.models.impl.HighlightImpl;
+import com.aem.cinema.react.core.models.impl.MovieImpl;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import org.apache.sling.testing.mock.sling.ResourceResolverType;
+
+/**
+ * {@link AemContext} that is set up and torn down by JMH trial hooks instead of
+ * the JUnit extension. The models of the core bundle are registered explicitly,
+ * since the bundle manifest is not on the classpath.
+ */
+final class BenchmarkAemContext extends AemContext {
+
+    BenchmarkAemContext() {
+        super(ResourceResolverType.RESOURCERESOLVER_MOCK);
+    }
+
+    void start() {
+        setUpContext();
+        addModelsForClasses(CarouselImpl.class, CarouselItemImpl.class, CustomNavbarImpl.class,
+                HighlightImpl.class, MovieImpl.class);
+    }
+
+    void stop() {
+        tearDownContext();
+    }
+}
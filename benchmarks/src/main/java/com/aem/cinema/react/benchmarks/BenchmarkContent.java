@@ -0,0 +1,39 @@
+package com.aem.cinema.react.benchmarks;
+
+import io.wcm.testing.mock.aem.junit5.AemContext;
+
+/**
+ * Repository content shared by the benchmarks.
+ */
+final class BenchmarkContent {
+
+    static final String MOVIES_FOLDER = "/content/dam/aem-cinema-react/movies-";
+
+    private static final String[] GENDERS = { "Ação", "Comédia", "Drama", "Animação", "Ficção" };
+    private static final String[] AGE_GROUPS = { "L", "10", "12", "14", "16", "18" };
+
+    private BenchmarkContent() {
+        // static methods only
+    }
+
+    static String moviePath(int index) {
+        return MOVIES_FOLDER + "/filme-" + index;
+    }
+
+    /**
+     * Creates {@code count} "filme" Content Fragments with the fields read by MovieData.
+     */
+    static void createMovies(AemContext context, int count) {
+        for (int i = 0; i < count; i++) {
+            context.build().resource(moviePath(i), "jcr:primaryType", "dam:Asset")
+                    .resource("jcr:content", "contentFragment", true)
+                    .resource("data",
+                            "cq:model", "/conf/aem-cinema-react/settings/dam/cfm/models/filme",
+                            "title", "Filme " + i,
+                            "poster", "/content/dam/aem-cinema-react/posters/filme-" + i + ".jpg",
+                            "gender", GENDERS[i % GENDERS.length],
+                            "ageGroup", AGE_GROUPS[i % AGE_GROUPS.length],
+                            "movieTime", (14 + i % 8) + ":00");
+        }
+    }
+}
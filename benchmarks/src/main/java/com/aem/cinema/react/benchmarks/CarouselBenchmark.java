@@ -0,0 +1,82 @@
+package com.aem.cinema.react.benchmarks;
+
+import com.aem.cinema.react.core.models.Carousel;
+import com.aem.cinema.react.core.services.impl.MovieFragmentCacheImpl;
+import org.apache.sling.models.factory.ModelFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building a {@link Carousel} model, i.e. injection plus {@code CarouselImpl.init()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CarouselBenchmark {
+
+    private static final String CAROUSEL = "/content/aem-cinema-react/us/en/home/jcr:content/root/carousel";
+
+    @Param({ "1", "10", "50" })
+    private int slideCount;
+
+    @Param({ "10", "60" })
+    private int movieCount;
+
+    @Param({ "true", "false" })
+    private boolean fragmentCache;
+
+    private final BenchmarkAemContext context = new BenchmarkAemContext();
+
+    private ModelFactory modelFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context.start();
+        if (fragmentCache) {
+            context.registerInjectActivateService(new MovieFragmentCacheImpl());
+        }
+        BenchmarkContent.createMovies(context, movieCount);
+
+        context.create().resource(CAROUSEL, "sling:resourceType", "aem-cinema-react/components/carousel",
+                "contentType", "movies");
+        for (int i = 0; i < slideCount; i++) {
+            context.create().resource(CAROUSEL + "/slideAssets/item" + i,
+                    "fileReference", "/content/dam/aem-cinema-react/banners/banner-" + i + ".jpg",
+                    "title", "Slide " + i,
+                    "buttonName", "Ver mais",
+                    "internalLink", "/content/aem-cinema-react/us/en/home/filme");
+        }
+        for (int i = 0; i < movieCount; i++) {
+            context.create().resource(CAROUSEL + "/movieAssets/item" + i,
+                    "fragmentPath", BenchmarkContent.moviePath(i));
+        }
+        context.currentResource(CAROUSEL);
+        modelFactory = context.getService(ModelFactory.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public Carousel init() {
+        return modelFactory.createModel(context.request(), Carousel.class);
+    }
+}
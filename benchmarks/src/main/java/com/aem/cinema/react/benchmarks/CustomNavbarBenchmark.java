@@ -0,0 +1,75 @@
+package com.aem.cinema.react.benchmarks;
+
+import com.aem.cinema.react.core.models.CustomNavbar;
+import com.aem.cinema.react.core.services.impl.NavigationTreeServiceImpl;
+import com.day.cq.wcm.api.NameConstants;
+import org.apache.sling.models.factory.ModelFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building a {@link CustomNavbar} model, i.e. injection plus {@code CustomNavbarImpl.init()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomNavbarBenchmark {
+
+    private static final String ROOT = "/content/aem-cinema-react/us/en/home";
+    private static final String NAVBAR = ROOT + "/jcr:content/root/customnavbar";
+
+    @Param({ "5", "20", "100" })
+    private int navChildCount;
+
+    @Param({ "true", "false" })
+    private boolean navigationCache;
+
+    private final BenchmarkAemContext context = new BenchmarkAemContext();
+
+    private ModelFactory modelFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context.start();
+        if (navigationCache) {
+            context.registerInjectActivateService(new NavigationTreeServiceImpl());
+        }
+        context.create().page(ROOT);
+        for (int i = 0; i < navChildCount; i++) {
+            // Every tenth page is hidden, so the filter has something to do
+            context.create().page(ROOT + "/page-" + i, null,
+                    "jcr:title", "Página " + i,
+                    NameConstants.PN_HIDE_IN_NAV, i % 10 == 9);
+        }
+        context.create().resource(NAVBAR, "sling:resourceType", "aem-cinema-react/components/customnavbar",
+                "url", ROOT);
+        context.currentResource(NAVBAR);
+        modelFactory = context.getService(ModelFactory.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public CustomNavbar init() {
+        return modelFactory.createModel(context.request(), CustomNavbar.class);
+    }
+}
@@ -0,0 +1,60 @@
+package com.aem.cinema.react.benchmarks;
+
+import com.aem.cinema.react.core.models.Highlight;
+import org.apache.sling.models.factory.ModelFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building a {@link Highlight} model, i.e. injection plus {@code HighlightImpl.init()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HighlightBenchmark {
+
+    private static final String HIGHLIGHT = "/content/aem-cinema-react/us/en/home/jcr:content/root/highlight";
+
+    private final BenchmarkAemContext context = new BenchmarkAemContext();
+
+    private ModelFactory modelFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context.start();
+        context.create().resource(HIGHLIGHT, "sling:resourceType", "aem-cinema-react/components/highlight",
+                "fileReference", "/content/dam/aem-cinema-react/banners/estreia.jpg",
+                "title", "Estreia da semana",
+                "description", "Garanta seu ingresso",
+                "alignment", "left",
+                "buttonName", "Comprar",
+                "internalLink", "/content/aem-cinema-react/us/en/home/programacao");
+        context.currentResource(HIGHLIGHT);
+        modelFactory = context.getService(ModelFactory.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public Highlight init() {
+        return modelFactory.createModel(context.request(), Highlight.class);
+    }
+}
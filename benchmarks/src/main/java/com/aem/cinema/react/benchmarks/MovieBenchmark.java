@@ -0,0 +1,77 @@
+package com.aem.cinema.react.benchmarks;
+
+import com.aem.cinema.react.core.models.Movie;
+import com.aem.cinema.react.core.services.impl.MovieFragmentCacheImpl;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.models.factory.ModelFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building the {@link Movie} models of a list of movie references,
+ * i.e. injection plus {@code MovieImpl.init()} for every reference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MovieBenchmark {
+
+    private static final String MOVIE_LIST = "/content/aem-cinema-react/us/en/home/jcr:content/root/movie";
+
+    @Param({ "1", "10", "60" })
+    private int movieCount;
+
+    @Param({ "true", "false" })
+    private boolean fragmentCache;
+
+    private final BenchmarkAemContext context = new BenchmarkAemContext();
+
+    private final List<Resource> references = new ArrayList<>();
+
+    private ModelFactory modelFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context.start();
+        if (fragmentCache) {
+            context.registerInjectActivateService(new MovieFragmentCacheImpl());
+        }
+        BenchmarkContent.createMovies(context, movieCount);
+        for (int i = 0; i < movieCount; i++) {
+            references.add(context.create().resource(MOVIE_LIST + "/item" + i,
+                    "fragmentPath", BenchmarkContent.moviePath(i)));
+        }
+        modelFactory = context.getService(ModelFactory.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void init(Blackhole blackhole) {
+        for (Resource reference : references) {
+            blackhole.consume(modelFactory.createModel(reference, Movie.class));
+        }
+    }
+}
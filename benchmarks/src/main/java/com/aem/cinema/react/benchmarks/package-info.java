@@ -0,0 +1,7 @@
+/**
+ * JMH benchmarks of the Sling Models in the core bundle, run against a sling-mock
+ * repository. Build with {@code mvn -pl core,benchmarks package} and run with
+ * {@code java -jar benchmarks/target/benchmarks.jar -prof gc} to report the
+ * allocation rate next to the average time.
+ */
+package com.aem.cinema.react.benchmarks;
@@ -0,0 +1,66 @@
+package com.aem.cinema.react.core.filters;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.servlets.HttpConstants;
+import org.apache.sling.engine.EngineConstants;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+
+import com.adobe.cq.export.json.ExporterConstants;
+import com.aem.cinema.react.core.services.ComponentExportCache;
+
+/**
+ * Answers {@code <component>.model.json} requests of cacheable components with
+ * the bytes kept by the {@link ComponentExportCache}, before the exporter servlet
+ * builds and serializes the model again.
+ */
+@Component(service = Filter.class,
+           property = {
+                   EngineConstants.SLING_FILTER_SCOPE + "=" + EngineConstants.FILTER_SCOPE_REQUEST,
+                   EngineConstants.SLING_FILTER_SELECTORS + "=" + ExporterConstants.SLING_MODEL_SELECTOR,
+                   EngineConstants.SLING_FILTER_EXTENSIONS + "=" + ExporterConstants.SLING_MODEL_EXTENSION,
+                   EngineConstants.SLING_FILTER_METHODS + "=" + HttpConstants.METHOD_GET
+           })
+@ServiceDescription("Serves cached model.json output of components")
+public class ComponentExportCacheFilter implements Filter {
+
+    @Reference
+    private ComponentExportCache componentExportCache;
+
+    @Override
+    public void doFilter(final ServletRequest request, final ServletResponse response,
+                         final FilterChain filterChain) throws IOException, ServletException {
+
+        final SlingHttpServletRequest slingRequest = (SlingHttpServletRequest) request;
+        // Other selectors such as "tidy" change the output, leave them to the exporter servlet
+        if (ExporterConstants.SLING_MODEL_SELECTOR.equals(slingRequest.getRequestPathInfo().getSelectorString())) {
+            byte[] json = componentExportCache.getExport(slingRequest, slingRequest.getResource());
+            if (json != null) {
+                response.setContentType("application/json");
+                response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                response.setContentLength(json.length);
+                response.getOutputStream().write(json);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
@@ -0,0 +1,73 @@
+package com.aem.cinema.react.core.filters;
+
+import java.io.IOException;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.servlets.HttpConstants;
+import org.apache.sling.engine.EngineConstants;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+import org.osgi.service.component.propertytypes.ServiceRanking;
+
+import com.adobe.cq.export.json.ExporterConstants;
+import com.aem.cinema.react.core.services.ModelValidator;
+import com.aem.cinema.react.core.services.ModelValidatorService;
+
+/**
+ * Adds an ETag and a Last-Modified header to {@code model.json} responses of
+ * pages and components and answers conditional requests with
+ * {@code 304 Not Modified}, before the {@link ComponentExportCacheFilter} or the
+ * exporter servlet touch any Sling Model.
+ */
+@Component(service = Filter.class,
+           property = {
+                   EngineConstants.SLING_FILTER_SCOPE + "=" + EngineConstants.FILTER_SCOPE_REQUEST,
+                   EngineConstants.SLING_FILTER_SELECTORS + "=" + ExporterConstants.SLING_MODEL_SELECTOR,
+                   EngineConstants.SLING_FILTER_EXTENSIONS + "=" + ExporterConstants.SLING_MODEL_EXTENSION,
+                   EngineConstants.SLING_FILTER_METHODS + "=" + HttpConstants.METHOD_GET
+           })
+@ServiceDescription("Answers unchanged model.json requests with 304")
+@ServiceRanking(100)
+public class ConditionalModelFilter implements Filter {
+
+    @Reference
+    private ModelValidatorService modelValidatorService;
+
+    @Override
+    public void doFilter(final ServletRequest request, final ServletResponse response,
+                         final FilterChain filterChain) throws IOException, ServletException {
+
+        final SlingHttpServletRequest slingRequest = (SlingHttpServletRequest) request;
+        ModelValidator validator = modelValidatorService.getValidator(slingRequest.getResource(),
+                slingRequest.getRequestPathInfo().getSelectorString());
+        if (validator != null) {
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setHeader("Cache-Control", modelValidatorService.getCacheControl());
+            httpResponse.setHeader("ETag", validator.getEtag());
+            if (validator.getLastModified() > 0) {
+                httpResponse.setDateHeader("Last-Modified", validator.getLastModified());
+            }
+            if (validator.isNotModified(slingRequest)) {
+                httpResponse.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
@@ -24,28 +24,39 @@ import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 
 import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.request.RequestPathInfo;
+import org.apache.sling.api.resource.Resource;
 import org.apache.sling.engine.EngineConstants;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.propertytypes.ServiceDescription;
 import org.osgi.service.component.propertytypes.ServiceRanking;
 import org.osgi.service.component.propertytypes.ServiceVendor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.aem.cinema.react.core.services.RequestLatencyService;
+
 /**
- * Simple servlet filter component that logs incoming requests.
+ * Servlet filter component that logs incoming requests and records their latency,
+ * including the latency of every component include, per resource type, selectors
+ * and extension.
  */
 @Component(service = Filter.class,
            property = {
                    EngineConstants.SLING_FILTER_SCOPE + "=" + EngineConstants.FILTER_SCOPE_REQUEST,
+                   EngineConstants.SLING_FILTER_SCOPE + "=" + EngineConstants.FILTER_SCOPE_COMPONENT,
            })
-@ServiceDescription("Demo to filter incoming requests")
+@ServiceDescription("Logs incoming requests and records their latency")
 @ServiceRanking(-700)
 @ServiceVendor("Adobe")
 public class LoggingFilter implements Filter {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
+    @Reference
+    private RequestLatencyService requestLatencyService;
+
     @Override
     public void doFilter(final ServletRequest request, final ServletResponse response,
                          final FilterChain filterChain) throws IOException, ServletException {
@@ -55,7 +66,16 @@ public class LoggingFilter implements Filter {
                 .getRequestPathInfo().getResourcePath(), slingRequest
                 .getRequestPathInfo().getSelectorString());
 
-        filterChain.doFilter(request, response);
+        // Runs for every request and include, so only primitives and existing strings are used here
+        final long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            final Resource resource = slingRequest.getResource();
+            final RequestPathInfo pathInfo = slingRequest.getRequestPathInfo();
+            requestLatencyService.record(resource != null ? resource.getResourceType() : null,
+                    pathInfo.getSelectorString(), pathInfo.getExtension(), System.nanoTime() - start);
+        }
     }
 
     @Override
@@ -0,0 +1,68 @@
+package com.aem.cinema.react.core.listeners;
+
+import java.util.Set;
+
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+
+import com.aem.cinema.react.core.services.ChangeBatchHandler;
+import com.aem.cinema.react.core.services.ComponentExportCache;
+import com.aem.cinema.react.core.services.FragmentReferenceIndex;
+import com.aem.cinema.react.core.services.ImageRenditionService;
+import com.aem.cinema.react.core.services.MovieCatalogService;
+import com.aem.cinema.react.core.services.MovieFragmentCache;
+import com.aem.cinema.react.core.services.NewsFeedService;
+import com.aem.cinema.react.core.services.PersistedQueryService;
+
+/**
+ * Handles the batches of DAM and Content Fragment Model changes queued by the
+ * {@link SimpleResourceListener}: evicts the changed fragments and images from
+ * the movie caches, the news feed and the persisted query responses reading
+ * them, then the exports of the components showing them. The dispatcher is
+ * flushed once the fragments are published, see {@link ReplicationFlushListener}.
+ */
+@Component(service = ChangeBatchHandler.class)
+@ServiceDescription("Evicts changed Content Fragments from the movie caches")
+public class FragmentChangeHandler implements ChangeBatchHandler {
+
+    private static final String DAM_ROOT = "/content/dam/";
+
+    @Reference
+    private MovieFragmentCache movieFragmentCache;
+
+    @Reference
+    private MovieCatalogService movieCatalogService;
+
+    @Reference
+    private ComponentExportCache componentExportCache;
+
+    @Reference
+    private NewsFeedService newsFeedService;
+
+    @Reference
+    private ImageRenditionService imageRenditionService;
+
+    @Reference
+    private PersistedQueryService persistedQueryService;
+
+    @Reference
+    private FragmentReferenceIndex fragmentReferenceIndex;
+
+    @Override
+    public void handle(Set<String> paths) {
+        for (String path : paths) {
+            movieFragmentCache.invalidate(path);
+            movieCatalogService.invalidate(path);
+            newsFeedService.invalidate(path);
+            componentExportCache.invalidate(path);
+            imageRenditionService.invalidate(path);
+            persistedQueryService.invalidate(path);
+            if (path.startsWith(DAM_ROOT)) {
+                for (String component : fragmentReferenceIndex.getReferencingComponents(path)) {
+                    componentExportCache.invalidate(component);
+                }
+            }
+        }
+    }
+}
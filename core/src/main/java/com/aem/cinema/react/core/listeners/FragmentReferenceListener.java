@@ -0,0 +1,40 @@
+package com.aem.cinema.react.core.listeners;
+
+import java.util.List;
+
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.api.resource.observation.ResourceChangeListener;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+
+import com.aem.cinema.react.core.services.FragmentReferenceIndex;
+
+/**
+ * Keeps the fragment reference index current. Changed fragments are handled
+ * by the {@link FragmentChangeHandler}.
+ */
+@Component(service = ResourceChangeListener.class,
+           property = {
+                   ResourceChangeListener.PATHS + "=/content",
+                   ResourceChangeListener.CHANGES + "=ADDED",
+                   ResourceChangeListener.CHANGES + "=CHANGED",
+                   ResourceChangeListener.CHANGES + "=REMOVED"
+           }
+)
+@ServiceDescription("Re-indexes the fragment references of changed pages")
+public class FragmentReferenceListener implements ResourceChangeListener {
+
+    private static final String DAM_ROOT = "/content/dam/";
+
+    @Reference
+    private FragmentReferenceIndex fragmentReferenceIndex;
+
+    @Override
+    public void onChange(List<ResourceChange> changes) {
+        changes.stream()
+                .map(ResourceChange::getPath)
+                .filter(path -> !path.startsWith(DAM_ROOT))
+                .forEach(fragmentReferenceIndex::invalidate);
+    }
+}
@@ -0,0 +1,61 @@
+package com.aem.cinema.react.core.listeners;
+
+import java.util.List;
+
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.api.resource.observation.ResourceChangeListener;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+
+import com.aem.cinema.react.core.services.ComponentExportCache;
+import com.aem.cinema.react.core.services.DataLayerService;
+import com.aem.cinema.react.core.services.LinkResolver;
+
+/**
+ * Drops the resolved links when a linked page is moved or removed, or when the
+ * resource mapping below /etc/map changes. A mapping change also drops the
+ * cached component exports and data layer entries, as they contain the mapped links.
+ */
+@Component(service = ResourceChangeListener.class,
+           property = {
+                   ResourceChangeListener.PATHS + "=/content",
+                   ResourceChangeListener.PATHS + "=/etc/map",
+                   ResourceChangeListener.CHANGES + "=ADDED",
+                   ResourceChangeListener.CHANGES + "=CHANGED",
+                   ResourceChangeListener.CHANGES + "=REMOVED"
+           }
+)
+@ServiceDescription("Evicts resolved links after page moves and resource mapping changes")
+public class LinkChangeListener implements ResourceChangeListener {
+
+    private static final String DAM_ROOT = "/content/dam/";
+    private static final String MAP_ROOT = "/etc/map";
+    private static final String CONTENT_ROOT = "/content";
+
+    @Reference
+    private LinkResolver linkResolver;
+
+    @Reference
+    private ComponentExportCache componentExportCache;
+
+    @Reference
+    private DataLayerService dataLayerService;
+
+    @Override
+    public void onChange(List<ResourceChange> changes) {
+        boolean mappingChanged = false;
+        for (ResourceChange change : changes) {
+            String path = change.getPath();
+            if (path.startsWith(DAM_ROOT)) {
+                continue;
+            }
+            linkResolver.invalidate(path);
+            mappingChanged |= path.equals(MAP_ROOT) || path.startsWith(MAP_ROOT + "/");
+        }
+        if (mappingChanged) {
+            componentExportCache.invalidate(CONTENT_ROOT);
+            dataLayerService.invalidate(CONTENT_ROOT);
+        }
+    }
+}
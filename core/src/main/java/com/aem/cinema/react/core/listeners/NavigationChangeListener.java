@@ -0,0 +1,51 @@
+package com.aem.cinema.react.core.listeners;
+
+import java.util.List;
+
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.api.resource.observation.ResourceChangeListener;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+
+import com.aem.cinema.react.core.services.ComponentExportCache;
+import com.aem.cinema.react.core.services.DataLayerService;
+import com.aem.cinema.react.core.services.NavigationTreeService;
+
+/**
+ * Drops the cached navigation trees when a page below /content changes.
+ */
+@Component(service = ResourceChangeListener.class,
+           property = {
+                   ResourceChangeListener.PATHS + "=/content",
+                   ResourceChangeListener.CHANGES + "=ADDED",
+                   ResourceChangeListener.CHANGES + "=CHANGED",
+                   ResourceChangeListener.CHANGES + "=REMOVED"
+           }
+)
+@ServiceDescription("Evicts changed pages from the navigation tree, component export and data layer caches")
+public class NavigationChangeListener implements ResourceChangeListener {
+
+    private static final String DAM_ROOT = "/content/dam/";
+
+    @Reference
+    private NavigationTreeService navigationTreeService;
+
+    @Reference
+    private ComponentExportCache componentExportCache;
+
+    @Reference
+    private DataLayerService dataLayerService;
+
+    @Override
+    public void onChange(List<ResourceChange> changes) {
+        changes.stream()
+                .map(ResourceChange::getPath)
+                .filter(path -> !path.startsWith(DAM_ROOT))
+                .forEach(path -> {
+                    navigationTreeService.invalidate(path);
+                    componentExportCache.invalidate(path);
+                    dataLayerService.invalidate(path);
+                });
+    }
+}
@@ -0,0 +1,62 @@
+package com.aem.cinema.react.core.listeners;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventConstants;
+import org.osgi.service.event.EventHandler;
+
+import com.aem.cinema.react.core.services.DispatcherFlushService;
+import com.aem.cinema.react.core.services.FragmentReferenceIndex;
+import com.day.cq.replication.ReplicationAction;
+import com.day.cq.replication.ReplicationActionType;
+
+/**
+ * Flushes the pages referencing a Content Fragment from the dispatcher once the
+ * fragment is published or unpublished. Editing a fragment on author changes
+ * nothing the dispatcher caches, so the flush waits for its replication: the
+ * invalidate request is queued on the same distribution agent right after the
+ * fragment's package, and is only processed once publish serves the new content.
+ */
+@Component(service = EventHandler.class,
+           immediate = true,
+           property = EventConstants.EVENT_TOPIC + "=" + ReplicationAction.EVENT_TOPIC
+)
+@ServiceDescription("Flushes the pages referencing replicated Content Fragments from the dispatcher")
+public class ReplicationFlushListener implements EventHandler {
+
+    private static final String DAM_ROOT = "/content/dam/";
+
+    @Reference
+    private FragmentReferenceIndex fragmentReferenceIndex;
+
+    @Reference
+    private DispatcherFlushService dispatcherFlushService;
+
+    @Override
+    public void handleEvent(Event event) {
+        ReplicationAction action = ReplicationAction.fromEvent(event);
+        if (action == null || action.getPaths() == null || !changesContent(action.getType())) {
+            return;
+        }
+        Set<String> pages = new TreeSet<>();
+        for (String path : action.getPaths()) {
+            if (path.startsWith(DAM_ROOT)) {
+                pages.addAll(fragmentReferenceIndex.getReferencingPages(path));
+            }
+        }
+        if (!pages.isEmpty()) {
+            dispatcherFlushService.flush(pages);
+        }
+    }
+
+    private static boolean changesContent(ReplicationActionType type) {
+        return type == ReplicationActionType.ACTIVATE
+                || type == ReplicationActionType.DEACTIVATE
+                || type == ReplicationActionType.DELETE;
+    }
+}
@@ -20,30 +20,45 @@ import java.util.List;
 import org.apache.sling.api.resource.observation.ResourceChange;
 import org.apache.sling.api.resource.observation.ResourceChangeListener;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.propertytypes.ServiceDescription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.aem.cinema.react.core.services.ChangePipeline;
+
 /**
- * A service to demonstrate how changes in the resource tree
- * can be listened for. 
+ * Listens for changes below /content/dam and to the Content Fragment Models,
+ * and queues them on the
+ * {@link ChangePipeline}, so a bulk import is handled by the
+ * {@link FragmentChangeHandler} in a few batches instead of once per change.
  * Please note, that apart from EventHandler services,
  * the immediate flag should not be set on a service.
  */
 @Component(service = ResourceChangeListener.class,
-           immediate = true
+           immediate = true,
+           property = {
+                   ResourceChangeListener.PATHS + "=/content/dam",
+                   ResourceChangeListener.PATHS + "=/conf/aem-cinema-react/settings/dam/cfm",
+                   ResourceChangeListener.CHANGES + "=ADDED",
+                   ResourceChangeListener.CHANGES + "=CHANGED",
+                   ResourceChangeListener.CHANGES + "=REMOVED"
+           }
 )
-@ServiceDescription("Demo to listen on changes in the resource tree")
+@ServiceDescription("Queues changed Content Fragments for cache invalidation")
 public class SimpleResourceListener implements ResourceChangeListener {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
+    @Reference
+    private ChangePipeline changePipeline;
+
     @Override
     public void onChange(List<ResourceChange> changes) {
         changes.forEach(change -> {
             logger.debug("Resource event: {} at: {} isExternal", change.getType(), change.getPath(), change.isExternal());
+            changePipeline.submit(change.getPath());
         });
-        
     }
 }
 
@@ -1,5 +1,10 @@
 package com.aem.cinema.react.core.models;
 
+import com.aem.cinema.react.core.services.ImageRendition;
+
+import java.util.Collections;
+import java.util.List;
+
 
 // This interface defines the properties of a single slide.
 public interface CarouselItem {
@@ -10,6 +15,11 @@ public interface CarouselItem {
     String getInternalLink();
     String getExternalLink();
 
+    // Existing renditions of the fileReference, so the client can build srcset/sizes
+    default List<ImageRendition> getRenditions() {
+        return Collections.emptyList();
+    }
+
     // Utility methods to simplify link handling
     default String getLink() {
         if (getInternalLink() != null && !getInternalLink().isEmpty()) {
@@ -1,7 +1,7 @@
 package com.aem.cinema.react.core.models;
 
 import com.adobe.cq.export.json.ComponentExporter;
-import com.day.cq.wcm.api.Page;
+import com.aem.cinema.react.core.services.NavigationItem;
 
 import java.util.List;
 
@@ -9,7 +9,7 @@ public interface CustomNavbar extends ComponentExporter {
 
     String getUrl();
 
-    List<Page> getNavbarPages();
+    List<NavigationItem> getNavbarPages();
 
     String getTopazPlusUrl();
     String getAccessibilityUrl();
@@ -1,13 +1,21 @@
 package com.aem.cinema.react.core.models;
 
+import com.aem.cinema.react.core.services.ImageRendition;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 public interface Highlight {
 
     String getFileReference();
 
+    // Existing renditions of the fileReference, empty for implementations that do not list them
+    default List<ImageRendition> getRenditions() {
+        return Collections.emptyList();
+    }
+
     String getAlignment();
 
     String getTitle();
@@ -1,5 +1,9 @@
 package com.aem.cinema.react.core.models;
 
+import com.aem.cinema.react.core.utils.PosterUtils;
+
+import java.util.List;
+
 
 public interface Movie {
     String getPoster();
@@ -8,4 +12,9 @@ public interface Movie {
     String getGender();
     String getMovieTime();
     String getFragmentPath();
+
+    // Resized poster renditions for <img srcset>, so cards don't download the original
+    default List<String> getPosterSrcset() {
+        return PosterUtils.getSrcset(getPoster());
+    }
 }
\ No newline at end of file
@@ -7,6 +7,10 @@ import com.aem.cinema.react.core.models.CarouselItem;
 import com.adobe.cq.export.json.ComponentExporter;
 import com.adobe.cq.export.json.ExporterConstants;
 import com.aem.cinema.react.core.models.Movie;
+import com.aem.cinema.react.core.services.DataLayerEntry;
+import com.aem.cinema.react.core.services.DataLayerService;
+import com.aem.cinema.react.core.services.MovieData;
+import com.aem.cinema.react.core.services.MovieFragmentCache;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.apache.sling.api.SlingHttpServletRequest;
@@ -14,6 +18,7 @@ import org.apache.sling.api.resource.Resource;
 import org.apache.sling.models.annotations.Exporter;
 import org.apache.sling.models.annotations.Model;
 import org.apache.sling.models.annotations.injectorspecific.ChildResource;
+import org.apache.sling.models.annotations.injectorspecific.OSGiService;
 import org.apache.sling.models.annotations.injectorspecific.Self;
 import org.apache.sling.models.annotations.injectorspecific.SlingObject;
 import org.apache.sling.models.annotations.injectorspecific.ValueMapValue;
@@ -22,8 +27,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -44,12 +49,20 @@ public class CarouselImpl implements Carousel, ComponentExporter, Component {
 
     protected static final String RESOURCE_TYPE = "aem-cinema-react/components/carousel";
 
+    private static final String PN_FRAGMENT_PATH = "fragmentPath";
+
     @SlingObject
     private Resource resource;
 
     @Self
     private SlingHttpServletRequest request;
 
+    @OSGiService
+    private MovieFragmentCache movieFragmentCache;
+
+    @OSGiService
+    private DataLayerService dataLayerService;
+
     @ValueMapValue
     private String contentType;
 
@@ -71,47 +84,17 @@ public class CarouselImpl implements Carousel, ComponentExporter, Component {
 
     @PostConstruct
     protected void init() {
-        LOGGER.debug("Initializing CarouselImpl for resource: {}", resource.getPath());
-
-        try {
-
-            componentData = null;
-
-
-            if (componentData != null) {
-                this.id = componentData.getId();
-            } else {
-
-                this.id = resource.getName() + "-" + Math.abs(resource.getPath().hashCode());
-            }
-
-        } catch (Exception e) {
-            LOGGER.error("Error initializing DataLayerBuilder. Falling back to manual ID and dataLayer creation.", e);
-            this.id = resource.getName() + "-" + Math.abs(resource.getPath().hashCode());
-            componentData = null;
-        }
-
-
-
-        dataLayerJson = new HashMap<>();
-        if (componentData != null) {
-            Map<String, Object> componentProperties = new HashMap<>();
-
-            componentProperties.put("@type", componentData.getType());
-            componentProperties.put("repo:modifyDate", componentData.getLastModifiedDate());
-            componentProperties.put("id", componentData.getId());
-
-
-            dataLayerJson.put(this.id, componentProperties);
+        DataLayerEntry entry = dataLayerService != null
+                ? dataLayerService.getEntry(resource, RESOURCE_TYPE)
+                : null;
+        if (entry != null) {
+            this.id = entry.getId();
+            this.dataLayerJson = dataLayerService.isPageLevel() ? null : entry.getDataLayer();
         } else {
-
-            Map<String, Object> componentProperties = new HashMap<>();
-            componentProperties.put("@type", RESOURCE_TYPE);
-            componentProperties.put("id", this.id);
-            dataLayerJson.put(this.id, componentProperties);
+            this.id = resource.getName() + "-" + Math.abs(resource.getPath().hashCode());
+            this.dataLayerJson = Collections.singletonMap(id, Map.of("@type", RESOURCE_TYPE, "id", id));
         }
 
-
         if (slideResources != null && !slideResources.isEmpty()) {
             slides = slideResources.stream()
                     .map(resource -> resource.adaptTo(CarouselItem.class))
@@ -122,7 +105,7 @@ public class CarouselImpl implements Carousel, ComponentExporter, Component {
         }
 
         if (movieResources != null && !movieResources.isEmpty()) {
-            movies = movieResources.stream()
+            movies = movieFragmentCache != null ? loadMovies() : movieResources.stream()
                     .map(resource -> resource.adaptTo(Movie.class))
                     .filter(java.util.Objects::nonNull)
                     .collect(Collectors.toList());
@@ -130,7 +113,23 @@ public class CarouselImpl implements Carousel, ComponentExporter, Component {
             movies = Collections.emptyList();
         }
 
-        LOGGER.debug("CarouselImpl initialized. ID: {}, DataLayer JSON: {}", id, dataLayerJson);
+        LOGGER.debug("CarouselImpl initialized. ID: {}", id);
+    }
+
+    // Resolves every referenced fragment in one batch instead of adapting each movieAssets child
+    private List<Movie> loadMovies() {
+        List<String> fragmentPaths = movieResources.stream()
+                .map(movieResource -> movieResource.getValueMap().get(PN_FRAGMENT_PATH, String.class))
+                .collect(Collectors.toList());
+
+        Map<String, MovieData> movieData = movieFragmentCache.getAll(request.getResourceResolver(), fragmentPaths);
+
+        List<Movie> loaded = new ArrayList<>(fragmentPaths.size());
+        for (String fragmentPath : fragmentPaths) {
+            MovieData data = fragmentPath != null ? movieData.get(fragmentPath) : null;
+            loaded.add(data != null ? data : MovieData.empty(fragmentPath));
+        }
+        return loaded;
     }
 
     @Override
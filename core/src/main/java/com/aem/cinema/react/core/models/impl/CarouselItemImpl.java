@@ -1,12 +1,23 @@
 package com.aem.cinema.react.core.models.impl;
 
 import com.aem.cinema.react.core.models.CarouselItem;
+import com.aem.cinema.react.core.services.ImageRendition;
+import com.aem.cinema.react.core.services.ImageRenditionService;
+import com.aem.cinema.react.core.services.LinkResolver;
+import com.aem.cinema.react.core.utils.LinkUtils;
 import org.apache.sling.api.SlingHttpServletRequest;
 import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
 import org.apache.sling.models.annotations.DefaultInjectionStrategy;
 import org.apache.sling.models.annotations.Model;
+import org.apache.sling.models.annotations.injectorspecific.OSGiService;
+import org.apache.sling.models.annotations.injectorspecific.SlingObject;
 import org.apache.sling.models.annotations.injectorspecific.ValueMapValue;
 
+import javax.annotation.PostConstruct;
+import java.util.Collections;
+import java.util.List;
+
 @Model(
         adaptables = Resource.class,
         adapters = CarouselItem.class,
@@ -30,11 +41,45 @@ public class CarouselItemImpl implements CarouselItem {
     @ValueMapValue
     private String externalLink;
 
+    @SlingObject
+    private ResourceResolver resourceResolver;
+
+    @OSGiService
+    private LinkResolver linkResolver;
+
+    @OSGiService
+    private ImageRenditionService imageRenditionService;
+
+    // Resolved once, the getters are called several times during export
+    private String resolvedInternalLink;
+    private String resolvedExternalLink;
+
+    private List<ImageRendition> renditions;
+
+    @PostConstruct
+    protected void init() {
+        if (linkResolver != null) {
+            resolvedInternalLink = linkResolver.getInternalLink(resourceResolver, internalLink);
+            resolvedExternalLink = linkResolver.getExternalLink(externalLink);
+        } else {
+            resolvedInternalLink = LinkUtils.toInternalLink(internalLink);
+            resolvedExternalLink = LinkUtils.toExternalLink(externalLink);
+        }
+        renditions = imageRenditionService != null
+                ? imageRenditionService.getRenditions(resourceResolver, fileReference)
+                : Collections.emptyList();
+    }
+
     @Override
     public String getFileReference() {
         return fileReference;
     }
 
+    @Override
+    public List<ImageRendition> getRenditions() {
+        return renditions;
+    }
+
     @Override
     public String getTitle() {
         return title;
@@ -47,28 +92,11 @@ public class CarouselItemImpl implements CarouselItem {
 
     @Override
     public String getInternalLink() {
-
-        if(internalLink != null && !internalLink.isEmpty()) {
-            if(internalLink.endsWith(".html")) {
-                return internalLink;
-            }
-            else {
-                return internalLink + ".html";
-            }
-        }
-        return null;
+        return resolvedInternalLink;
     }
 
     @Override
     public String getExternalLink() {
-        if(externalLink != null && !externalLink.isEmpty()) {
-            if(externalLink.startsWith("http://") || externalLink.startsWith("https://")) {
-                return externalLink;
-            }
-            else {
-                return "http://" + externalLink;
-            }
-        }
-        return null;
+        return resolvedExternalLink;
     }
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package com.aem.cinema.react.core.models.impl;
 import com.adobe.cq.export.json.ComponentExporter;
 import com.adobe.cq.export.json.ExporterConstants;
 import com.aem.cinema.react.core.models.CustomNavbar;
+import com.aem.cinema.react.core.services.NavigationItem;
+import com.aem.cinema.react.core.services.NavigationTreeService;
 import com.day.cq.wcm.api.NameConstants;
 import com.day.cq.wcm.api.Page;
 import com.day.cq.wcm.api.PageManager;
@@ -11,6 +13,7 @@ import org.apache.sling.api.resource.ResourceResolver;
 import org.apache.sling.models.annotations.DefaultInjectionStrategy;
 import org.apache.sling.models.annotations.Exporter;
 import org.apache.sling.models.annotations.Model;
+import org.apache.sling.models.annotations.injectorspecific.OSGiService;
 import org.apache.sling.models.annotations.injectorspecific.SlingObject;
 import org.apache.sling.models.annotations.injectorspecific.ValueMapValue;
 
@@ -48,27 +51,35 @@ public class CustomNavbarImpl implements CustomNavbar, ComponentExporter {
     @SlingObject
     public ResourceResolver resourceResolver;
 
-    private List<Page> navbarPages;
+    @OSGiService
+    private NavigationTreeService navigationTreeService;
+
+    private List<NavigationItem> navbarPages;
 
     @PostConstruct
     protected void init() {
         if (url != null) {
-            PageManager pageManager = resourceResolver.adaptTo(PageManager.class);
-
-            if (pageManager != null) {
-                Page parentPage = pageManager.getPage(url);
-
-                if (parentPage != null) {
-                    Iterator<Page> children = parentPage.listChildren();
-                    navbarPages = StreamSupport.stream(
-                                    Spliterators.spliteratorUnknownSize(children, 0), false)
-                            .filter(this::isPageVisibleInNav)
-                            .collect(Collectors.toList());
-                }
-            }
+            navbarPages = navigationTreeService != null
+                    ? navigationTreeService.getVisibleChildren(resourceResolver, url)
+                    : loadNavbarPages();
         }
     }
 
+    // Walks the child pages directly when the navigation tree service is not available
+    private List<NavigationItem> loadNavbarPages() {
+        PageManager pageManager = resourceResolver.adaptTo(PageManager.class);
+        Page parentPage = pageManager != null ? pageManager.getPage(url) : null;
+        if (parentPage == null) {
+            return null;
+        }
+
+        Iterator<Page> children = parentPage.listChildren();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(children, 0), false)
+                .filter(this::isPageVisibleInNav)
+                .map(page -> new NavigationItem(page.getPath(), page.getName(), page.getTitle(), page.getNavigationTitle()))
+                .collect(Collectors.toList());
+    }
+
     // Helper method to check if a page should be visible in navigation
     private boolean isPageVisibleInNav(Page page) {
         if (page == null || page.getContentResource() == null) {
@@ -76,8 +87,7 @@ public class CustomNavbarImpl implements CustomNavbar, ComponentExporter {
         }
 
         // Check cq:hideInNav property
-        boolean hideInNav = page.getProperties().get(NameConstants.PN_HIDE_IN_NAV, false);
-        if (hideInNav) {
+        if (page.getProperties().get(NameConstants.PN_HIDE_IN_NAV, false)) {
             return false;
         }
 
@@ -85,21 +95,7 @@ public class CustomNavbarImpl implements CustomNavbar, ComponentExporter {
         Calendar onTime = page.getProperties().get(NameConstants.PN_ON_TIME, Calendar.class);
         Calendar offTime = page.getProperties().get(NameConstants.PN_OFF_TIME, Calendar.class);
         Calendar now = Calendar.getInstance();
-
-        if (onTime != null && now.before(onTime)) {
-            return false; // Page is not yet valid
-        }
-        if (offTime != null && now.after(offTime)) {
-            return false; // Page is no longer valid
-        }
-
-        // Also commonly, pages without a jcr:title are hidden from nav
-        // You can add this if desired:
-        // if (org.apache.commons.lang3.StringUtils.isBlank(page.getTitle())) {
-        //     return false;
-        // }
-
-        return true; // Page meets the visibility criteria
+        return (onTime == null || !now.before(onTime)) && (offTime == null || !now.after(offTime));
     }
 
     @Override
@@ -113,7 +109,7 @@ public class CustomNavbarImpl implements CustomNavbar, ComponentExporter {
     }
 
     @Override
-    public List<Page> getNavbarPages() {
+    public List<NavigationItem> getNavbarPages() {
         return navbarPages;
     }
 
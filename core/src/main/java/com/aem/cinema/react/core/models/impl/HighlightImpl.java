@@ -6,11 +6,18 @@ import com.adobe.cq.wcm.core.components.models.datalayer.ComponentData; // Keep
 // REMOVED: import com.adobe.cq.wcm.core.components.models.datalayer.builder.DataLayerBuilder; // No longer needed if not using the builder
 
 import com.aem.cinema.react.core.models.Highlight;
+import com.aem.cinema.react.core.services.DataLayerEntry;
+import com.aem.cinema.react.core.services.DataLayerService;
+import com.aem.cinema.react.core.services.ImageRendition;
+import com.aem.cinema.react.core.services.ImageRenditionService;
+import com.aem.cinema.react.core.services.LinkResolver;
+import com.aem.cinema.react.core.utils.LinkUtils;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.apache.sling.api.SlingHttpServletRequest;
 import org.apache.sling.models.annotations.DefaultInjectionStrategy;
 import org.apache.sling.models.annotations.Model;
+import org.apache.sling.models.annotations.injectorspecific.OSGiService;
 import org.apache.sling.models.annotations.injectorspecific.SlingObject;
 import org.apache.sling.models.annotations.injectorspecific.ValueMapValue;
 import org.apache.sling.api.resource.Resource;
@@ -18,7 +25,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 
@@ -57,6 +66,21 @@ public class HighlightImpl implements Highlight, Component, ComponentExporter {
     @ValueMapValue
     private String externalLink;
 
+    @OSGiService
+    private LinkResolver linkResolver;
+
+    @OSGiService
+    private DataLayerService dataLayerService;
+
+    @OSGiService
+    private ImageRenditionService imageRenditionService;
+
+    // Resolved once in init(), the data layer and the exporter both read them
+    private String resolvedInternalLink;
+    private String resolvedExternalLink;
+
+    private List<ImageRendition> renditions;
+
     @JsonProperty("dataLayer")
     private Map<String,Object> dataLayerJson;
 
@@ -68,33 +92,45 @@ public class HighlightImpl implements Highlight, Component, ComponentExporter {
     @PostConstruct
     protected void init() {
 
-        this.id = resource.getName() + "-" + Math.abs(resource.getPath().hashCode());
-        LOGGER.debug("Manually generated ID for Highlight: {}", this.id);
-
-
-        dataLayerJson = new HashMap<>();
+        if (linkResolver != null) {
+            resolvedInternalLink = linkResolver.getInternalLink(resource.getResourceResolver(), internalLink);
+            resolvedExternalLink = linkResolver.getExternalLink(externalLink);
+        } else {
+            resolvedInternalLink = LinkUtils.toInternalLink(internalLink);
+            resolvedExternalLink = LinkUtils.toExternalLink(externalLink);
+        }
 
+        renditions = imageRenditionService != null
+                ? imageRenditionService.getRenditions(resource.getResourceResolver(), fileReference)
+                : Collections.emptyList();
+
+        if (dataLayerService != null) {
+            DataLayerEntry entry = dataLayerService.getEntry(resource, RESOURCE_TYPE);
+            this.id = entry.getId();
+            this.dataLayerJson = dataLayerService.isPageLevel() ? null : entry.getDataLayer();
+        } else {
+            this.id = resource.getName() + "-" + Math.abs(resource.getPath().hashCode());
+            this.dataLayerJson = buildDataLayer();
+        }
+        LOGGER.debug("HighlightImpl initialized. ID: {}", id);
+    }
 
+    // Only used without a DataLayerService, e.g. in the benchmark context
+    private Map<String, Object> buildDataLayer() {
         Map<String, Object> componentProperties = new HashMap<>();
         componentProperties.put("@type", RESOURCE_TYPE);
         componentProperties.put("id", this.id);
-
-
         if (this.title != null) {
             componentProperties.put("dc:title", this.title);
         }
-
-         if (resource.getValueMap().containsKey("jcr:lastModified")) {
-             componentProperties.put("repo:modifyDate", resource.getValueMap().get("jcr:lastModified", String.class));
-         }
-
-        String highlightLink = getInternalLink() != null ? getInternalLink() : getExternalLink();
+        if (resource.getValueMap().containsKey("jcr:lastModified")) {
+            componentProperties.put("repo:modifyDate", resource.getValueMap().get("jcr:lastModified", String.class));
+        }
+        String highlightLink = resolvedInternalLink != null ? resolvedInternalLink : resolvedExternalLink;
         if (highlightLink != null) {
             componentProperties.put("xdm:linkURL", highlightLink);
         }
-        dataLayerJson.put(this.id, componentProperties);
-
-        LOGGER.debug("HighlightImpl dataLayerJson initialized: {}", dataLayerJson);
+        return Collections.singletonMap(this.id, componentProperties);
     }
 
     @Override
@@ -114,18 +150,12 @@ public class HighlightImpl implements Highlight, Component, ComponentExporter {
 
     @Override
     public String getInternalLink() {
-        if(internalLink != null && !internalLink.isEmpty()) {
-            return internalLink.endsWith(".html") ? internalLink : internalLink + ".html";
-        }
-        return null;
+        return resolvedInternalLink;
     }
 
     @Override
     public String getExternalLink() {
-        if(externalLink != null && !externalLink.isEmpty()) {
-            return (externalLink.startsWith("http://") || externalLink.startsWith("https://")) ? externalLink : "http://" + externalLink;
-        }
-        return null;
+        return resolvedExternalLink;
     }
 
     @Override
@@ -133,6 +163,11 @@ public class HighlightImpl implements Highlight, Component, ComponentExporter {
         return fileReference;
     }
 
+    @Override
+    public List<ImageRendition> getRenditions() {
+        return renditions;
+    }
+
     @Override
     public String getAlignment() {
         return alignment;
@@ -2,12 +2,14 @@ package com.aem.cinema.react.core.models.impl;
 
 
 import com.aem.cinema.react.core.models.Movie;
+import com.aem.cinema.react.core.services.MovieData;
+import com.aem.cinema.react.core.services.MovieFragmentCache;
 
 import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.ResourceResolver;
-import org.apache.sling.api.resource.ValueMap;
 import org.apache.sling.models.annotations.DefaultInjectionStrategy;
 import org.apache.sling.models.annotations.Model;
+import org.apache.sling.models.annotations.injectorspecific.OSGiService;
 import org.apache.sling.models.annotations.injectorspecific.ValueMapValue;
 import org.apache.sling.models.annotations.injectorspecific.Self;
 import org.slf4j.Logger;
@@ -31,6 +33,9 @@ public class MovieImpl implements Movie {
     @Inject
     private ResourceResolver resourceResolver;
 
+    @OSGiService
+    private MovieFragmentCache movieFragmentCache;
+
     private String poster;
     private String title;
     private String ageGroup;
@@ -43,34 +48,29 @@ public class MovieImpl implements Movie {
     @PostConstruct
     protected void init() {
         if (fragmentPath != null && !fragmentPath.isEmpty()) {
-            Resource fragmentResource = resourceResolver.getResource(fragmentPath);
-            if (fragmentResource != null) {
-                // For Content Fragments, the actual element data is usually stored under jcr:content/data
-                // or directly on jcr:content if it's an older CF or specific setup.
-                Resource dataResource = fragmentResource.getChild("jcr:content/data"); // Standard location for CF data
-                if (dataResource == null) {
-                    // Fallback for simpler CFs where data might be directly on jcr:content or if 'data' node doesn't exist
-                    dataResource = fragmentResource.getChild("jcr:content");
+            MovieData data;
+            if (movieFragmentCache != null) {
+                data = movieFragmentCache.get(resourceResolver, fragmentPath);
+            } else {
+                Resource fragmentResource = resourceResolver.getResource(fragmentPath);
+                if (fragmentResource == null) {
+                    LOG.warn("Fragment resource not found at path: {}", fragmentPath);
+                    return;
                 }
+                data = MovieData.fromFragment(fragmentResource);
+            }
 
-                if (dataResource != null) {
-                    ValueMap valueMap = dataResource.getValueMap();
-
-                    // Retrieve properties by their names as they are stored in the CF's JCR node.
-                    // These names MUST match the 'Property Name' from your Content Fragment Model.
-                    this.poster = valueMap.get("poster", String.class);
-                    this.title = valueMap.get("title", String.class);
-                    this.ageGroup = valueMap.get("ageGroup", String.class);
-                    this.gender = valueMap.get("gender", String.class);
-                    this.movieTime = valueMap.get("movieTime", String.class);
+            if (data != null) {
+                this.poster = data.getPoster();
+                this.title = data.getTitle();
+                this.ageGroup = data.getAgeGroup();
+                this.gender = data.getGender();
+                this.movieTime = data.getMovieTime();
 
-                    LOG.debug("Movie data extracted from CF: Title={}, Poster={}", this.title, this.poster);
+                LOG.debug("Movie data extracted from CF: Title={}, Poster={}", this.title, this.poster);
 
-                } else {
-                    LOG.warn("Content Fragment data resource (jcr:content/data or jcr:content) not found for path: {}", fragmentPath);
-                }
             } else {
-                LOG.warn("Fragment resource not found at path: {}", fragmentPath);
+                LOG.warn("Content Fragment data (jcr:content/data or jcr:content) not found or not readable for path: {}", fragmentPath);
             }
         } else {
             LOG.warn("fragmentPath is null or empty for MovieImpl adapting resource: {}", currentResource != null ? currentResource.getPath() : "unknown");
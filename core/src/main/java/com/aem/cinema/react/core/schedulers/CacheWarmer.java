@@ -0,0 +1,250 @@
+/*
+ *  Copyright 2015 Adobe Systems Incorporated
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.aem.cinema.react.core.schedulers;
+
+import com.day.cq.contentsync.handler.util.RequestResponseFactory;
+import org.apache.sling.api.resource.LoginException;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ResourceResolverFactory;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.api.resource.observation.ResourceChangeListener;
+import org.apache.sling.engine.SlingRequestProcessor;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms the models and caches of the high-traffic pages after content changes,
+ * so the first visitors after a publication don't pay for cold caches. Changes
+ * are collected for a short delay and every page is then requested once, as
+ * {@code model.json}, through the Sling request processor.
+ * <p>
+ * The caches behind the models keep their entries per user, so the pages are
+ * requested as the anonymous user, the one publish serves the site to. Warming
+ * is therefore only enabled on publish, see the config.publish run mode.
+ */
+@Designate(ocd = CacheWarmer.Config.class)
+@Component(service = ResourceChangeListener.class,
+           property = {
+                   ResourceChangeListener.PATHS + "=/content",
+                   ResourceChangeListener.CHANGES + "=ADDED",
+                   ResourceChangeListener.CHANGES + "=CHANGED",
+                   ResourceChangeListener.CHANGES + "=REMOVED"
+           }
+)
+public class CacheWarmer implements ResourceChangeListener {
+
+    @ObjectClassDefinition(name = "AEM Cinema - Cache Warmer",
+                           description = "Requests the model.json of the busiest pages after content changes")
+    public @interface Config {
+
+        @AttributeDefinition(name = "Enabled",
+                             description = "Only useful where the site is served to anonymous visitors")
+        boolean enabled() default false;
+
+        @AttributeDefinition(name = "Page paths",
+                             description = "Pages whose model.json is requested after a change")
+        String[] pagePaths() default {
+                "/content/aem-cinema-react/us/en/home",
+                "/content/aem-cinema-react/us/en/home/programacao"
+        };
+
+        @AttributeDefinition(name = "Delay",
+                             description = "Milliseconds to collect changes before warming, "
+                                     + "so one publication results in one warm-up")
+        long delay() default 5000;
+
+        @AttributeDefinition(name = "Concurrency",
+                             description = "Maximum number of pages warmed at the same time")
+        int concurrency() default 2;
+    }
+
+    private static final String MODEL_SUFFIX = ".model.json";
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Reference
+    private ResourceResolverFactory resourceResolverFactory;
+
+    @Reference
+    private SlingRequestProcessor slingRequestProcessor;
+
+    @Reference
+    private RequestResponseFactory requestResponseFactory;
+
+    // Paths waiting for the next run; a path requested again before the run starts is warmed once
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    // Both kept across @Modified, so a change arriving meanwhile never meets a shut down executor
+    private final ScheduledExecutorService coordinator =
+            Executors.newSingleThreadScheduledExecutor(threadFactory("coordinator"));
+    private final ThreadPoolExecutor workers = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), threadFactory("worker"));
+
+    private volatile boolean enabled;
+    private volatile List<String> pagePaths = Collections.emptyList();
+    private volatile long delay;
+
+    @Activate
+    @Modified
+    protected void activate(final Config config) {
+        this.enabled = config.enabled();
+        this.pagePaths = Collections.unmodifiableList(Arrays.asList(config.pagePaths()));
+        this.delay = Math.max(0, config.delay());
+        int concurrency = Math.max(1, config.concurrency());
+        // The core size may never exceed the maximum size, so the order depends on the direction
+        if (concurrency > workers.getMaximumPoolSize()) {
+            workers.setMaximumPoolSize(concurrency);
+            workers.setCorePoolSize(concurrency);
+        } else {
+            workers.setCorePoolSize(concurrency);
+            workers.setMaximumPoolSize(concurrency);
+        }
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+        pending.clear();
+        scheduled.set(false);
+    }
+
+    @Override
+    public void onChange(List<ResourceChange> changes) {
+        if (enabled && !changes.isEmpty()) {
+            request(pagePaths);
+        }
+    }
+
+    /**
+     * Queues the given pages for the next run, which starts after the configured delay.
+     */
+    void request(Collection<String> paths) {
+        pending.addAll(paths);
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                coordinator.schedule(this::run, delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Deactivated; warming resumes with the next instance
+                scheduled.set(false);
+                logger.debug("Cache warmer is shut down, not scheduling a run");
+            }
+        }
+    }
+
+    private void run() {
+        // Paths queued from here on belong to the next run, so no change is missed
+        scheduled.set(false);
+        List<String> paths = new ArrayList<>(pending);
+        pending.removeAll(paths);
+        if (!paths.isEmpty()) {
+            warm(paths);
+        }
+    }
+
+    /**
+     * Requests the {@code model.json} of every page with bounded concurrency.
+     *
+     * @return the duration in milliseconds of every page, keyed by path
+     */
+    Map<String, Long> warm(List<String> paths) {
+        long start = System.nanoTime();
+        Map<String, Long> timings = new ConcurrentHashMap<>();
+        List<Future<?>> futures = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            futures.add(workers.submit(() -> timings.put(path, warm(path))));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            logger.error("Could not warm the page caches", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Warmed {} pages in {} ms: {}", timings.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), timings);
+        return timings;
+    }
+
+    // Resource resolvers are not thread-safe, so every page gets its own
+    private long warm(String path) {
+        long start = System.nanoTime();
+        try (ResourceResolver resolver = getAnonymousResolver()) {
+            HttpServletRequest request = requestResponseFactory.createRequest("GET", path + MODEL_SUFFIX);
+            HttpServletResponse response = requestResponseFactory.createResponse(OutputStream.nullOutputStream());
+            slingRequestProcessor.processRequest(request, response, resolver);
+            if (response.getStatus() != HttpServletResponse.SC_OK) {
+                logger.warn("Warming {} returned status {}", path, response.getStatus());
+            }
+        } catch (LoginException e) {
+            logger.error("Could not open an anonymous resource resolver, is anonymous access disabled?", e);
+        } catch (ServletException | IOException e) {
+            logger.warn("Could not warm {}", path, e);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    // The same user as the visitors, so the warmed cache entries are the ones their requests hit
+    private ResourceResolver getAnonymousResolver() throws LoginException {
+        return resourceResolverFactory.getResourceResolver(null);
+    }
+
+    private static ThreadFactory threadFactory(String role) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "aem-cinema-react-cache-warmer-" + role + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
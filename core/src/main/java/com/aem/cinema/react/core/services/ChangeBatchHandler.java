@@ -0,0 +1,17 @@
+package com.aem.cinema.react.core.services;
+
+import java.util.Set;
+
+/**
+ * Receives the coalesced batches of the {@link ChangePipeline}. Register an
+ * implementation as an OSGi service to be called.
+ */
+public interface ChangeBatchHandler {
+
+    /**
+     * Called on the pipeline worker thread, once per batch.
+     *
+     * @param paths the changed paths, without any path that is below another path of the batch
+     */
+    void handle(Set<String> paths);
+}
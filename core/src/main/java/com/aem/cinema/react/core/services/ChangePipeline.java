@@ -0,0 +1,45 @@
+package com.aem.cinema.react.core.services;
+
+/**
+ * Collects resource changes and hands them to the {@link ChangeBatchHandler}s
+ * in debounced, coalesced batches, off the observation thread.
+ */
+public interface ChangePipeline {
+
+    /**
+     * Queues a changed path. Never blocks: when the queue is full, the change is
+     * folded into a common ancestor of the dropped paths instead.
+     */
+    void submit(String path);
+
+    /**
+     * @return the number of changes waiting for the next batch
+     */
+    int getQueueDepth();
+
+    /**
+     * @return milliseconds the oldest waiting change has been queued, 0 when the queue is empty
+     */
+    long getCurrentLag();
+
+    /**
+     * @return milliseconds between the oldest change of the last batch and the end of its processing
+     */
+    long getLastBatchLag();
+
+    /**
+     * @return the largest batch lag seen since activation
+     */
+    long getMaxBatchLag();
+
+    long getSubmittedCount();
+
+    long getOverflowCount();
+
+    long getBatchCount();
+
+    /**
+     * @return the number of paths handed to the handlers after coalescing
+     */
+    long getProcessedCount();
+}
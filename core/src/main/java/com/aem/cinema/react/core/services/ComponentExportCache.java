@@ -0,0 +1,29 @@
+package com.aem.cinema.react.core.services;
+
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.resource.Resource;
+
+/**
+ * Keeps the serialized Sling Model Exporter output of cacheable components, so
+ * repeated {@code model.json} requests do not rebuild and re-serialize the model.
+ */
+public interface ComponentExportCache {
+
+    /**
+     * Returns the exported JSON of the component, serializing its model on a miss.
+     * A cached entry is only used while the component's last modification date is
+     * unchanged and none of the fragments it references have changed.
+     *
+     * @return the UTF-8 encoded JSON, shared between requests and never to be modified,
+     *         or {@code null} if the component is not cacheable or has no exportable model
+     */
+    byte[] getExport(SlingHttpServletRequest request, Resource component);
+
+    /**
+     * Marks every export of a component at, above or below the given path and
+     * every export referencing a fragment at, above or below it as stale. A stale
+     * export is rebuilt by the next request and only served to the requests
+     * arriving while that rebuild runs.
+     */
+    void invalidate(String path);
+}
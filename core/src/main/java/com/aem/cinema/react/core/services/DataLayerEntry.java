@@ -0,0 +1,39 @@
+package com.aem.cinema.react.core.services;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The Adobe Client Data Layer entry of one component. Immutable, so one instance
+ * is shared by every request until the component changes.
+ */
+public final class DataLayerEntry {
+
+    private final String id;
+    private final Map<String, Object> properties;
+    private final Map<String, Object> dataLayer;
+
+    public DataLayerEntry(String id, Map<String, Object> properties) {
+        this.id = id;
+        this.properties = Collections.unmodifiableMap(properties);
+        this.dataLayer = Collections.singletonMap(id, this.properties);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the component properties, e.g. {@code @type}, {@code dc:title} or {@code xdm:linkURL}
+     */
+    public Map<String, Object> getProperties() {
+        return properties;
+    }
+
+    /**
+     * @return the properties keyed by the component id, as pushed to {@code window.adobeDataLayer}
+     */
+    public Map<String, Object> getDataLayer() {
+        return dataLayer;
+    }
+}
@@ -0,0 +1,40 @@
+package com.aem.cinema.react.core.services;
+
+import org.apache.sling.api.resource.Resource;
+
+import java.util.Map;
+
+/**
+ * Builds and caches the data layer entries of the components.
+ */
+public interface DataLayerService {
+
+    /**
+     * Returns the data layer entry of a component, built once per resource version.
+     * Besides {@code @type} and {@code id}, the entry holds {@code dc:title},
+     * {@code repo:modifyDate} and {@code xdm:linkURL} whenever the component has a
+     * title, a jcr:lastModified or a link, whatever its type.
+     *
+     * @param type the {@code @type} of the entry, usually the resource type of the model
+     */
+    DataLayerEntry getEntry(Resource resource, String type);
+
+    /**
+     * @return {@code true} if the data layer is written once per page instead of
+     *         once per component, see {@link #getPageDataLayer(Resource)}
+     */
+    boolean isPageLevel();
+
+    /**
+     * Aggregates the entries of every tracked component below {@code root}. The
+     * result is cached per root and user until a change below the root invalidates it.
+     *
+     * @return the unmodifiable component properties keyed by component id, in document order
+     */
+    Map<String, Object> getPageDataLayer(Resource root);
+
+    /**
+     * Drops the cached entries affected by a change at the given repository path.
+     */
+    void invalidate(String path);
+}
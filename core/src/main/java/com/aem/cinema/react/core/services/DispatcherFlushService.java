@@ -0,0 +1,17 @@
+package com.aem.cinema.react.core.services;
+
+import java.util.Collection;
+
+/**
+ * Invalidates pages in the dispatcher cache.
+ */
+public interface DispatcherFlushService {
+
+    /**
+     * Invalidates the given pages and everything rendered below them, such as
+     * their {@code model.json}.
+     *
+     * @return {@code true} if the invalidation was accepted
+     */
+    boolean flush(Collection<String> pagePaths);
+}
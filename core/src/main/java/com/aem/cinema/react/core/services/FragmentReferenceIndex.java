@@ -0,0 +1,29 @@
+package com.aem.cinema.react.core.services;
+
+import java.util.Set;
+
+/**
+ * Reverse index from Content Fragments to the components and pages referencing
+ * them through a {@code fragmentPath} property.
+ */
+public interface FragmentReferenceIndex {
+
+    /**
+     * @param fragmentPath the fragment, any path below it such as its {@code jcr:content/data/master},
+     *                     or a folder, which stands for every fragment below it
+     * @return the paths of the resources holding a reference to the fragment, e.g. the
+     *         {@code movieAssets} items of a carousel or a movie component
+     */
+    Set<String> getReferencingComponents(String fragmentPath);
+
+    /**
+     * @param fragmentPath the fragment, any path below it, or a folder
+     * @return the paths of the pages containing a reference to the fragment
+     */
+    Set<String> getReferencingPages(String fragmentPath);
+
+    /**
+     * Marks the content at the given path as changed; it is re-indexed before the next lookup.
+     */
+    void invalidate(String path);
+}
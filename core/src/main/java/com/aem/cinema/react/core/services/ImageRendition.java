@@ -0,0 +1,36 @@
+package com.aem.cinema.react.core.services;
+
+/**
+ * Describes one existing rendition of a DAM image, as exported to the SPA for
+ * {@code srcset} and {@code sizes}.
+ */
+public final class ImageRendition {
+
+    private final String url;
+    private final int width;
+    private final int height;
+    private final String mimeType;
+
+    public ImageRendition(String url, int width, int height, String mimeType) {
+        this.url = url;
+        this.width = width;
+        this.height = height;
+        this.mimeType = mimeType;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+}
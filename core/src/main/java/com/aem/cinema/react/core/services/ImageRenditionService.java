@@ -0,0 +1,25 @@
+package com.aem.cinema.react.core.services;
+
+import org.apache.sling.api.resource.ResourceResolver;
+
+import java.util.List;
+
+/**
+ * Lists the renditions of DAM images, cached per asset version.
+ */
+public interface ImageRenditionService {
+
+    /**
+     * Returns the image renditions of the asset at {@code fileReference}, ordered
+     * by width, with their dimensions derived from the original's metadata.
+     *
+     * @return the renditions, or an empty list if the asset does not exist, is not
+     *         readable by {@code resolver} or has no known dimensions
+     */
+    List<ImageRendition> getRenditions(ResourceResolver resolver, String fileReference);
+
+    /**
+     * Drops the cached renditions affected by a change at the given repository path.
+     */
+    void invalidate(String path);
+}
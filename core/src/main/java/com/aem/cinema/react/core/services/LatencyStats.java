@@ -0,0 +1,54 @@
+package com.aem.cinema.react.core.services;
+
+import com.aem.cinema.react.core.utils.LatencyHistogram;
+
+/**
+ * Latency percentiles of one resource type, selector string and extension, in microseconds.
+ */
+public final class LatencyStats {
+
+    private final String resourceType;
+    private final String selectorString;
+    private final String extension;
+    private final LatencyHistogram.Snapshot snapshot;
+
+    public LatencyStats(String resourceType, String selectorString, String extension,
+            LatencyHistogram.Snapshot snapshot) {
+        this.resourceType = resourceType;
+        this.selectorString = selectorString;
+        this.extension = extension;
+        this.snapshot = snapshot;
+    }
+
+    public String getResourceType() {
+        return resourceType;
+    }
+
+    public String getSelectorString() {
+        return selectorString;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public long getCount() {
+        return snapshot.getCount();
+    }
+
+    public long getP50() {
+        return snapshot.getPercentile(50);
+    }
+
+    public long getP95() {
+        return snapshot.getPercentile(95);
+    }
+
+    public long getP99() {
+        return snapshot.getPercentile(99);
+    }
+
+    public long getMax() {
+        return snapshot.getMax();
+    }
+}
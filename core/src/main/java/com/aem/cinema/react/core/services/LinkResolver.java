@@ -0,0 +1,31 @@
+package com.aem.cinema.react.core.services;
+
+import org.apache.sling.api.resource.ResourceResolver;
+
+/**
+ * Resolves the links authored on components into the URLs rendered to visitors.
+ */
+public interface LinkResolver {
+
+    /**
+     * Normalizes an internal link to {@code .html} and maps it through the
+     * Sling resource mapping ({@code /etc/map}, vanity paths) or the configured
+     * Externalizer domain. Results are cached per link.
+     *
+     * @return the resolved link, or {@code null} if the link is empty
+     */
+    String getInternalLink(ResourceResolver resolver, String link);
+
+    /**
+     * Normalizes an external link, adding a scheme if it has none.
+     *
+     * @return the link, or {@code null} if it is empty
+     */
+    String getExternalLink(String link);
+
+    /**
+     * Drops the cached links affected by a change at the given repository path.
+     * Changes below {@code /etc/map} drop every cached link.
+     */
+    void invalidate(String path);
+}
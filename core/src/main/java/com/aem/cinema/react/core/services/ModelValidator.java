@@ -0,0 +1,82 @@
+package com.aem.cinema.react.core.services;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * HTTP validators of an exported model, computed from the repository without
+ * building the model, or of any other response with an ETag and a date.
+ */
+public final class ModelValidator {
+
+    private final String etag;
+    private final long lastModified;
+
+    public ModelValidator(String etag, long lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * @return the quoted strong ETag
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * @return the newest modification date of the exported content, in epoch millis,
+     *         or 0 if none of it carries one
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Evaluates the {@code If-None-Match} header of a GET request. The ETag also
+     * covers what moves no modification date, such as the user, the bundle build,
+     * deleted children or a page going on or off time, so {@code If-Modified-Since}
+     * is ignored.
+     *
+     * @return {@code true} if the client's copy is current and {@code 304} may be answered
+     */
+    public boolean isNotModified(HttpServletRequest request) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            // GET compares weakly, so a W/ tag added by a compressing proxy still matches
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Evaluates the {@code If-None-Match} header of a GET request, or its
+     * {@code If-Modified-Since} header when it sends no ETags. Only for content
+     * whose modification date moves with every change, e.g. a file.
+     *
+     * @return {@code true} if the client's copy is current and {@code 304} may be answered
+     */
+    public boolean isNotModifiedSince(HttpServletRequest request) {
+        if (request.getHeader("If-None-Match") != null) {
+            return isNotModified(request);
+        }
+        if (lastModified <= 0) {
+            return false;
+        }
+        try {
+            long ifModifiedSince = request.getDateHeader("If-Modified-Since");
+            // HTTP dates have a one second resolution
+            return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.aem.cinema.react.core.services;
+
+import org.apache.sling.api.resource.Resource;
+
+/**
+ * Computes the ETag and Last-Modified date of {@code model.json} responses from
+ * the modification dates of the component tree and of the fragments, assets and
+ * navigation roots it references, so unchanged models can be answered with
+ * {@code 304 Not Modified} before any Sling Model is adapted.
+ */
+public interface ModelValidatorService {
+
+    /**
+     * @param resource the exported page or component
+     * @param variant  whatever else changes the output for the same content,
+     *                 e.g. the selector string
+     * @return the validators, or {@code null} if the resource is outside the configured roots
+     */
+    ModelValidator getValidator(Resource resource, String variant);
+
+    /**
+     * @return the {@code Cache-Control} header of the responses carrying the validators
+     */
+    String getCacheControl();
+}
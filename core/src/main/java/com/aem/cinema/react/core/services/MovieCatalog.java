@@ -0,0 +1,63 @@
+package com.aem.cinema.react.core.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of every movie fragment, ordered by fragment path.
+ * A new snapshot with a higher version is published whenever a fragment changes;
+ * versions never repeat within the JVM, not even across a re-activation.
+ */
+public final class MovieCatalog {
+
+    private final long version;
+    private final long lastModified;
+    private final List<MovieData> movies;
+    private final Map<String, MovieData> moviesByPath;
+    private final Set<String> changedPaths;
+
+    public MovieCatalog(long version, long lastModified, Map<String, MovieData> moviesByPath) {
+        this(version, lastModified, moviesByPath, null);
+    }
+
+    public MovieCatalog(long version, long lastModified, Map<String, MovieData> moviesByPath, Set<String> changedPaths) {
+        this.version = version;
+        this.lastModified = lastModified;
+        this.moviesByPath = Collections.unmodifiableMap(moviesByPath);
+        this.movies = Collections.unmodifiableList(new ArrayList<>(moviesByPath.values()));
+        this.changedPaths = changedPaths != null ? Collections.unmodifiableSet(changedPaths) : null;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the time this snapshot was published, in epoch millis
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public List<MovieData> getMovies() {
+        return movies;
+    }
+
+    /**
+     * @return the movie of the given fragment, or {@code null} if it is not part of the catalog
+     */
+    public MovieData getMovie(String fragmentPath) {
+        return moviesByPath.get(fragmentPath);
+    }
+
+    /**
+     * @return the fragment paths added, changed or removed since version {@code getVersion() - 1},
+     *         or {@code null} if this snapshot was built from scratch
+     */
+    public Set<String> getChangedPaths() {
+        return changedPaths;
+    }
+}
@@ -0,0 +1,21 @@
+package com.aem.cinema.react.core.services;
+
+/**
+ * Keeps a {@link MovieCatalog} of every movie Content Fragment, read with a
+ * service user and updated incrementally when fragments change.
+ */
+public interface MovieCatalogService {
+
+    /**
+     * @return the current catalog; pending fragment changes are applied first, unless
+     *         another caller is already applying them, in which case the previous
+     *         catalog is returned
+     */
+    MovieCatalog getCatalog();
+
+    /**
+     * Records a change at the given repository path. It is applied on the next
+     * {@link #getCatalog()} call, so observation threads are never blocked.
+     */
+    void invalidate(String path);
+}
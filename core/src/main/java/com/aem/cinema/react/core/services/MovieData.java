@@ -0,0 +1,139 @@
+package com.aem.cinema.react.core.services;
+
+import com.aem.cinema.react.core.models.Movie;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ValueMap;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the movie fields read from a "filme" Content Fragment.
+ * Instances are shared between requests, so they must never hold on to a
+ * {@link Resource} or {@link org.apache.sling.api.resource.ResourceResolver}.
+ */
+public final class MovieData implements Movie {
+
+    // For Content Fragments, the element data is usually stored under jcr:content/data
+    public static final String DATA_PATH = "jcr:content/data";
+
+    // Fallback for simpler CFs where data might be directly on jcr:content
+    public static final String CONTENT_PATH = "jcr:content";
+
+    private final String fragmentPath;
+    private final String poster;
+    private final String title;
+    private final String ageGroup;
+    private final String gender;
+    private final String movieTime;
+    private final List<String> sessions;
+
+    public MovieData(String fragmentPath, String poster, String title, String ageGroup, String gender, String movieTime) {
+        this(fragmentPath, poster, title, ageGroup, gender, movieTime, null);
+    }
+
+    public MovieData(String fragmentPath, String poster, String title, String ageGroup, String gender, String movieTime,
+            List<String> sessions) {
+        this.fragmentPath = fragmentPath;
+        this.poster = poster;
+        this.title = title;
+        this.ageGroup = ageGroup;
+        this.gender = gender;
+        this.movieTime = movieTime;
+        this.sessions = sessions != null ? Collections.unmodifiableList(sessions) : Collections.emptyList();
+    }
+
+    /**
+     * @return a movie without any fields, used when the fragment cannot be read
+     */
+    public static MovieData empty(String fragmentPath) {
+        return new MovieData(fragmentPath, null, null, null, null, null);
+    }
+
+    /**
+     * Reads the movie fields from the given fragment resource.
+     *
+     * @return the extracted data, or {@code null} if neither jcr:content/data nor jcr:content exists
+     */
+    public static MovieData fromFragment(Resource fragmentResource) {
+        if (fragmentResource == null) {
+            return null;
+        }
+        Resource dataResource = getDataResource(fragmentResource);
+        if (dataResource == null) {
+            return null;
+        }
+        return fromData(fragmentResource.getPath(), dataResource);
+    }
+
+    /**
+     * Reads the movie fields from the element data of the fragment at {@code fragmentPath},
+     * e.g. a jcr:content/data resource returned by a query.
+     */
+    public static MovieData fromData(String fragmentPath, Resource dataResource) {
+        // These names MUST match the 'Property Name' from the Content Fragment Model.
+        ValueMap valueMap = dataResource.getValueMap();
+        String[] sessions = valueMap.get("sessions", String[].class);
+        return new MovieData(
+                fragmentPath,
+                valueMap.get("poster", String.class),
+                valueMap.get("title", String.class),
+                valueMap.get("ageGroup", String.class),
+                valueMap.get("gender", String.class),
+                valueMap.get("movieTime", String.class),
+                sessions != null ? Arrays.asList(sessions) : null);
+    }
+
+    /**
+     * @return the resource holding the fragment elements, or {@code null} if there is none
+     */
+    public static Resource getDataResource(Resource fragmentResource) {
+        Resource dataResource = fragmentResource.getChild(DATA_PATH);
+        if (dataResource == null) {
+            dataResource = fragmentResource.getChild(CONTENT_PATH);
+        }
+        return dataResource;
+    }
+
+    @Override
+    public String getFragmentPath() {
+        return fragmentPath;
+    }
+
+    @Override
+    public String getPoster() {
+        return poster;
+    }
+
+    @Override
+    public String getTitle() {
+        return title;
+    }
+
+    @Override
+    public String getAgeGroup() {
+        return ageGroup;
+    }
+
+    @Override
+    public String getGender() {
+        return gender;
+    }
+
+    @Override
+    public String getMovieTime() {
+        return movieTime;
+    }
+
+    /**
+     * @return the raw entries of the multi-valued "sessions" element, each
+     *         {@code room|start} or {@code room|start|end}, e.g. {@code Sala 1|2024-05-10T19:30}
+     */
+    // Served through the showtimes selector only, not with every movie of a model.json
+    @JsonIgnore
+    public List<String> getSessions() {
+        return sessions;
+    }
+}
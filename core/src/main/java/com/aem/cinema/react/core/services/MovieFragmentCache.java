@@ -0,0 +1,46 @@
+package com.aem.cinema.react.core.services;
+
+import org.apache.sling.api.resource.ResourceResolver;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Shared, bounded cache of {@link MovieData} keyed by Content Fragment path.
+ * Entries are only handed out to resolvers that are allowed to read the fragment.
+ */
+public interface MovieFragmentCache {
+
+    /**
+     * Returns the movie data of the fragment at {@code fragmentPath}, loading it
+     * with the given resolver on a miss.
+     *
+     * @return the movie data, or {@code null} if the fragment does not exist or
+     *         is not readable by {@code resolver}
+     */
+    MovieData get(ResourceResolver resolver, String fragmentPath);
+
+    /**
+     * Bulk variant of {@link #get(ResourceResolver, String)}. Cached fragments are
+     * answered from memory and the element data of all misses is read with one
+     * query; only fragments the query does not return are looked up one by one,
+     * in a sorted pass where siblings share one lookup of their parent folder.
+     *
+     * @return the movie data keyed by fragment path; missing or unreadable fragments are absent
+     */
+    Map<String, MovieData> getAll(ResourceResolver resolver, Collection<String> fragmentPaths);
+
+    /**
+     * Evicts every fragment located at, above or below the given repository path,
+     * so both a changed property node and a removed folder invalidate what they affect.
+     */
+    void invalidate(String path);
+
+    void invalidateAll();
+
+    long getHitCount();
+
+    long getMissCount();
+
+    int size();
+}
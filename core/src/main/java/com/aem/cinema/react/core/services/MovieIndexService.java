@@ -0,0 +1,23 @@
+package com.aem.cinema.react.core.services;
+
+import java.util.List;
+
+/**
+ * Answers gender and age group filters over a {@link MovieCatalog} from an
+ * in-memory inverted index, instead of a GraphQL query per filter change.
+ */
+public interface MovieIndexService {
+
+    /**
+     * Finds the movies of the catalog matching both filters. The index is brought
+     * up to date with the given catalog first, re-indexing only the changed fragments.
+     *
+     * @param catalog     the catalog to query
+     * @param gender      the gender or its slug, e.g. "Ação" or "acao"; {@code null} for any gender
+     * @param maxAgeGroup the highest age group to include, e.g. "14" for L, 10, 12 and 14;
+     *                    {@code null} for any age group
+     * @return the matching movies ordered by fragment path, or {@code null} if the gender
+     *         is not used by any movie or the age group is not a known rating
+     */
+    List<MovieData> find(MovieCatalog catalog, String gender, String maxAgeGroup);
+}
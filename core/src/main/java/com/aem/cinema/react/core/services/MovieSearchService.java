@@ -0,0 +1,23 @@
+package com.aem.cinema.react.core.services;
+
+import java.util.List;
+
+/**
+ * Free-text search over the titles of a {@link MovieCatalog}, served from an
+ * in-memory trigram and prefix index.
+ */
+public interface MovieSearchService {
+
+    /**
+     * Finds the movies whose title matches the query, ignoring case and accents
+     * like {@link com.aem.cinema.react.core.utils.SlugUtils}. Exact words rank
+     * above word prefixes, which rank above similar spellings. The index is
+     * brought up to date with the given catalog first, re-indexing only the changed fragments.
+     *
+     * @param catalog the catalog to search
+     * @param query   the text typed by the visitor, e.g. "acao" or "dun"
+     * @param limit   the maximum number of results
+     * @return the best matches, best first; empty for a blank query
+     */
+    List<MovieData> search(MovieCatalog catalog, String query, int limit);
+}
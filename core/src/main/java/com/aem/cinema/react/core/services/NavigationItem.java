@@ -0,0 +1,36 @@
+package com.aem.cinema.react.core.services;
+
+/**
+ * Immutable navigation entry for a page. Unlike {@link com.day.cq.wcm.api.Page}
+ * it can be cached and shared between requests.
+ */
+public final class NavigationItem {
+
+    private final String path;
+    private final String name;
+    private final String title;
+    private final String navigationTitle;
+
+    public NavigationItem(String path, String name, String title, String navigationTitle) {
+        this.path = path;
+        this.name = name;
+        this.title = title;
+        this.navigationTitle = navigationTitle;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getNavigationTitle() {
+        return navigationTitle;
+    }
+}
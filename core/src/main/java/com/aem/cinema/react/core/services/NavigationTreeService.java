@@ -0,0 +1,24 @@
+package com.aem.cinema.react.core.services;
+
+import org.apache.sling.api.resource.ResourceResolver;
+
+import java.util.List;
+
+/**
+ * Builds and caches the navigable children of a navigation root page.
+ */
+public interface NavigationTreeService {
+
+    /**
+     * Returns the children of {@code rootPath} that are not hidden in navigation
+     * and whose on/off time window contains the current time.
+     *
+     * @return the visible children, or an empty list if the root page does not exist
+     */
+    List<NavigationItem> getVisibleChildren(ResourceResolver resolver, String rootPath);
+
+    /**
+     * Drops the cached trees affected by a change at the given repository path.
+     */
+    void invalidate(String path);
+}
@@ -0,0 +1,27 @@
+package com.aem.cinema.react.core.services;
+
+import java.util.List;
+
+/**
+ * Keeps the {@link NewsSummary summaries} of every news Content Fragment in feed
+ * order, read with a service user and updated incrementally when fragments change.
+ */
+public interface NewsFeedService {
+
+    /**
+     * Returns one page of the feed, using keyset pagination: the page starts right
+     * after the position of the cursor, however many news were published since.
+     *
+     * @param cursor the {@link NewsSummary#getCursor() cursor} of the last summary of
+     *               the previous page, or {@code null} for the newest news
+     * @param limit  the maximum number of summaries
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    List<NewsSummary> getPage(String cursor, int limit);
+
+    /**
+     * Records a change at the given repository path. It is applied on the next
+     * {@link #getPage(String, int)} call, so observation threads are never blocked.
+     */
+    void invalidate(String path);
+}
@@ -0,0 +1,112 @@
+package com.aem.cinema.react.core.services;
+
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ValueMap;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Calendar;
+import java.util.Comparator;
+
+/**
+ * List fields of one news Content Fragment. The body is deliberately left out,
+ * it is only read by the detail view.
+ */
+public final class NewsSummary {
+
+    /**
+     * Feed order: newest first, ties broken by fragment path so every position is unique.
+     */
+    public static final Comparator<NewsSummary> FEED_ORDER = Comparator
+            .comparingLong(NewsSummary::getDate).reversed()
+            .thenComparing(NewsSummary::getFragmentPath);
+
+    private final String fragmentPath;
+    private final String title;
+    private final String subtitle;
+    private final long date;
+    private final String author;
+    private final String image;
+
+    public NewsSummary(String fragmentPath, String title, String subtitle, long date, String author, String image) {
+        this.fragmentPath = fragmentPath;
+        this.title = title;
+        this.subtitle = subtitle;
+        this.date = date;
+        this.author = author;
+        this.image = image;
+    }
+
+    /**
+     * Reads the list fields from the given fragment resource.
+     *
+     * @return the summary, or {@code null} if the fragment has no data
+     */
+    public static NewsSummary fromFragment(Resource fragmentResource) {
+        Resource dataResource = fragmentResource != null ? MovieData.getDataResource(fragmentResource) : null;
+        if (dataResource == null) {
+            return null;
+        }
+        // These names MUST match the 'Property Name' from the Content Fragment Model.
+        ValueMap valueMap = dataResource.getValueMap();
+        Calendar date = valueMap.get("date", Calendar.class);
+        return new NewsSummary(
+                fragmentResource.getPath(),
+                valueMap.get("title", String.class),
+                valueMap.get("subtitle", String.class),
+                date != null ? date.getTimeInMillis() : 0,
+                valueMap.get("author", String.class),
+                valueMap.get("image", String.class));
+    }
+
+    /**
+     * Encodes the feed position of this summary. The cursor stays valid when news
+     * are published or removed, the next page simply starts after this position.
+     */
+    public String getCursor() {
+        String position = date + ":" + fragmentPath;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor returned by {@link #getCursor()} into a summary holding only the position.
+     *
+     * @throws IllegalArgumentException if the cursor was not created by {@link #getCursor()}
+     */
+    public static NewsSummary fromCursor(String cursor) {
+        String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = position.indexOf(':');
+        if (separator <= 0 || separator == position.length() - 1) {
+            throw new IllegalArgumentException("Invalid news cursor " + cursor);
+        }
+        long date = Long.parseLong(position.substring(0, separator));
+        return new NewsSummary(position.substring(separator + 1), null, null, date, null, null);
+    }
+
+    public String getFragmentPath() {
+        return fragmentPath;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getSubtitle() {
+        return subtitle;
+    }
+
+    /**
+     * @return the publication date in epoch millis, or 0 if the fragment has none
+     */
+    public long getDate() {
+        return date;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public String getImage() {
+        return image;
+    }
+}
@@ -0,0 +1,35 @@
+package com.aem.cinema.react.core.services;
+
+/**
+ * Immutable response of a persisted GraphQL query, shared between requests.
+ */
+public final class PersistedQueryResponse {
+
+    private final int status;
+    private final byte[] body;
+    private final String etag;
+
+    public PersistedQueryResponse(int status, byte[] body, String etag) {
+        this.status = status;
+        this.body = body;
+        this.etag = etag;
+    }
+
+    /**
+     * @return the HTTP status returned by the GraphQL endpoint
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the JSON response; callers must not modify it
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+}
@@ -0,0 +1,35 @@
+package com.aem.cinema.react.core.services;
+
+import org.apache.sling.api.resource.ResourceResolver;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Runs named GraphQL queries shipped with the bundle against the site's
+ * GraphQL endpoint, caching the responses per query and variables.
+ */
+public interface PersistedQueryService {
+
+    /**
+     * @return the names of the registered queries, e.g. "filme-list"
+     */
+    Set<String> getQueryNames();
+
+    /**
+     * Runs the query, or answers from the cache if the same query already ran
+     * with the same variables for the same user.
+     *
+     * @param resolver  the resolver of the current request, used to run the query
+     * @param name      the name of a registered query
+     * @param variables the query variables as a JSON object; {@code null} or empty for none
+     * @return the response, or {@code null} if no query has the given name
+     * @throws IllegalArgumentException if the variables are not a JSON object
+     */
+    PersistedQueryResponse execute(ResourceResolver resolver, String name, String variables) throws IOException;
+
+    /**
+     * Evicts the responses of the queries reading the fragments or the Content Fragment Model at the given path.
+     */
+    void invalidate(String path);
+}
@@ -0,0 +1,22 @@
+package com.aem.cinema.react.core.services;
+
+import org.apache.sling.api.resource.Resource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Resizes poster images and keeps the results in a disk cache.
+ */
+public interface PosterRenditionService {
+
+    /**
+     * Returns the poster scaled down to {@code width} pixels as a JPEG file,
+     * rendering it on the first request for the current version of the asset.
+     * Posters narrower than {@code width} are only re-encoded.
+     *
+     * @param asset a DAM asset the caller is allowed to read
+     * @return the cached file, or {@code null} if the resource is not a readable image asset
+     */
+    Path getRendition(Resource asset, int width) throws IOException;
+}
@@ -0,0 +1,25 @@
+package com.aem.cinema.react.core.services;
+
+import com.aem.cinema.react.core.utils.LatencyHistogram;
+
+import java.util.List;
+
+/**
+ * Collects request latencies in one {@link LatencyHistogram} per resource type,
+ * selector string and extension.
+ */
+public interface RequestLatencyService {
+
+    /**
+     * Records the latency of one request. Allocates nothing once the combination
+     * of resource type, selectors and extension has been seen before.
+     */
+    void record(String resourceType, String selectorString, String extension, long nanos);
+
+    /**
+     * @return a snapshot of every histogram, slowest p99 first
+     */
+    List<LatencyStats> getStats();
+
+    void reset();
+}
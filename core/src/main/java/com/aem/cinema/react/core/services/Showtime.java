@@ -0,0 +1,38 @@
+package com.aem.cinema.react.core.services;
+
+/**
+ * One session of a movie in a room, with epoch millis boundaries.
+ */
+public final class Showtime {
+
+    private final MovieData movie;
+    private final String room;
+    private final long start;
+    private final long end;
+
+    public Showtime(MovieData movie, String room, long start, long end) {
+        this.movie = movie;
+        this.room = room;
+        this.start = start;
+        this.end = end;
+    }
+
+    public MovieData getMovie() {
+        return movie;
+    }
+
+    /**
+     * @return the room, or {@code null} if the session does not name one
+     */
+    public String getRoom() {
+        return room;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+}
@@ -0,0 +1,111 @@
+package com.aem.cinema.react.core.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable snapshot of every session, kept as parallel arrays ordered by start
+ * time, so all lookups are binary searches over a primitive {@code long[]}.
+ */
+public final class ShowtimeSchedule {
+
+    public static final ShowtimeSchedule EMPTY = new ShowtimeSchedule(new long[0], new long[0], new MovieData[0], new String[0]);
+
+    /**
+     * Longest session kept; a later end, e.g. a mistyped date or movieTime, is cut to it.
+     */
+    public static final long MAX_DURATION = TimeUnit.HOURS.toMillis(12);
+
+    private final long[] starts;
+    private final long[] ends;
+    private final MovieData[] movies;
+    private final String[] rooms;
+    // Longest session, bounding how far back a session still running may have started
+    private final long maxDuration;
+
+    /**
+     * The arrays are taken over, not copied, and must be ordered by start time.
+     * Ends later than {@link #MAX_DURATION} after their start are cut in place.
+     */
+    public ShowtimeSchedule(long[] starts, long[] ends, MovieData[] movies, String[] rooms) {
+        this.starts = starts;
+        this.ends = ends;
+        this.movies = movies;
+        this.rooms = rooms;
+        long longest = 0;
+        for (int i = 0; i < starts.length; i++) {
+            // One runaway end would otherwise make every now-playing lookup scan the whole schedule
+            ends[i] = Math.min(ends[i], starts[i] + MAX_DURATION);
+            longest = Math.max(longest, ends[i] - starts[i]);
+        }
+        this.maxDuration = longest;
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    public Showtime get(int index) {
+        return new Showtime(movies[index], rooms[index], starts[index], ends[index]);
+    }
+
+    /**
+     * @return the sessions started at or before {@code at} and ending after it, ordered by start
+     */
+    public List<Showtime> getNowPlaying(long at) {
+        int from = lowerBound(at - maxDuration);
+        int to = lowerBound(at + 1);
+        List<Showtime> sessions = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            if (ends[i] > at) {
+                sessions.add(get(i));
+            }
+        }
+        return sessions;
+    }
+
+    /**
+     * @return at most {@code count} sessions starting at or after {@code at}
+     */
+    public List<Showtime> getNext(long at, int count) {
+        int from = lowerBound(at);
+        return slice(from, Math.min(starts.length, from + Math.max(0, count)));
+    }
+
+    /**
+     * @return at most {@code count} sessions starting between {@code from} and {@code to}, both inclusive
+     */
+    public List<Showtime> getWindow(long from, long to, int count) {
+        if (to < from) {
+            return Collections.emptyList();
+        }
+        int first = lowerBound(from);
+        int last = lowerBound(to == Long.MAX_VALUE ? to : to + 1);
+        return slice(first, Math.min(last, first + Math.max(0, count)));
+    }
+
+    // Index of the first session starting at or after the given time
+    private int lowerBound(long time) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private List<Showtime> slice(int from, int to) {
+        List<Showtime> sessions = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            sessions.add(get(i));
+        }
+        return sessions;
+    }
+}
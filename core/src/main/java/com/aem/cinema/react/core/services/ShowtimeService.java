@@ -0,0 +1,21 @@
+package com.aem.cinema.react.core.services;
+
+import java.time.ZoneId;
+
+/**
+ * Keeps the sessions of every movie of the {@link MovieCatalog} in a
+ * time-indexed {@link ShowtimeSchedule}.
+ */
+public interface ShowtimeService {
+
+    /**
+     * Brings the schedule up to date with the current catalog, re-reading only
+     * the sessions of changed fragments, and returns it.
+     */
+    ShowtimeSchedule getSchedule();
+
+    /**
+     * @return the time zone of session times without an offset
+     */
+    ZoneId getZoneId();
+}
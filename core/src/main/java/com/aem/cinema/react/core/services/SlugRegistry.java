@@ -0,0 +1,24 @@
+package com.aem.cinema.react.core.services;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the slugs used in movie detail URLs, e.g. {@code filme.html?slug=duna-parte-dois},
+ * to the movies of the {@link MovieCatalog}.
+ */
+public interface SlugRegistry {
+
+    /**
+     * Looks up the movie whose title, or else whose fragment name, has the given slug.
+     * Slugs shared by several movies resolve to the one with the smallest fragment path.
+     *
+     * @return the movie, or {@code null} if no movie has the slug
+     */
+    MovieData resolve(String slug);
+
+    /**
+     * @return the title slugs shared by more than one movie, with the fragment paths sharing them
+     */
+    Map<String, Set<String>> getCollisions();
+}
@@ -0,0 +1,285 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.ChangeBatchHandler;
+import com.aem.cinema.react.core.services.ChangePipeline;
+import com.day.cq.commons.jcr.JcrConstants;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.ResourceUtil;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queues changes on a lock-free queue and drains it on a single worker once
+ * no change arrived for the debounce window, or once the oldest change waited
+ * for the maximum delay. A bulk import of hundreds of fragments thereby
+ * reaches the handlers as a few batches of distinct paths.
+ */
+@Designate(ocd = ChangePipelineImpl.Config.class)
+@Component(service = ChangePipeline.class)
+public class ChangePipelineImpl implements ChangePipeline {
+
+    @ObjectClassDefinition(name = "AEM Cinema - Change Pipeline",
+                           description = "Debounces and coalesces resource changes before invalidating caches")
+    public @interface Config {
+
+        @AttributeDefinition(name = "Debounce",
+                             description = "Milliseconds without new changes before a batch is processed")
+        long debounce() default 500;
+
+        @AttributeDefinition(name = "Maximum delay",
+                             description = "Milliseconds after which a batch is processed even if changes keep arriving")
+        long maxDelay() default 5000;
+
+        @AttributeDefinition(name = "Capacity",
+                             description = "Maximum number of queued changes; further changes are folded into a common ancestor")
+        int capacity() default 10000;
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangePipelineImpl.class);
+
+    private static final String JCR_CONTENT_SEGMENT = "/" + JcrConstants.JCR_CONTENT;
+
+    private final List<ChangeBatchHandler> handlers = new CopyOnWriteArrayList<>();
+
+    private final Queue<String> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    // Common ancestor of the changes dropped because the queue was full
+    private final AtomicReference<String> overflow = new AtomicReference<>();
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicLong oldestChange = new AtomicLong();
+    private final AtomicLong latestChange = new AtomicLong();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private volatile long lastBatchLag;
+    private volatile long maxBatchLag;
+
+    // Kept across @Modified, so a change submitted meanwhile never meets a shut down worker
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "aem-cinema-react-change-pipeline");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile long debounce;
+    private volatile long maxDelay;
+    private volatile int capacity;
+
+    @Reference(service = ChangeBatchHandler.class,
+               cardinality = ReferenceCardinality.MULTIPLE,
+               policy = ReferencePolicy.DYNAMIC)
+    protected void bindHandler(final ChangeBatchHandler handler) {
+        handlers.add(handler);
+    }
+
+    protected void unbindHandler(final ChangeBatchHandler handler) {
+        handlers.remove(handler);
+    }
+
+    @Activate
+    @Modified
+    protected void activate(final Config config) {
+        this.debounce = Math.max(0, config.debounce());
+        this.maxDelay = Math.max(debounce, config.maxDelay());
+        this.capacity = Math.max(1, config.capacity());
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        worker.shutdownNow();
+        // Whatever was queued is handed over once more, so no invalidation is lost
+        drain();
+        scheduled.set(false);
+    }
+
+    @Override
+    public void submit(String path) {
+        if (StringUtils.isEmpty(path)) {
+            return;
+        }
+        submitted.increment();
+        long now = System.currentTimeMillis();
+        latestChange.set(now);
+        if (depth.incrementAndGet() > capacity) {
+            depth.decrementAndGet();
+            overflows.increment();
+            overflow.accumulateAndGet(path, ChangePipelineImpl::getCommonAncestor);
+        } else {
+            queue.add(path);
+        }
+        if (scheduled.compareAndSet(false, true)) {
+            oldestChange.set(now);
+            schedule(debounce);
+        }
+    }
+
+    private void schedule(long delay) {
+        try {
+            worker.schedule(this::run, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Deactivated; the next instance starts from an empty queue
+            scheduled.set(false);
+            LOGGER.debug("Change pipeline is shut down, not scheduling a batch");
+        }
+    }
+
+    private void run() {
+        long now = System.currentTimeMillis();
+        long quietSince = now - latestChange.get();
+        long waiting = now - oldestChange.get();
+        if (quietSince < debounce && waiting < maxDelay) {
+            schedule(Math.min(debounce - quietSince, maxDelay - waiting));
+            return;
+        }
+        // Changes submitted from here on schedule the next batch
+        long oldest = oldestChange.get();
+        scheduled.set(false);
+        if (!drain()) {
+            return;
+        }
+        long lag = System.currentTimeMillis() - oldest;
+        lastBatchLag = lag;
+        maxBatchLag = Math.max(maxBatchLag, lag);
+    }
+
+    private boolean drain() {
+        Set<String> paths = new TreeSet<>();
+        String path;
+        while ((path = queue.poll()) != null) {
+            depth.decrementAndGet();
+            paths.add(path);
+        }
+        String ancestor = overflow.getAndSet(null);
+        if (ancestor != null) {
+            LOGGER.warn("Change queue overflowed, invalidating everything below {}", ancestor);
+            paths.add(ancestor);
+        }
+        if (paths.isEmpty()) {
+            return false;
+        }
+        Set<String> batch = coalesce(paths);
+        batches.increment();
+        processed.add(batch.size());
+        for (ChangeBatchHandler handler : handlers) {
+            try {
+                handler.handle(batch);
+            } catch (RuntimeException e) {
+                LOGGER.error("Change handler {} failed", handler.getClass().getName(), e);
+            }
+        }
+        LOGGER.debug("Processed {} changes as {} paths", paths.size(), batch.size());
+        return true;
+    }
+
+    /**
+     * Reduces every path to the page or asset owning it and drops the paths below another one.
+     */
+    static Set<String> coalesce(Collection<String> paths) {
+        TreeSet<String> owners = new TreeSet<>();
+        for (String path : paths) {
+            int contentIndex = path.indexOf(JCR_CONTENT_SEGMENT + "/");
+            if (contentIndex < 0 && path.endsWith(JCR_CONTENT_SEGMENT)) {
+                contentIndex = path.length() - JCR_CONTENT_SEGMENT.length();
+            }
+            owners.add(contentIndex > 0 ? path.substring(0, contentIndex) : path);
+        }
+        Set<String> batch = new TreeSet<>();
+        for (String owner : owners) {
+            if (!isCoveredByAncestor(owner, owners)) {
+                batch.add(owner);
+            }
+        }
+        return Collections.unmodifiableSet(batch);
+    }
+
+    private static boolean isCoveredByAncestor(String path, Set<String> paths) {
+        for (String parent = ResourceUtil.getParent(path); parent != null; parent = ResourceUtil.getParent(parent)) {
+            if (paths.contains(parent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String getCommonAncestor(String first, String second) {
+        if (first == null) {
+            return second;
+        }
+        String ancestor = first;
+        while (ancestor != null && !ancestor.equals(second) && !second.startsWith(ancestor + "/")) {
+            ancestor = ResourceUtil.getParent(ancestor);
+        }
+        return ancestor != null ? ancestor : "/";
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return depth.get();
+    }
+
+    @Override
+    public long getCurrentLag() {
+        return scheduled.get() ? System.currentTimeMillis() - oldestChange.get() : 0;
+    }
+
+    @Override
+    public long getLastBatchLag() {
+        return lastBatchLag;
+    }
+
+    @Override
+    public long getMaxBatchLag() {
+        return maxBatchLag;
+    }
+
+    @Override
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    @Override
+    public long getOverflowCount() {
+        return overflows.sum();
+    }
+
+    @Override
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    @Override
+    public long getProcessedCount() {
+        return processed.sum();
+    }
+}
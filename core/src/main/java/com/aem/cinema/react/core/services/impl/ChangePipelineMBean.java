@@ -0,0 +1,31 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.adobe.granite.jmx.annotation.Description;
+
+@Description("AEM Cinema - Change Pipeline")
+public interface ChangePipelineMBean {
+
+    @Description("Number of changes waiting for the next batch")
+    int getQueueDepth();
+
+    @Description("Milliseconds the oldest waiting change has been queued")
+    long getCurrentLag();
+
+    @Description("Milliseconds between the oldest change of the last batch and the end of its processing")
+    long getLastBatchLag();
+
+    @Description("Largest batch lag in milliseconds since activation")
+    long getMaxBatchLag();
+
+    @Description("Number of changes received")
+    long getSubmittedCount();
+
+    @Description("Number of changes folded into a common ancestor because the queue was full")
+    long getOverflowCount();
+
+    @Description("Number of batches processed")
+    long getBatchCount();
+
+    @Description("Number of paths processed after coalescing")
+    long getProcessedCount();
+}
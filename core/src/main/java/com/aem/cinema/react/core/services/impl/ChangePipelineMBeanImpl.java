@@ -0,0 +1,66 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.adobe.granite.jmx.annotation.AnnotatedStandardMBean;
+import com.aem.cinema.react.core.services.ChangePipeline;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+import javax.management.DynamicMBean;
+import javax.management.NotCompliantMBeanException;
+
+/**
+ * Exposes the {@link ChangePipeline} queue depth and lag in the JMX console.
+ */
+@Component(service = DynamicMBean.class,
+           property = {
+                   "jmx.objectname=com.aem.cinema.react:type=ChangePipeline"
+           })
+public class ChangePipelineMBeanImpl extends AnnotatedStandardMBean implements ChangePipelineMBean {
+
+    @Reference
+    private ChangePipeline changePipeline;
+
+    public ChangePipelineMBeanImpl() throws NotCompliantMBeanException {
+        super(ChangePipelineMBean.class);
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return changePipeline.getQueueDepth();
+    }
+
+    @Override
+    public long getCurrentLag() {
+        return changePipeline.getCurrentLag();
+    }
+
+    @Override
+    public long getLastBatchLag() {
+        return changePipeline.getLastBatchLag();
+    }
+
+    @Override
+    public long getMaxBatchLag() {
+        return changePipeline.getMaxBatchLag();
+    }
+
+    @Override
+    public long getSubmittedCount() {
+        return changePipeline.getSubmittedCount();
+    }
+
+    @Override
+    public long getOverflowCount() {
+        return changePipeline.getOverflowCount();
+    }
+
+    @Override
+    public long getBatchCount() {
+        return changePipeline.getBatchCount();
+    }
+
+    @Override
+    public long getProcessedCount() {
+        return changePipeline.getProcessedCount();
+    }
+}
@@ -0,0 +1,198 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.adobe.cq.export.json.ComponentExporter;
+import com.adobe.cq.export.json.ExporterConstants;
+import com.aem.cinema.react.core.services.ComponentExportCache;
+import com.aem.cinema.react.core.utils.LruCache;
+import com.aem.cinema.react.core.utils.SingleFlight;
+import com.day.cq.commons.jcr.JcrConstants;
+import com.day.cq.dam.api.DamConstants;
+import com.day.cq.wcm.api.Page;
+import com.day.cq.wcm.api.PageManager;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ValueMap;
+import org.apache.sling.models.factory.ExportException;
+import org.apache.sling.models.factory.MissingExporterException;
+import org.apache.sling.models.factory.ModelFactory;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * LRU cache of exported component JSON, keyed by user and component path. Each
+ * entry records the modification date it was built for and the DAM paths the
+ * component references, which are marked stale through {@link #invalidate(String)}.
+ * Concurrent misses of the same export share one serialization, and while it runs
+ * a stale entry is still served to the other requests.
+ */
+@Designate(ocd = ComponentExportCacheImpl.Config.class)
+@Component(service = ComponentExportCache.class)
+public class ComponentExportCacheImpl implements ComponentExportCache {
+
+    @ObjectClassDefinition(name = "AEM Cinema - Component Export Cache",
+                           description = "Caches the model.json output of components")
+    public @interface Config {
+
+        @AttributeDefinition(name = "Max entries",
+                             description = "Maximum number of (component, user) exports kept in memory")
+        int maxEntries() default 1000;
+
+        @AttributeDefinition(name = "Resource types",
+                             description = "Components whose exported JSON may be cached")
+        String[] resourceTypes() default {
+                "aem-cinema-react/components/carousel",
+                "aem-cinema-react/components/highlight"
+        };
+
+        @AttributeDefinition(name = "Load timeout",
+                             description = "Milliseconds a request without a stale export waits for the export another request is building, before building it itself")
+        long loadTimeout() default 5000;
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ComponentExportCacheImpl.class);
+
+    // Properties holding references to fragments or assets
+    private static final List<String> REFERENCE_PROPERTIES = List.of("fragmentPath", "fileReference");
+
+    private static final String DAM_ROOT = DamConstants.MOUNTPOINT_ASSETS + "/";
+
+    @Reference
+    private ModelFactory modelFactory;
+
+    private final LruCache<String, CacheEntry> entries = new LruCache<>(1000);
+
+    private SingleFlight<String, byte[]> exports = new SingleFlight<>(5000);
+
+    private Set<String> resourceTypes = Collections.emptySet();
+
+    @Activate
+    @Modified
+    protected void activate(final Config config) {
+        this.resourceTypes = new HashSet<>(Arrays.asList(config.resourceTypes()));
+        entries.resize(config.maxEntries());
+        this.exports = new SingleFlight<>(config.loadTimeout());
+    }
+
+    @Override
+    public byte[] getExport(SlingHttpServletRequest request, Resource component) {
+        if (request == null || component == null || !resourceTypes.contains(component.getResourceType())) {
+            return null;
+        }
+
+        String key = request.getResourceResolver().getUserID() + ":" + component.getPath();
+        long lastModified = getLastModified(component);
+        CacheEntry entry = entries.get(key);
+        if (entry != null && !entry.stale && entry.lastModified == lastModified) {
+            return entry.json;
+        }
+
+        return exports.load(key + "@" + lastModified, () -> {
+            // Another request may have finished the export since the lookup above
+            CacheEntry current = entries.get(key);
+            if (current != null && !current.stale && current.lastModified == lastModified) {
+                return current.json;
+            }
+            long exportGeneration = entries.getGeneration();
+            byte[] json = export(request, component);
+            if (json != null) {
+                entries.putIfCurrent(key, new CacheEntry(component.getPath(), lastModified, json,
+                        collectReferences(component), false), exportGeneration);
+            }
+            return json;
+        }, entry != null ? entry.json : null);
+    }
+
+    @Override
+    public void invalidate(String path) {
+        if (StringUtils.isEmpty(path)) {
+            return;
+        }
+        // Kept as stale, so they can still be served while they are rebuilt
+        entries.invalidateAll((key, entry) -> !entry.stale && (LruCache.isRelated(entry.componentPath, path)
+                || entry.references.stream().anyMatch(reference -> LruCache.isRelated(reference, path)))
+                ? entry.toStale() : entry);
+        LOGGER.debug("Marked component exports affected by {} as stale", path);
+    }
+
+    private byte[] export(SlingHttpServletRequest request, Resource component) {
+        try {
+            ComponentExporter model = modelFactory.getModelFromWrappedRequest(request, component, ComponentExporter.class);
+            if (model == null) {
+                return null;
+            }
+            String json = modelFactory.exportModel(model, ExporterConstants.SLING_MODEL_EXPORTER_NAME, String.class,
+                    Collections.emptyMap());
+            return json != null ? json.getBytes(StandardCharsets.UTF_8) : null;
+        } catch (ExportException | MissingExporterException e) {
+            LOGGER.error("Could not export the model of {}", component.getPath(), e);
+            return null;
+        }
+    }
+
+    // The component's own jcr:lastModified if the dialog set one, otherwise the page's
+    private static long getLastModified(Resource component) {
+        Calendar lastModified = component.getValueMap().get(JcrConstants.JCR_LASTMODIFIED, Calendar.class);
+        if (lastModified == null) {
+            PageManager pageManager = component.getResourceResolver().adaptTo(PageManager.class);
+            Page page = pageManager != null ? pageManager.getContainingPage(component) : null;
+            lastModified = page != null ? page.getLastModified() : null;
+        }
+        return lastModified != null ? lastModified.getTimeInMillis() : 0;
+    }
+
+    private static Set<String> collectReferences(Resource resource) {
+        Set<String> references = new HashSet<>();
+        addReferences(resource, references);
+        return references;
+    }
+
+    private static void addReferences(Resource resource, Set<String> references) {
+        ValueMap properties = resource.getValueMap();
+        for (String name : REFERENCE_PROPERTIES) {
+            String reference = properties.get(name, String.class);
+            if (reference != null && reference.startsWith(DAM_ROOT)) {
+                references.add(reference);
+            }
+        }
+        for (Resource child : resource.getChildren()) {
+            addReferences(child, references);
+        }
+    }
+
+    private static final class CacheEntry {
+
+        private final String componentPath;
+        private final long lastModified;
+        private final byte[] json;
+        private final Set<String> references;
+        private final boolean stale;
+
+        private CacheEntry(String componentPath, long lastModified, byte[] json, Set<String> references, boolean stale) {
+            this.componentPath = componentPath;
+            this.lastModified = lastModified;
+            this.json = json;
+            this.references = references;
+            this.stale = stale;
+        }
+
+        private CacheEntry toStale() {
+            return new CacheEntry(componentPath, lastModified, json, references, true);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.DataLayerEntry;
+import com.aem.cinema.react.core.services.DataLayerService;
+import com.aem.cinema.react.core.services.LinkResolver;
+import com.aem.cinema.react.core.utils.LinkUtils;
+import com.aem.cinema.react.core.utils.LruCache;
+import com.day.cq.commons.jcr.JcrConstants;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ValueMap;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Caches the data layer entry of every component by path. An entry is rebuilt
+ * when the component's jcr:lastModified differs or a change event drops it.
+ * The aggregated page data layers are cached per page and user until a change
+ * below the page drops them, so the page tree is only walked once per change.
+ */
+@Designate(ocd = DataLayerServiceImpl.Config.class)
+@Component(service = DataLayerService.class)
+public class DataLayerServiceImpl implements DataLayerService {
+
+    @ObjectClassDefinition(name = "AEM Cinema - Data Layer Service",
+                           description = "Builds the Adobe Client Data Layer entries of the components")
+    public @interface Config {
+
+        @AttributeDefinition(name = "Max entries",
+                             description = "Maximum number of component entries kept in memory")
+        int maxEntries() default 5000;
+
+        @AttributeDefinition(name = "Max page data layers",
+                             description = "Maximum number of aggregated (page, user) data layers kept in memory")
+        int maxPageDataLayers() default 500;
+
+        @AttributeDefinition(name = "Page level",
+                             description = "Write one aggregated data layer per page (selector 'datalayer') "
+                                     + "instead of a data layer in every component's model")
+        boolean pageLevel() default false;
+
+        @AttributeDefinition(name = "Resource types",
+                             description = "Components aggregated into the page data layer")
+        String[] resourceTypes() default {
+                "aem-cinema-react/components/carousel",
+                "aem-cinema-react/components/highlight"
+        };
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataLayerServiceImpl.class);
+
+    private static final String PN_TITLE = "title";
+    private static final String PN_INTERNAL_LINK = "internalLink";
+    private static final String PN_EXTERNAL_LINK = "externalLink";
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL,
+               policy = ReferencePolicy.DYNAMIC,
+               policyOption = ReferencePolicyOption.GREEDY)
+    private volatile LinkResolver linkResolver;
+
+    private final LruCache<String, CachedEntry> entries = new LruCache<>(5000);
+
+    private final LruCache<String, PageDataLayer> pageDataLayers = new LruCache<>(500);
+
+    private boolean pageLevel;
+    private Set<String> resourceTypes = Collections.emptySet();
+
+    @Activate
+    @Modified
+    protected void activate(final Config config) {
+        entries.resize(config.maxEntries());
+        pageDataLayers.resize(config.maxPageDataLayers());
+        this.pageLevel = config.pageLevel();
+        this.resourceTypes = new HashSet<>(Arrays.asList(config.resourceTypes()));
+    }
+
+    @Override
+    public DataLayerEntry getEntry(Resource resource, String type) {
+        ValueMap properties = resource.getValueMap();
+        Calendar lastModified = properties.get(JcrConstants.JCR_LASTMODIFIED, Calendar.class);
+        long version = lastModified != null ? lastModified.getTimeInMillis() : -1;
+
+        String path = resource.getPath();
+        CachedEntry cached = entries.get(path);
+        if (cached != null && cached.version == version && cached.type.equals(type)) {
+            return cached.entry;
+        }
+
+        long buildGeneration = entries.getGeneration();
+        DataLayerEntry entry = build(resource, properties, type);
+        entries.putIfCurrent(path, new CachedEntry(type, version, entry), buildGeneration);
+        return entry;
+    }
+
+    @Override
+    public boolean isPageLevel() {
+        return pageLevel;
+    }
+
+    @Override
+    public Map<String, Object> getPageDataLayer(Resource root) {
+        // Keyed by user as well, since the walk only sees the pages the user can read
+        String key = root.getResourceResolver().getUserID() + ":" + root.getPath();
+        PageDataLayer cached = pageDataLayers.get(key);
+        if (cached != null) {
+            return cached.dataLayer;
+        }
+
+        long buildGeneration = pageDataLayers.getGeneration();
+        Map<String, Object> dataLayer = new LinkedHashMap<>();
+        collect(root, dataLayer);
+        PageDataLayer pageDataLayer = new PageDataLayer(root.getPath(), dataLayer);
+        pageDataLayers.putIfCurrent(key, pageDataLayer, buildGeneration);
+        return pageDataLayer.dataLayer;
+    }
+
+    @Override
+    public void invalidate(String path) {
+        if (StringUtils.isEmpty(path)) {
+            return;
+        }
+        entries.invalidate((entryPath, entry) -> LruCache.isRelated(entryPath, path));
+        pageDataLayers.invalidate((key, pageDataLayer) -> LruCache.isRelated(pageDataLayer.rootPath, path));
+        LOGGER.debug("Invalidated data layer entries affected by {}", path);
+    }
+
+    private void collect(Resource resource, Map<String, Object> dataLayer) {
+        String resourceType = resource.getResourceType();
+        if (resourceTypes.contains(resourceType)) {
+            DataLayerEntry entry = getEntry(resource, resourceType);
+            dataLayer.put(entry.getId(), entry.getProperties());
+            // Tracked components do not nest, so their slides and movie references are not walked
+            return;
+        }
+        for (Resource child : resource.getChildren()) {
+            collect(child, dataLayer);
+        }
+    }
+
+    // Every tracked type gets the same fields, so carousels carry dc:title, repo:modifyDate and xdm:linkURL too
+    private DataLayerEntry build(Resource resource, ValueMap properties, String type) {
+        String id = getId(resource);
+        Map<String, Object> componentProperties = new LinkedHashMap<>();
+        componentProperties.put("@type", type);
+        componentProperties.put("id", id);
+
+        String title = properties.get(PN_TITLE, String.class);
+        if (title != null) {
+            componentProperties.put("dc:title", title);
+        }
+        String modifyDate = properties.get(JcrConstants.JCR_LASTMODIFIED, String.class);
+        if (modifyDate != null) {
+            componentProperties.put("repo:modifyDate", modifyDate);
+        }
+        String link = getLink(resource, properties);
+        if (link != null) {
+            componentProperties.put("xdm:linkURL", link);
+        }
+        return new DataLayerEntry(id, componentProperties);
+    }
+
+    private String getLink(Resource resource, ValueMap properties) {
+        String internalLink = properties.get(PN_INTERNAL_LINK, String.class);
+        String externalLink = properties.get(PN_EXTERNAL_LINK, String.class);
+        LinkResolver resolver = linkResolver;
+        String link = resolver != null
+                ? resolver.getInternalLink(resource.getResourceResolver(), internalLink)
+                : LinkUtils.toInternalLink(internalLink);
+        return link != null ? link : LinkUtils.toExternalLink(externalLink);
+    }
+
+    // Same id as before the data layer was cached, so analytics reports stay continuous
+    static String getId(Resource resource) {
+        return resource.getName() + "-" + Math.abs(resource.getPath().hashCode());
+    }
+
+    private static final class CachedEntry {
+
+        private final String type;
+        private final long version;
+        private final DataLayerEntry entry;
+
+        private CachedEntry(String type, long version, DataLayerEntry entry) {
+            this.type = type;
+            this.version = version;
+            this.entry = entry;
+        }
+    }
+
+    private static final class PageDataLayer {
+
+        private final String rootPath;
+        private final Map<String, Object> dataLayer;
+
+        private PageDataLayer(String rootPath, Map<String, Object> dataLayer) {
+            this.rootPath = rootPath;
+            this.dataLayer = Collections.unmodifiableMap(dataLayer);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.DispatcherFlushService;
+import org.apache.sling.api.resource.LoginException;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ResourceResolverFactory;
+import org.apache.sling.distribution.DistributionRequest;
+import org.apache.sling.distribution.DistributionRequestType;
+import org.apache.sling.distribution.DistributionResponse;
+import org.apache.sling.distribution.Distributor;
+import org.apache.sling.distribution.SimpleDistributionRequest;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Sends an invalidate-only distribution request, which reaches the dispatcher
+ * without replicating any content. The request is sent as the dispatcher-flush
+ * service user, which holds crx:replicate on the site. Enabled on author only,
+ * see the config.author run mode.
+ */
+@Designate(ocd = DispatcherFlushServiceImpl.Config.class)
+@Component(service = DispatcherFlushService.class)
+public class DispatcherFlushServiceImpl implements DispatcherFlushService {
+
+    @ObjectClassDefinition(name = "AEM Cinema - Dispatcher Flush",
+                           description = "Invalidates single pages in the dispatcher cache")
+    public @interface Config {
+
+        @AttributeDefinition(name = "Enabled",
+                             description = "Only enable on the tier owning the distribution agent, usually author")
+        boolean enabled() default false;
+
+        @AttributeDefinition(name = "Agent name",
+                             description = "Distribution agent receiving the invalidate requests")
+        String agentName() default "publish";
+    }
+
+    static final String SUBSERVICE = "dispatcher-flush";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DispatcherFlushServiceImpl.class);
+
+    @Reference
+    private ResourceResolverFactory resourceResolverFactory;
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL,
+               policy = ReferencePolicy.DYNAMIC,
+               policyOption = ReferencePolicyOption.GREEDY)
+    private volatile Distributor distributor;
+
+    private boolean enabled;
+    private String agentName;
+
+    @Activate
+    @Modified
+    protected void activate(final Config config) {
+        this.enabled = config.enabled();
+        this.agentName = config.agentName();
+    }
+
+    @Override
+    public boolean flush(Collection<String> pagePaths) {
+        Distributor current = distributor;
+        if (!enabled || current == null || pagePaths.isEmpty()) {
+            return false;
+        }
+        String[] paths = pagePaths.toArray(new String[0]);
+        DistributionRequest request = new SimpleDistributionRequest(DistributionRequestType.INVALIDATE, false, paths);
+        // Distribution checks crx:replicate on every path, which the read-only users lack
+        Map<String, Object> authInfo = Collections.singletonMap(ResourceResolverFactory.SUBSERVICE, SUBSERVICE);
+        try (ResourceResolver resolver = resourceResolverFactory.getServiceResourceResolver(authInfo)) {
+            DistributionResponse response = current.distribute(agentName, resolver, request);
+            if (!response.isSuccessful()) {
+                LOGGER.warn("Invalidating {} pages through agent {} failed: {}", paths.length, agentName, response.getMessage());
+                return false;
+            }
+            LOGGER.debug("Invalidated {} pages through agent {}", paths.length, agentName);
+            return true;
+        } catch (LoginException e) {
+            LOGGER.error("Could not open a service resource resolver for subservice {}", SUBSERVICE, e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.FragmentReferenceIndex;
+import com.day.cq.commons.jcr.JcrConstants;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.LoginException;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ResourceResolverFactory;
+import org.apache.sling.api.resource.ResourceUtil;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Walks the site once and then only re-reads the content touched by a change,
+ * keeping a forward map (component to fragments) next to the reverse one, so
+ * the references of a changed subtree can be dropped without a full scan.
+ */
+@Designate(ocd = FragmentReferenceIndexImpl.Config.class)
+@Component(service = FragmentReferenceIndex.class)
+public class FragmentReferenceIndexImpl implements FragmentReferenceIndex {
+
+    @ObjectClassDefinition(name = "AEM Cinema - Fragment Reference Index",
+                           description = "Tracks which pages reference which Content Fragments")
+    public @interface Config {
+
+        @AttributeDefinition(name = "Root path",
+                             description = "Site whose pages are indexed")
+        String rootPath() default "/content/aem-cinema-react";
+
+        @AttributeDefinition(name = "Reference properties",
+                             description = "Properties holding a Content Fragment path")
+        String[] referenceProperties() default { "fragmentPath" };
+    }
+
+    static final String SUBSERVICE = "content-reader";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FragmentReferenceIndexImpl.class);
+
+    private static final String DAM_ROOT = "/content/dam/";
+    private static final String JCR_CONTENT_SEGMENT = "/" + JcrConstants.JCR_CONTENT;
+
+    @Reference
+    private ResourceResolverFactory resourceResolverFactory;
+
+    private final Queue<String> pendingChanges = new ConcurrentLinkedQueue<>();
+
+    // Guarded by this
+    private final TreeMap<String, Set<String>> fragmentsByComponent = new TreeMap<>();
+    // Sorted, so the fragments below a folder are one range
+    private final TreeMap<String, Set<String>> componentsByFragment = new TreeMap<>();
+    private boolean built;
+
+    private String rootPath;
+    private String[] referenceProperties;
+
+    @Activate
+    @Modified
+    protected void activate(final Config config) {
+        synchronized (this) {
+            this.rootPath = config.rootPath();
+            this.referenceProperties = config.referenceProperties();
+            this.built = false;
+            fragmentsByComponent.clear();
+            componentsByFragment.clear();
+            pendingChanges.clear();
+        }
+    }
+
+    @Override
+    public synchronized Set<String> getReferencingComponents(String fragmentPath) {
+        if (StringUtils.isEmpty(fragmentPath)) {
+            return Collections.emptySet();
+        }
+        update();
+        String owner = getOwner(fragmentPath);
+        Set<String> components = new TreeSet<>();
+        Set<String> exact = componentsByFragment.get(owner);
+        if (exact != null) {
+            components.addAll(exact);
+        }
+        // Coalesced or overflowing change batches report a folder or ancestor instead of each fragment
+        for (Set<String> below : componentsByFragment.subMap(owner + "/", owner + "0").values()) {
+            components.addAll(below);
+        }
+        return Collections.unmodifiableSet(components);
+    }
+
+    @Override
+    public synchronized Set<String> getReferencingPages(String fragmentPath) {
+        Set<String> pages = new TreeSet<>();
+        for (String component : getReferencingComponents(fragmentPath)) {
+            pages.add(getOwner(component));
+        }
+        return Collections.unmodifiableSet(pages);
+    }
+
+    @Override
+    public void invalidate(String path) {
+        String root = rootPath;
+        if (StringUtils.isEmpty(path) || root == null || path.startsWith(DAM_ROOT)) {
+            return;
+        }
+        if (path.equals(root) || path.startsWith(root + "/") || root.startsWith(path + "/")) {
+            pendingChanges.add(path);
+        }
+    }
+
+    private void update() {
+        if (built && pendingChanges.isEmpty()) {
+            return;
+        }
+        try (ResourceResolver resolver = getServiceResolver()) {
+            if (!built) {
+                pendingChanges.clear();
+                reindex(resolver, rootPath);
+                built = true;
+                LOGGER.info("Indexed {} fragment references below {}", fragmentsByComponent.size(), rootPath);
+                return;
+            }
+            Set<String> scopes = new HashSet<>();
+            String path;
+            while ((path = pendingChanges.poll()) != null) {
+                scopes.add(path.startsWith(rootPath + "/") ? path : rootPath);
+            }
+            for (String scope : scopes) {
+                if (!isCoveredByAncestor(scope, scopes)) {
+                    reindex(resolver, scope);
+                }
+            }
+            LOGGER.debug("Re-indexed {} changed scopes", scopes.size());
+        } catch (LoginException e) {
+            LOGGER.error("Could not open a service resource resolver for subservice {}", SUBSERVICE, e);
+        }
+    }
+
+    // Package-private for the scope de-duplication test
+    void reindex(ResourceResolver resolver, String scope) {
+        remove(scope);
+        for (String component : fragmentsByComponent.subMap(scope + "/", scope + "0").keySet().toArray(new String[0])) {
+            remove(component);
+        }
+        Resource resource = resolver.getResource(scope);
+        if (resource != null) {
+            collect(resource);
+        }
+    }
+
+    private void collect(Resource resource) {
+        Set<String> fragments = null;
+        for (String property : referenceProperties) {
+            String fragmentPath = resource.getValueMap().get(property, String.class);
+            if (fragmentPath != null && fragmentPath.startsWith(DAM_ROOT)) {
+                if (fragments == null) {
+                    fragments = new HashSet<>(2);
+                }
+                fragments.add(fragmentPath);
+            }
+        }
+        if (fragments != null) {
+            String component = resource.getPath();
+            fragmentsByComponent.put(component, fragments);
+            for (String fragment : fragments) {
+                componentsByFragment.computeIfAbsent(fragment, key -> new HashSet<>()).add(component);
+            }
+        }
+        for (Resource child : resource.getChildren()) {
+            collect(child);
+        }
+    }
+
+    private void remove(String component) {
+        Set<String> fragments = fragmentsByComponent.remove(component);
+        if (fragments == null) {
+            return;
+        }
+        for (String fragment : fragments) {
+            Set<String> components = componentsByFragment.get(fragment);
+            if (components != null) {
+                components.remove(component);
+                if (components.isEmpty()) {
+                    componentsByFragment.remove(fragment);
+                }
+            }
+        }
+    }
+
+    private static boolean isCoveredByAncestor(String path, Set<String> paths) {
+        for (String parent = ResourceUtil.getParent(path); parent != null; parent = ResourceUtil.getParent(parent)) {
+            if (paths.contains(parent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The page of a component or the fragment of a path below its jcr:content
+    static String getOwner(String path) {
+        int contentIndex = path.indexOf(JCR_CONTENT_SEGMENT + "/");
+        if (contentIndex < 0 && path.endsWith(JCR_CONTENT_SEGMENT)) {
+            contentIndex = path.length() - JCR_CONTENT_SEGMENT.length();
+        }
+        return contentIndex > 0 ? path.substring(0, contentIndex) : path;
+    }
+
+    private ResourceResolver getServiceResolver() throws LoginException {
+        Map<String, Object> authInfo = Collections.singletonMap(ResourceResolverFactory.SUBSERVICE, SUBSERVICE);
+        return resourceResolverFactory.getServiceResourceResolver(authInfo);
+    }
+}
@@ -0,0 +1,175 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.ImageRendition;
+import com.aem.cinema.react.core.services.ImageRenditionService;
+import com.aem.cinema.react.core.utils.LruCache;
+import com.day.cq.dam.api.Asset;
+import com.day.cq.dam.api.DamConstants;
+import com.day.cq.dam.api.Rendition;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Derives the rendition descriptors of an image from the generated
+ * {@code cq5dam.web.*} and {@code cq5dam.thumbnail.*} renditions. Their names
+ * only carry the bounding box, so the actual size is computed from the
+ * original's dimensions the way the DAM workflow fits the image into the box.
+ */
+@Designate(ocd = ImageRenditionServiceImpl.Config.class)
+@Component(service = ImageRenditionService.class)
+public class ImageRenditionServiceImpl implements ImageRenditionService {
+
+    @ObjectClassDefinition(name = "AEM Cinema - Image Rendition Service",
+                           description = "Caches the rendition descriptors of slide and highlight images")
+    public @interface Config {
+
+        @AttributeDefinition(name = "Max entries",
+                             description = "Maximum number of assets kept in memory")
+        int maxEntries() default 1000;
+
+        @AttributeDefinition(name = "Min width",
+                             description = "Renditions narrower than this, e.g. the 48px and 140px thumbnails, are left out")
+        int minWidth() default 200;
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageRenditionServiceImpl.class);
+
+    private static final Pattern RENDITION_NAME = Pattern.compile("^cq5dam\\.(?:web|thumbnail)\\.(\\d+)\\.(\\d+)(?:\\..*)?$");
+
+    private static final String EXIF_PIXEL_X = "exif:PixelXDimension";
+    private static final String EXIF_PIXEL_Y = "exif:PixelYDimension";
+
+    private final LruCache<String, CachedRenditions> entries = new LruCache<>(1000);
+
+    private int minWidth = 200;
+
+    @Activate
+    @Modified
+    protected void activate(final Config config) {
+        entries.resize(config.maxEntries());
+        this.minWidth = config.minWidth();
+    }
+
+    @Override
+    public List<ImageRendition> getRenditions(ResourceResolver resolver, String fileReference) {
+        if (resolver == null || StringUtils.isEmpty(fileReference)) {
+            return Collections.emptyList();
+        }
+        // Resolving the asset with the caller's resolver is also the access check
+        Resource resource = resolver.getResource(fileReference);
+        Asset asset = resource != null ? resource.adaptTo(Asset.class) : null;
+        if (asset == null) {
+            return Collections.emptyList();
+        }
+
+        long version = asset.getLastModified();
+        CachedRenditions cached = entries.get(asset.getPath());
+        if (cached != null && cached.version == version) {
+            return cached.renditions;
+        }
+
+        long loadGeneration = entries.getGeneration();
+        List<ImageRendition> renditions = load(asset);
+        entries.putIfCurrent(asset.getPath(), new CachedRenditions(version, renditions), loadGeneration);
+        return renditions;
+    }
+
+    @Override
+    public void invalidate(String path) {
+        if (StringUtils.isEmpty(path)) {
+            return;
+        }
+        entries.invalidate((assetPath, cached) -> LruCache.isRelated(assetPath, path));
+    }
+
+    private List<ImageRendition> load(Asset asset) {
+        int originalWidth = getDimension(asset, DamConstants.TIFF_IMAGEWIDTH, EXIF_PIXEL_X);
+        int originalHeight = getDimension(asset, DamConstants.TIFF_IMAGELENGTH, EXIF_PIXEL_Y);
+        if (originalWidth <= 0 || originalHeight <= 0) {
+            LOGGER.debug("No image dimensions in the metadata of {}", asset.getPath());
+            return Collections.emptyList();
+        }
+
+        List<ImageRendition> renditions = new ArrayList<>();
+        ImageRendition original = null;
+        for (Rendition rendition : asset.getRenditions()) {
+            String mimeType = rendition.getMimeType();
+            if (mimeType == null || !mimeType.startsWith("image/")) {
+                continue;
+            }
+            if (DamConstants.ORIGINAL_FILE.equals(rendition.getName())) {
+                original = new ImageRendition(asset.getPath(), originalWidth, originalHeight, mimeType);
+                continue;
+            }
+            Matcher matcher = RENDITION_NAME.matcher(rendition.getName());
+            if (matcher.matches()) {
+                double scale = Math.min(1d, Math.min(
+                        Double.parseDouble(matcher.group(1)) / originalWidth,
+                        Double.parseDouble(matcher.group(2)) / originalHeight));
+                renditions.add(new ImageRendition(rendition.getPath(),
+                        (int) Math.round(originalWidth * scale),
+                        (int) Math.round(originalHeight * scale),
+                        mimeType));
+            }
+        }
+        if (original != null) {
+            // Added last, so the stable sort keeps generated renditions of the same width first
+            renditions.add(original);
+        }
+        return Collections.unmodifiableList(select(renditions));
+    }
+
+    // One rendition per width, preferring the generated ones over the heavier original
+    private List<ImageRendition> select(List<ImageRendition> renditions) {
+        renditions.sort(Comparator.comparingInt(ImageRendition::getWidth));
+        List<ImageRendition> selected = new ArrayList<>(renditions.size());
+        for (ImageRendition rendition : renditions) {
+            if (rendition.getWidth() < minWidth) {
+                continue;
+            }
+            ImageRendition last = selected.isEmpty() ? null : selected.get(selected.size() - 1);
+            if (last == null || last.getWidth() != rendition.getWidth()) {
+                selected.add(rendition);
+            }
+        }
+        return selected;
+    }
+
+    private static int getDimension(Asset asset, String... names) {
+        for (String name : names) {
+            int value = NumberUtils.toInt(asset.getMetadataValue(name), 0);
+            if (value > 0) {
+                return value;
+            }
+        }
+        return 0;
+    }
+
+    private static final class CachedRenditions {
+
+        private final long version;
+        private final List<ImageRendition> renditions;
+
+        private CachedRenditions(long version, List<ImageRendition> renditions) {
+            this.version = version;
+            this.renditions = renditions;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.LinkResolver;
+import com.aem.cinema.react.core.utils.LinkUtils;
+import com.aem.cinema.react.core.utils.LruCache;
+import com.day.cq.commons.Externalizer;
+import com.day.cq.commons.jcr.JcrConstants;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Caches resolved internal links, so {@link ResourceResolver#map(String)} runs once
+ * per link instead of on every model instantiation.
+ */
+@Designate(ocd = LinkResolverImpl.Config.class)
+@Component(service = LinkResolver.class)
+public class LinkResolverImpl implements LinkResolver {
+
+    @ObjectClassDefinition(name = "AEM Cinema - Link Resolver",
+                           description = "Maps and caches the links of carousel slides and highlights")
+    public @interface Config {
+
+        @AttributeDefinition(name = "Max entries",
+                             description = "Maximum number of resolved links kept in memory")
+        int maxEntries() default 5000;
+
+        @AttributeDefinition(name = "Externalizer domain",
+                             description = "Externalizer domain used to build absolute links, e.g. 'publish'. "
+                                     + "Leave empty to only apply the resource mapping")
+        String externalizerDomain() default "";
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LinkResolverImpl.class);
+
+    static final String MAP_ROOT = "/etc/map";
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL,
+               policy = ReferencePolicy.DYNAMIC,
+               policyOption = ReferencePolicyOption.GREEDY)
+    private volatile Externalizer externalizer;
+
+    private final LruCache<String, ResolvedLink> links = new LruCache<>(5000);
+
+    private String externalizerDomain;
+
+    @Activate
+    @Modified
+    protected void activate(final Config config) {
+        links.resize(config.maxEntries());
+        this.externalizerDomain = StringUtils.trimToNull(config.externalizerDomain());
+    }
+
+    @Override
+    public String getInternalLink(ResourceResolver resolver, String link) {
+        String normalized = LinkUtils.toInternalLink(link);
+        if (normalized == null || resolver == null || !normalized.startsWith("/")) {
+            return normalized;
+        }
+
+        ResolvedLink resolved = links.get(normalized);
+        if (resolved == null) {
+            long resolveGeneration = links.getGeneration();
+            resolved = new ResolvedLink(getPath(link), resolve(resolver, normalized));
+            links.putIfCurrent(normalized, resolved, resolveGeneration);
+        }
+        return resolved.url;
+    }
+
+    @Override
+    public String getExternalLink(String link) {
+        return LinkUtils.toExternalLink(link);
+    }
+
+    @Override
+    public void invalidate(String path) {
+        if (StringUtils.isEmpty(path)) {
+            return;
+        }
+        if (path.equals(MAP_ROOT) || path.startsWith(MAP_ROOT + "/") || MAP_ROOT.startsWith(path + "/")) {
+            links.clear();
+            LOGGER.debug("Cleared all resolved links after a resource mapping change at {}", path);
+            return;
+        }
+        links.invalidate((key, link) -> isAffectedBy(link.path, path));
+        LOGGER.debug("Invalidated resolved links affected by {}", path);
+    }
+
+    // A link changes with its own page (moves, vanity paths on jcr:content) or one of its ancestors
+    static boolean isAffectedBy(String linkPath, String changedPath) {
+        if (linkPath.equals(changedPath) || linkPath.startsWith(changedPath + "/")) {
+            return true;
+        }
+        return changedPath.startsWith(linkPath + "/" + JcrConstants.JCR_CONTENT);
+    }
+
+    private String resolve(ResourceResolver resolver, String link) {
+        Externalizer current = externalizer;
+        if (externalizerDomain != null && current != null) {
+            return current.externalLink(resolver, externalizerDomain, link);
+        }
+        return resolver.map(link);
+    }
+
+    // The repository path behind a link, without extension, query or fragment
+    private static String getPath(String link) {
+        String path = StringUtils.substringBefore(StringUtils.substringBefore(link, "#"), "?");
+        return StringUtils.removeEnd(path, ".html");
+    }
+
+    private static final class ResolvedLink {
+
+        private final String path;
+        private final String url;
+
+        private ResolvedLink(String path, String url) {
+            this.path = path;
+            this.url = url;
+        }
+    }
+}
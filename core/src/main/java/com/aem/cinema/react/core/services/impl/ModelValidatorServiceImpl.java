@@ -0,0 +1,197 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.ModelValidator;
+import com.aem.cinema.react.core.services.ModelValidatorService;
+import com.day.cq.commons.jcr.JcrConstants;
+import com.day.cq.dam.api.DamConstants;
+import com.day.cq.wcm.api.NameConstants;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ValueMap;
+import org.osgi.framework.BundleContext;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Hashes the paths and modification dates of everything a model is exported
+ * from: the resource tree itself without the child pages below it, the DAM
+ * fragments and assets it references, and the child pages of the navigation
+ * roots it points to. Together with the
+ * bundle build this determines the exported bytes, so the hash is a strong ETag.
+ */
+@Designate(ocd = ModelValidatorServiceImpl.Config.class)
+@Component(service = ModelValidatorService.class)
+public class ModelValidatorServiceImpl implements ModelValidatorService {
+
+    @ObjectClassDefinition(name = "AEM Cinema - Model Validators",
+                           description = "Computes ETag and Last-Modified of model.json responses")
+    public @interface Config {
+
+        @AttributeDefinition(name = "Root paths",
+                             description = "Only pages and components below these paths get validators")
+        String[] rootPaths() default { "/content/aem-cinema-react" };
+
+        @AttributeDefinition(name = "Reference properties",
+                             description = "Properties holding the path of a referenced fragment or asset")
+        String[] referenceProperties() default { "fragmentPath", "fileReference" };
+
+        @AttributeDefinition(name = "Navigation properties",
+                             description = "Properties holding the root page of a navigation, whose child pages are exported too")
+        String[] navigationProperties() default { "url" };
+
+        @AttributeDefinition(name = "Cache-Control",
+                             description = "Sent with every model.json carrying validators; once it expires, the copy is revalidated with its ETag")
+        String cacheControl() default "max-age=60, must-revalidate";
+    }
+
+    // Set by bnd at build time, so it is the same on every publish instance
+    private static final String BND_LAST_MODIFIED = "Bnd-LastModified";
+
+    private static final String DAM_ROOT = DamConstants.MOUNTPOINT_ASSETS + "/";
+
+    private static final String FRAGMENT_MASTER = "data/master";
+
+    private String[] rootPaths = new String[0];
+    private List<String> referenceProperties = List.of();
+    private List<String> navigationProperties = List.of();
+    private String cacheControl;
+
+    private String build = "";
+
+    LongSupplier clock = System::currentTimeMillis;
+
+    @Activate
+    @Modified
+    protected void activate(final BundleContext bundleContext, final Config config) {
+        this.rootPaths = config.rootPaths();
+        this.referenceProperties = List.of(config.referenceProperties());
+        this.navigationProperties = List.of(config.navigationProperties());
+        this.cacheControl = config.cacheControl();
+        String lastModified = bundleContext.getBundle().getHeaders().get(BND_LAST_MODIFIED);
+        this.build = bundleContext.getBundle().getVersion() + (lastModified != null ? "@" + lastModified : "");
+    }
+
+    @Override
+    public ModelValidator getValidator(Resource resource, String variant) {
+        if (resource == null || !isBelowRoot(resource.getPath())) {
+            return null;
+        }
+
+        State state = new State();
+        state.update(build);
+        state.update(variant);
+        state.update(resource.getResourceResolver().getUserID());
+        addTree(resource, state);
+        return new ModelValidator("\"" + Hex.encodeHexString(state.digest.digest()) + "\"", state.lastModified);
+    }
+
+    @Override
+    public String getCacheControl() {
+        return cacheControl;
+    }
+
+    private void addTree(Resource resource, State state) {
+        ValueMap properties = resource.getValueMap();
+        state.update(resource.getPath());
+        state.updateModified(properties.get(JcrConstants.JCR_LASTMODIFIED, Calendar.class));
+        state.updateModified(properties.get(NameConstants.PN_PAGE_LAST_MOD, Calendar.class));
+        for (String name : referenceProperties) {
+            String reference = properties.get(name, String.class);
+            if (reference != null && reference.startsWith(DAM_ROOT) && state.visited.add(reference)) {
+                addReference(resource, reference, state);
+            }
+        }
+        for (String name : navigationProperties) {
+            String navigationRoot = properties.get(name, String.class);
+            if (navigationRoot != null && isBelowRoot(navigationRoot) && state.visited.add(navigationRoot)) {
+                addNavigation(resource, navigationRoot, state);
+            }
+        }
+        for (Resource child : resource.getChildren()) {
+            // A child page is exported by its own model.json; walking it would make every request O(site)
+            if (!NameConstants.NT_PAGE.equals(child.getValueMap().get(JcrConstants.JCR_PRIMARYTYPE, String.class))) {
+                addTree(child, state);
+            }
+        }
+    }
+
+    private static void addReference(Resource resource, String reference, State state) {
+        state.update(reference);
+        Resource content = resource.getResourceResolver().getResource(reference + "/" + JcrConstants.JCR_CONTENT);
+        if (content == null) {
+            state.update("-");
+            return;
+        }
+        state.updateModified(content.getValueMap().get(JcrConstants.JCR_LASTMODIFIED, Calendar.class));
+        Resource master = content.getChild(FRAGMENT_MASTER);
+        if (master != null) {
+            state.updateModified(master.getValueMap().get(JcrConstants.JCR_LASTMODIFIED, Calendar.class));
+        }
+    }
+
+    // Mirrors what the navigation tree reads of every child page, including whether it is on time now
+    private void addNavigation(Resource resource, String navigationRoot, State state) {
+        state.update(navigationRoot);
+        Resource root = resource.getResourceResolver().getResource(navigationRoot);
+        if (root == null) {
+            state.update("-");
+            return;
+        }
+        long now = clock.getAsLong();
+        for (Resource child : root.getChildren()) {
+            Resource content = child.getChild(JcrConstants.JCR_CONTENT);
+            if (content == null) {
+                continue;
+            }
+            ValueMap properties = content.getValueMap();
+            Calendar onTime = properties.get(NameConstants.PN_ON_TIME, Calendar.class);
+            Calendar offTime = properties.get(NameConstants.PN_OFF_TIME, Calendar.class);
+            boolean on = (onTime == null || onTime.getTimeInMillis() <= now)
+                    && (offTime == null || offTime.getTimeInMillis() >= now);
+            state.update(child.getPath() + (on ? "+" : "-"));
+            state.updateModified(properties.get(NameConstants.PN_PAGE_LAST_MOD, Calendar.class));
+        }
+    }
+
+    private boolean isBelowRoot(String path) {
+        for (String root : rootPaths) {
+            if (path.equals(root) || path.startsWith(root + "/")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class State {
+
+        private final MessageDigest digest = DigestUtils.getMd5Digest();
+        private final Set<String> visited = new HashSet<>();
+        private long lastModified;
+
+        private void update(String value) {
+            if (value != null) {
+                digest.update(value.getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) 0);
+        }
+
+        private void updateModified(Calendar modified) {
+            long millis = modified != null ? modified.getTimeInMillis() : 0;
+            lastModified = Math.max(lastModified, millis);
+            update(Long.toString(millis));
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.MovieCatalog;
+import com.aem.cinema.react.core.services.MovieCatalogService;
+import com.aem.cinema.react.core.services.MovieData;
+import com.aem.cinema.react.core.utils.SingleFlight;
+import com.day.cq.commons.jcr.JcrConstants;
+import com.day.cq.dam.api.DamConstants;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.LoginException;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ResourceResolverFactory;
+import org.apache.sling.api.resource.ResourceUtil;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds the movie catalog by walking the configured DAM folder once and then
+ * only re-reads the fragments touched by a change. While one request applies the
+ * changes, the others keep getting the previous snapshot instead of queueing up.
+ */
+@Designate(ocd = MovieCatalogServiceImpl.Config.class)
+@Component(service = MovieCatalogService.class)
+public class MovieCatalogServiceImpl implements MovieCatalogService {
+
+    @ObjectClassDefinition(name = "AEM Cinema - Movie Catalog",
+                           description = "Keeps every movie Content Fragment in memory")
+    public @interface Config {
+
+        @AttributeDefinition(name = "Root path",
+                             description = "DAM folder containing the movie fragments")
+        String rootPath() default "/content/dam/aem-cinema-react";
+
+        @AttributeDefinition(name = "Model path",
+                             description = "Content Fragment Model of the movies. Leave empty to accept every fragment")
+        String modelPath() default "/conf/aem-cinema-react/settings/dam/cfm/models/filme";
+
+        @AttributeDefinition(name = "Build timeout",
+                             description = "Milliseconds a request waits for the first build of the catalog by another request, before building it itself")
+        long buildTimeout() default 10000;
+    }
+
+    static final String SUBSERVICE = "movie-reader";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MovieCatalogServiceImpl.class);
+
+    private static final String PN_CONTENT_FRAGMENT = "contentFragment";
+    private static final String PN_MODEL = "cq:model";
+    private static final String REP_POLICY = "rep:policy";
+
+    // Static, so versions keep increasing across activations; consumers key their caches by version
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    @Reference
+    private ResourceResolverFactory resourceResolverFactory;
+
+    private final Queue<String> pendingChanges = new ConcurrentLinkedQueue<>();
+
+    // Guarded by this
+    private final TreeMap<String, MovieData> movies = new TreeMap<>();
+
+    private volatile MovieCatalog catalog;
+
+    private volatile SingleFlight<String, MovieCatalog> builds = new SingleFlight<>(10000);
+
+    private String rootPath;
+    private String modelPath;
+
+    @Activate
+    @Modified
+    protected void activate(final Config config) {
+        synchronized (this) {
+            this.rootPath = config.rootPath();
+            this.modelPath = config.modelPath();
+            this.builds = new SingleFlight<>(config.buildTimeout());
+            this.catalog = null;
+            pendingChanges.clear();
+        }
+    }
+
+    @Override
+    public MovieCatalog getCatalog() {
+        MovieCatalog current = catalog;
+        if (current != null && pendingChanges.isEmpty()) {
+            return current;
+        }
+        return builds.load(rootPath, this::build, current);
+    }
+
+    private MovieCatalog build() {
+        synchronized (this) {
+            if (catalog == null) {
+                rebuild();
+            } else if (!pendingChanges.isEmpty()) {
+                applyPendingChanges();
+            }
+            return catalog != null ? catalog : new MovieCatalog(0, 0, Collections.emptyMap());
+        }
+    }
+
+    @Override
+    public void invalidate(String path) {
+        String root = rootPath;
+        if (StringUtils.isEmpty(path) || root == null) {
+            return;
+        }
+        if (path.equals(root) || path.startsWith(root + "/") || root.startsWith(path + "/")) {
+            pendingChanges.add(path);
+        }
+    }
+
+    private void rebuild() {
+        pendingChanges.clear();
+        try (ResourceResolver resolver = getServiceResolver()) {
+            movies.clear();
+            Resource root = resolver.getResource(rootPath);
+            if (root != null) {
+                collect(root);
+            }
+            publish(null);
+            LOGGER.info("Built movie catalog with {} movies from {}", movies.size(), rootPath);
+        } catch (LoginException e) {
+            LOGGER.error("Could not open a service resource resolver for subservice {}", SUBSERVICE, e);
+        }
+    }
+
+    private void applyPendingChanges() {
+        SortedSet<String> scopes = new TreeSet<>();
+        String path;
+        while ((path = pendingChanges.poll()) != null) {
+            scopes.add(getScope(path));
+        }
+
+        try (ResourceResolver resolver = getServiceResolver()) {
+            Set<String> changedPaths = new TreeSet<>();
+            for (String scope : scopes) {
+                if (isCoveredByAncestor(scope, scopes)) {
+                    continue;
+                }
+                // Everything removed or re-read below the scope counts as changed
+                addScopePaths(scope, changedPaths);
+                movies.remove(scope);
+                movies.subMap(scope + "/", scope + "0").clear();
+                Resource resource = resolver.getResource(scope);
+                if (resource != null) {
+                    collect(resource);
+                }
+                addScopePaths(scope, changedPaths);
+            }
+            publish(changedPaths);
+            LOGGER.debug("Applied {} change scopes to the movie catalog", scopes.size());
+        } catch (LoginException e) {
+            LOGGER.error("Could not open a service resource resolver for subservice {}", SUBSERVICE, e);
+        }
+    }
+
+    private void publish(Set<String> changedPaths) {
+        long version = VERSIONS.incrementAndGet();
+        // The changed paths are only meaningful relative to version - 1
+        Set<String> changed = catalog != null && catalog.getVersion() == version - 1 ? changedPaths : null;
+        catalog = new MovieCatalog(version, System.currentTimeMillis(), new TreeMap<>(movies), changed);
+    }
+
+    private void addScopePaths(String scope, Set<String> paths) {
+        if (movies.containsKey(scope)) {
+            paths.add(scope);
+        }
+        paths.addAll(movies.subMap(scope + "/", scope + "0").keySet());
+    }
+
+    // Everything below a fragment's jcr:content belongs to that fragment
+    private static String getScope(String path) {
+        int contentIndex = path.indexOf("/" + JcrConstants.JCR_CONTENT);
+        return contentIndex > 0 ? path.substring(0, contentIndex) : path;
+    }
+
+    private static boolean isCoveredByAncestor(String path, SortedSet<String> paths) {
+        for (String parent = ResourceUtil.getParent(path); parent != null; parent = ResourceUtil.getParent(parent)) {
+            if (paths.contains(parent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void collect(Resource resource) {
+        if (resource.isResourceType(DamConstants.NT_DAM_ASSET)) {
+            if (isMovieFragment(resource)) {
+                MovieData data = MovieData.fromFragment(resource);
+                if (data != null) {
+                    movies.put(resource.getPath(), data);
+                }
+            }
+            return;
+        }
+        for (Resource child : resource.getChildren()) {
+            String name = child.getName();
+            if (!JcrConstants.JCR_CONTENT.equals(name) && !REP_POLICY.equals(name)) {
+                collect(child);
+            }
+        }
+    }
+
+    private boolean isMovieFragment(Resource asset) {
+        Resource content = asset.getChild(JcrConstants.JCR_CONTENT);
+        if (content == null || !content.getValueMap().get(PN_CONTENT_FRAGMENT, false)) {
+            return false;
+        }
+        if (StringUtils.isEmpty(modelPath)) {
+            return true;
+        }
+        Resource data = asset.getChild(MovieData.DATA_PATH);
+        return data != null && modelPath.equals(data.getValueMap().get(PN_MODEL, String.class));
+    }
+
+    private ResourceResolver getServiceResolver() throws LoginException {
+        Map<String, Object> authInfo = Collections.singletonMap(ResourceResolverFactory.SUBSERVICE, SUBSERVICE);
+        return resourceResolverFactory.getServiceResourceResolver(authInfo);
+    }
+}
@@ -0,0 +1,290 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.MovieData;
+import com.aem.cinema.react.core.services.MovieFragmentCache;
+import com.aem.cinema.react.core.utils.LruCache;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ResourceUtil;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.jcr.query.Query;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LRU cache of {@link MovieData}. Every entry remembers which users have already
+ * proven they can read the fragment, so a hit never bypasses repository ACLs.
+ */
+@Designate(ocd = MovieFragmentCacheImpl.Config.class)
+@Component(service = MovieFragmentCache.class)
+public class MovieFragmentCacheImpl implements MovieFragmentCache {
+
+    @ObjectClassDefinition(name = "AEM Cinema - Movie Fragment Cache",
+                           description = "Caches the movie fields read from Content Fragments")
+    public @interface Config {
+
+        @AttributeDefinition(name = "Max entries",
+                             description = "Maximum number of fragments kept in memory")
+        int maxEntries() default 500;
+
+        @AttributeDefinition(name = "Max readers per entry",
+                             description = "Maximum number of user ids remembered as allowed readers of a fragment")
+        int maxReadersPerEntry() default 64;
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MovieFragmentCacheImpl.class);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private final LruCache<String, CacheEntry> entries = new LruCache<>(500);
+
+    private int maxReadersPerEntry = 64;
+
+    @Activate
+    @Modified
+    protected void activate(final Config config) {
+        this.maxReadersPerEntry = config.maxReadersPerEntry();
+        entries.resize(config.maxEntries());
+    }
+
+    @Override
+    public MovieData get(ResourceResolver resolver, String fragmentPath) {
+        if (resolver == null || StringUtils.isEmpty(fragmentPath)) {
+            return null;
+        }
+
+        CacheEntry entry = entries.get(fragmentPath);
+        if (entry != null) {
+            if (!entry.isReadableBy(resolver)) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.data;
+        }
+
+        misses.increment();
+        long loadGeneration = entries.getGeneration();
+        return cache(resolver, fragmentPath, MovieData.fromFragment(resolver.getResource(fragmentPath)), loadGeneration);
+    }
+
+    @Override
+    public Map<String, MovieData> getAll(ResourceResolver resolver, Collection<String> fragmentPaths) {
+        Map<String, MovieData> result = new HashMap<>();
+        if (resolver == null || fragmentPaths == null || fragmentPaths.isEmpty()) {
+            return result;
+        }
+
+        // Sorting puts siblings next to each other, so every folder is resolved once
+        SortedSet<String> toLoad = new TreeSet<>();
+        Set<String> seen = new HashSet<>();
+        for (String fragmentPath : fragmentPaths) {
+            if (StringUtils.isEmpty(fragmentPath) || !seen.add(fragmentPath)) {
+                continue;
+            }
+            CacheEntry entry = entries.get(fragmentPath);
+            if (entry == null) {
+                toLoad.add(fragmentPath);
+            } else if (entry.isReadableBy(resolver)) {
+                hits.increment();
+                result.put(fragmentPath, entry.data);
+            } else {
+                misses.increment();
+            }
+        }
+        if (toLoad.isEmpty()) {
+            return result;
+        }
+
+        int cached = result.size();
+        int loading = toLoad.size();
+        long loadGeneration = entries.getGeneration();
+        loadByQuery(resolver, toLoad, result, loadGeneration);
+        // Fragments keeping their elements on jcr:content, missing ones, or all of them if the query failed
+        if (!toLoad.isEmpty()) {
+            loadSequentially(resolver, toLoad, result, loadGeneration);
+        }
+        LOGGER.debug("Loaded {} movie fragments in one pass, {} answered from cache", loading, cached);
+        return result;
+    }
+
+    // Removes every fragment answered by the query from toLoad
+    private void loadByQuery(ResourceResolver resolver, SortedSet<String> toLoad,
+                             Map<String, MovieData> result, long loadGeneration) {
+        Map<String, Resource> dataResources = findByPath(resolver, toLoad, MovieData.DATA_PATH);
+        if (dataResources == null) {
+            return;
+        }
+        for (Map.Entry<String, Resource> dataResource : dataResources.entrySet()) {
+            String fragmentPath = dataResource.getKey();
+            if (toLoad.remove(fragmentPath)) {
+                misses.increment();
+                result.put(fragmentPath, cache(resolver, fragmentPath,
+                        MovieData.fromData(fragmentPath, dataResource.getValue()), loadGeneration));
+            }
+        }
+    }
+
+    /**
+     * Finds the resource at {@code relPath} below every given fragment with a single
+     * query of the given resolver, so its ACLs apply. The ISSAMENODE conditions are
+     * exact paths, and the ISDESCENDANTNODE condition bounds the traversal to the
+     * folder holding all fragments even if Oak does not split the OR into a union.
+     *
+     * @return the found resources keyed by fragment path, or {@code null} if the query failed
+     */
+    private static Map<String, Resource> findByPath(ResourceResolver resolver, Collection<String> fragmentPaths,
+                                                    String relPath) {
+        String suffix = relPath.isEmpty() ? "" : "/" + relPath;
+        String ancestor = null;
+        StringBuilder conditions = new StringBuilder();
+        for (String fragmentPath : fragmentPaths) {
+            if (!fragmentPath.startsWith("/") || "/".equals(fragmentPath)) {
+                continue;
+            }
+            ancestor = ancestor == null ? ResourceUtil.getParent(fragmentPath) : getCommonAncestor(ancestor, fragmentPath);
+            if (conditions.length() > 0) {
+                conditions.append(" OR ");
+            }
+            conditions.append("ISSAMENODE(n, '").append(escape(fragmentPath + suffix)).append("')");
+        }
+        if (ancestor == null) {
+            return Collections.emptyMap();
+        }
+
+        String statement = "SELECT * FROM [nt:base] AS n WHERE ISDESCENDANTNODE(n, '" + escape(ancestor)
+                + "') AND (" + conditions + ")";
+        Map<String, Resource> found = new HashMap<>();
+        try {
+            Iterator<Resource> resources = resolver.findResources(statement, Query.JCR_SQL2);
+            while (resources.hasNext()) {
+                Resource resource = resources.next();
+                found.put(StringUtils.removeEnd(resource.getPath(), suffix), resource);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not query {} movie fragments, reading them one by one", fragmentPaths.size(), e);
+            return null;
+        }
+        return found;
+    }
+
+    private static String getCommonAncestor(String ancestor, String path) {
+        String common = ancestor;
+        while (!"/".equals(common) && !path.startsWith(common + "/")) {
+            common = ResourceUtil.getParent(common);
+        }
+        return common;
+    }
+
+    private static String escape(String path) {
+        return path.replace("'", "''");
+    }
+
+    private void loadSequentially(ResourceResolver resolver, SortedSet<String> toLoad,
+                                  Map<String, MovieData> result, long loadGeneration) {
+        String parentPath = null;
+        Resource parent = null;
+        for (String fragmentPath : toLoad) {
+            misses.increment();
+            String fragmentParentPath = ResourceUtil.getParent(fragmentPath);
+            if (fragmentParentPath == null) {
+                continue;
+            }
+            if (!fragmentParentPath.equals(parentPath)) {
+                parentPath = fragmentParentPath;
+                parent = resolver.getResource(parentPath);
+            }
+            Resource fragmentResource = parent != null ? parent.getChild(ResourceUtil.getName(fragmentPath)) : null;
+            MovieData data = cache(resolver, fragmentPath, MovieData.fromFragment(fragmentResource), loadGeneration);
+            if (data != null) {
+                result.put(fragmentPath, data);
+            }
+        }
+    }
+
+    private MovieData cache(ResourceResolver resolver, String fragmentPath, MovieData data, long loadGeneration) {
+        if (data != null) {
+            CacheEntry loaded = new CacheEntry(data);
+            loaded.addReader(resolver.getUserID());
+            entries.putIfCurrent(fragmentPath, loaded, loadGeneration);
+        }
+        return data;
+    }
+
+    @Override
+    public void invalidate(String path) {
+        if (StringUtils.isEmpty(path)) {
+            return;
+        }
+        entries.invalidate((key, entry) -> LruCache.isRelated(key, path));
+        LOGGER.debug("Invalidated movie fragments related to {}", path);
+    }
+
+    @Override
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    private final class CacheEntry {
+
+        private final MovieData data;
+        private final Set<String> readers = ConcurrentHashMap.newKeySet();
+
+        private CacheEntry(MovieData data) {
+            this.data = data;
+        }
+
+        private boolean isReadableBy(ResourceResolver resolver) {
+            String userId = resolver.getUserID();
+            if (userId != null && readers.contains(userId)) {
+                return true;
+            }
+            if (resolver.getResource(data.getFragmentPath()) == null) {
+                return false;
+            }
+            addReader(userId);
+            return true;
+        }
+
+        private void addReader(String userId) {
+            if (userId != null && readers.size() < maxReadersPerEntry) {
+                readers.add(userId);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.adobe.granite.jmx.annotation.Description;
+
+@Description("AEM Cinema - Movie Fragment Cache")
+public interface MovieFragmentCacheMBean {
+
+    @Description("Number of lookups answered from the cache")
+    long getHitCount();
+
+    @Description("Number of lookups that had to read the repository")
+    long getMissCount();
+
+    @Description("Number of fragments currently cached")
+    int getSize();
+
+    @Description("Evicts every cached fragment")
+    void invalidateAll();
+}
@@ -0,0 +1,46 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.adobe.granite.jmx.annotation.AnnotatedStandardMBean;
+import com.aem.cinema.react.core.services.MovieFragmentCache;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+import javax.management.DynamicMBean;
+import javax.management.NotCompliantMBeanException;
+
+/**
+ * Exposes the {@link MovieFragmentCache} counters in the JMX console.
+ */
+@Component(service = DynamicMBean.class,
+           property = {
+                   "jmx.objectname=com.aem.cinema.react:type=MovieFragmentCache"
+           })
+public class MovieFragmentCacheMBeanImpl extends AnnotatedStandardMBean implements MovieFragmentCacheMBean {
+
+    @Reference
+    private MovieFragmentCache movieFragmentCache;
+
+    public MovieFragmentCacheMBeanImpl() throws NotCompliantMBeanException {
+        super(MovieFragmentCacheMBean.class);
+    }
+
+    @Override
+    public long getHitCount() {
+        return movieFragmentCache.getHitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return movieFragmentCache.getMissCount();
+    }
+
+    @Override
+    public int getSize() {
+        return movieFragmentCache.size();
+    }
+
+    @Override
+    public void invalidateAll() {
+        movieFragmentCache.invalidateAll();
+    }
+}
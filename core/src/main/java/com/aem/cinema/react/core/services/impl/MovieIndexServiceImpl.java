@@ -0,0 +1,160 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.MovieCatalog;
+import com.aem.cinema.react.core.services.MovieData;
+import com.aem.cinema.react.core.services.MovieIndexService;
+import com.aem.cinema.react.core.utils.CatalogFollower;
+import com.aem.cinema.react.core.utils.SlugUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.osgi.service.component.annotations.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps one bitset of movie ordinals per gender slug and per age group. Every
+ * fragment gets an ordinal the first time it is indexed and keeps it while it
+ * exists, so a changed fragment only flips its own bits. The bitsets follow the
+ * catalog through a {@link CatalogFollower}, so lookups never wait for each other.
+ */
+@Component(service = MovieIndexService.class)
+public class MovieIndexServiceImpl implements MovieIndexService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MovieIndexServiceImpl.class);
+
+    // Age ratings in ascending order, "L" being suitable for everyone
+    private static final List<String> AGE_GROUPS = List.of("L", "10", "12", "14", "16", "18");
+
+    private final CatalogFollower<Index> follower = new CatalogFollower<>(new Index(), MovieIndexServiceImpl::index);
+
+    @Override
+    public List<MovieData> find(MovieCatalog catalog, String gender, String maxAgeGroup) {
+        Index index = follower.get(catalog);
+
+        BitSet result = (BitSet) index.live.clone();
+        if (gender != null) {
+            BitSet genderMovies = index.byGender.get(SlugUtils.toSlug(gender));
+            if (genderMovies == null) {
+                return null;
+            }
+            result.and(genderMovies);
+        }
+        if (maxAgeGroup != null) {
+            int maxRank = AGE_GROUPS.indexOf(normalizeAgeGroup(maxAgeGroup));
+            if (maxRank < 0) {
+                return null;
+            }
+            BitSet ageMovies = new BitSet();
+            for (String ageGroup : AGE_GROUPS.subList(0, maxRank + 1)) {
+                BitSet ageGroupMovies = index.byAgeGroup.get(ageGroup);
+                if (ageGroupMovies != null) {
+                    ageMovies.or(ageGroupMovies);
+                }
+            }
+            result.and(ageMovies);
+        }
+
+        List<MovieData> matches = new ArrayList<>(result.cardinality());
+        for (int ordinal = result.nextSetBit(0); ordinal >= 0; ordinal = result.nextSetBit(ordinal + 1)) {
+            matches.add(index.movies.get(ordinal));
+        }
+        matches.sort(Comparator.comparing(MovieData::getFragmentPath));
+        return matches;
+    }
+
+    private static Index index(Index index, MovieCatalog previous, MovieCatalog catalog, Set<String> changedPaths) {
+        Index next = new Index(index);
+        for (String path : changedPaths) {
+            next.update(path, catalog.getMovie(path));
+        }
+        LOGGER.debug("Re-indexed {} movies for catalog version {}", changedPaths.size(), catalog.getVersion());
+        return next;
+    }
+
+    private static String normalizeAgeGroup(String ageGroup) {
+        return ageGroup != null ? ageGroup.trim().toUpperCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * The bitsets of one catalog version. A published index is never changed; the
+     * next version is built on a copy.
+     */
+    private static final class Index {
+
+        private final Map<String, Integer> ordinals;
+        private final List<MovieData> movies;
+        private final Deque<Integer> freeOrdinals;
+        private final BitSet live;
+        private final Postings byGender;
+        private final Postings byAgeGroup;
+
+        private Index() {
+            this.ordinals = new HashMap<>();
+            this.movies = new ArrayList<>();
+            this.freeOrdinals = new ArrayDeque<>();
+            this.live = new BitSet();
+            this.byGender = new Postings();
+            this.byAgeGroup = new Postings();
+        }
+
+        private Index(Index source) {
+            this.ordinals = new HashMap<>(source.ordinals);
+            this.movies = new ArrayList<>(source.movies);
+            this.freeOrdinals = new ArrayDeque<>(source.freeOrdinals);
+            this.live = (BitSet) source.live.clone();
+            this.byGender = new Postings(source.byGender);
+            this.byAgeGroup = new Postings(source.byAgeGroup);
+        }
+
+        private void update(String path, MovieData movie) {
+            Integer ordinal = ordinals.get(path);
+            if (ordinal != null) {
+                MovieData previous = movies.get(ordinal);
+                clear(byGender, SlugUtils.toSlug(previous.getGender()), ordinal);
+                clear(byAgeGroup, normalizeAgeGroup(previous.getAgeGroup()), ordinal);
+                if (movie == null) {
+                    ordinals.remove(path);
+                    movies.set(ordinal, null);
+                    live.clear(ordinal);
+                    freeOrdinals.push(ordinal);
+                    return;
+                }
+            } else if (movie == null) {
+                return;
+            } else if (!freeOrdinals.isEmpty()) {
+                ordinal = freeOrdinals.pop();
+                ordinals.put(path, ordinal);
+            } else {
+                ordinal = movies.size();
+                movies.add(null);
+                ordinals.put(path, ordinal);
+            }
+            movies.set(ordinal, movie);
+            live.set(ordinal);
+            set(byGender, SlugUtils.toSlug(movie.getGender()), ordinal);
+            set(byAgeGroup, normalizeAgeGroup(movie.getAgeGroup()), ordinal);
+        }
+
+        private static void set(Postings index, String key, int ordinal) {
+            if (StringUtils.isNotEmpty(key)) {
+                index.set(key, ordinal);
+            }
+        }
+
+        private static void clear(Postings index, String key, int ordinal) {
+            if (StringUtils.isNotEmpty(key)) {
+                index.clear(key, ordinal);
+            }
+        }
+    }
+}
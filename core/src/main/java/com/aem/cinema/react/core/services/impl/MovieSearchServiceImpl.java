@@ -0,0 +1,261 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.MovieCatalog;
+import com.aem.cinema.react.core.services.MovieData;
+import com.aem.cinema.react.core.services.MovieSearchService;
+import com.aem.cinema.react.core.utils.CatalogFollower;
+import com.aem.cinema.react.core.utils.SlugUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.osgi.service.component.annotations.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Keeps one bitset of movie ordinals per title word and per word trigram.
+ * Words sit in a sorted map, so a prefix is a sub-map; trigrams match
+ * misspelled words. Ordinals are reused like in {@link MovieIndexServiceImpl},
+ * so a changed fragment only flips its own bits, and the bitsets follow the
+ * catalog through the same {@link CatalogFollower}. A query only visits the
+ * movies matching one of its words.
+ */
+@Component(service = MovieSearchService.class)
+public class MovieSearchServiceImpl implements MovieSearchService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MovieSearchServiceImpl.class);
+
+    private static final double EXACT_SCORE = 3;
+    private static final double PREFIX_SCORE = 2;
+    private static final double TITLE_PREFIX_BONUS = 1;
+    // Share of the query word trigrams a title word needs to count as a misspelling
+    private static final double MIN_SIMILARITY = 0.4;
+
+    private final CatalogFollower<Index> follower = new CatalogFollower<>(new Index(), MovieSearchServiceImpl::index);
+
+    @Override
+    public List<MovieData> search(MovieCatalog catalog, String query, int limit) {
+        String[] words = getWords(query);
+        if (words.length == 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Index index = follower.get(catalog);
+
+        Scores scores = new Scores(index.movies.size());
+        for (String word : words) {
+            index.scoreWord(word, scores);
+        }
+
+        String foldedQuery = String.join(" ", words);
+        BitSet candidates = scores.candidates;
+        PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1, (a, b) -> index.compare(scores.total, b, a));
+        for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+            if (index.foldedTitles.get(ordinal).startsWith(foldedQuery)) {
+                scores.total[ordinal] += TITLE_PREFIX_BONUS;
+            }
+            best.add(ordinal);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<MovieData> results = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            results.add(index.movies.get(best.poll()));
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    private static Index index(Index index, MovieCatalog previous, MovieCatalog catalog, Set<String> changedPaths) {
+        Index next = new Index(index);
+        for (String path : changedPaths) {
+            next.update(path, catalog.getMovie(path));
+        }
+        LOGGER.debug("Re-indexed {} titles for catalog version {}", changedPaths.size(), catalog.getVersion());
+        return next;
+    }
+
+    private static void raise(double[] scores, BitSet matched, BitSet postings, double score) {
+        for (int ordinal = postings.nextSetBit(0); ordinal >= 0; ordinal = postings.nextSetBit(ordinal + 1)) {
+            scores[ordinal] = Math.max(scores[ordinal], score);
+        }
+        matched.or(postings);
+    }
+
+    /**
+     * @return the accent-folded, lower-case words of the text, as in its slug
+     */
+    static String[] getWords(String text) {
+        return StringUtils.split(SlugUtils.toSlug(text), '-');
+    }
+
+    /**
+     * @return the trigrams of the word padded with a space on both sides, so
+     *         short words and word boundaries still produce trigrams
+     */
+    static Set<String> getTrigrams(String word) {
+        String padded = " " + word + " ";
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * The scratch space of one query, allocated once and reused by every query word.
+     */
+    private static final class Scores {
+
+        private final double[] total;
+        // The score of the current word and its shared trigram counts, reset after each word
+        private final double[] word;
+        private final int[] shared;
+        private final BitSet matched = new BitSet();
+        private final BitSet candidates = new BitSet();
+
+        private Scores(int size) {
+            this.total = new double[size];
+            this.word = new double[size];
+            this.shared = new int[size];
+        }
+    }
+
+    /**
+     * The bitsets of one catalog version. A published index is never changed; the
+     * next version is built on a copy.
+     */
+    private static final class Index {
+
+        private final Map<String, Integer> ordinals;
+        private final List<MovieData> movies;
+        private final List<String> foldedTitles;
+        private final Deque<Integer> freeOrdinals;
+        private final Postings byWord;
+        private final Postings byTrigram;
+
+        private Index() {
+            this.ordinals = new HashMap<>();
+            this.movies = new ArrayList<>();
+            this.foldedTitles = new ArrayList<>();
+            this.freeOrdinals = new ArrayDeque<>();
+            this.byWord = new Postings();
+            this.byTrigram = new Postings();
+        }
+
+        private Index(Index source) {
+            this.ordinals = new HashMap<>(source.ordinals);
+            this.movies = new ArrayList<>(source.movies);
+            this.foldedTitles = new ArrayList<>(source.foldedTitles);
+            this.freeOrdinals = new ArrayDeque<>(source.freeOrdinals);
+            this.byWord = new Postings(source.byWord);
+            this.byTrigram = new Postings(source.byTrigram);
+        }
+
+        // Per query word, every movie counts its best kind of match: exact, prefix or similar spelling
+        private void scoreWord(String word, Scores scores) {
+            double[] wordScores = scores.word;
+            int[] shared = scores.shared;
+            BitSet matched = scores.matched;
+            matched.clear();
+
+            Set<String> trigrams = getTrigrams(word);
+            for (String trigram : trigrams) {
+                BitSet postings = byTrigram.get(trigram);
+                if (postings != null) {
+                    for (int ordinal = postings.nextSetBit(0); ordinal >= 0; ordinal = postings.nextSetBit(ordinal + 1)) {
+                        shared[ordinal]++;
+                    }
+                    matched.or(postings);
+                }
+            }
+            for (int ordinal = matched.nextSetBit(0); ordinal >= 0; ordinal = matched.nextSetBit(ordinal + 1)) {
+                double similarity = (double) shared[ordinal] / trigrams.size();
+                shared[ordinal] = 0;
+                if (similarity >= MIN_SIMILARITY) {
+                    wordScores[ordinal] = similarity;
+                }
+            }
+            for (BitSet postings : byWord.getWithPrefix(word)) {
+                raise(wordScores, matched, postings, PREFIX_SCORE);
+            }
+            BitSet exact = byWord.get(word);
+            if (exact != null) {
+                raise(wordScores, matched, exact, EXACT_SCORE);
+            }
+
+            for (int ordinal = matched.nextSetBit(0); ordinal >= 0; ordinal = matched.nextSetBit(ordinal + 1)) {
+                if (wordScores[ordinal] > 0) {
+                    scores.total[ordinal] += wordScores[ordinal];
+                    scores.candidates.set(ordinal);
+                    wordScores[ordinal] = 0;
+                }
+            }
+        }
+
+        // Higher score first, then shorter and alphabetically smaller titles
+        private int compare(double[] scores, int a, int b) {
+            int result = Double.compare(scores[b], scores[a]);
+            if (result == 0) {
+                result = Integer.compare(foldedTitles.get(a).length(), foldedTitles.get(b).length());
+            }
+            return result != 0 ? result : foldedTitles.get(a).compareTo(foldedTitles.get(b));
+        }
+
+        private void update(String path, MovieData movie) {
+            Integer ordinal = ordinals.get(path);
+            if (ordinal != null) {
+                index(foldedTitles.get(ordinal), ordinal, false);
+                if (movie == null) {
+                    ordinals.remove(path);
+                    movies.set(ordinal, null);
+                    foldedTitles.set(ordinal, "");
+                    freeOrdinals.push(ordinal);
+                    return;
+                }
+            } else if (movie == null) {
+                return;
+            } else if (!freeOrdinals.isEmpty()) {
+                ordinal = freeOrdinals.pop();
+                ordinals.put(path, ordinal);
+            } else {
+                ordinal = movies.size();
+                movies.add(null);
+                foldedTitles.add("");
+                ordinals.put(path, ordinal);
+            }
+            String foldedTitle = String.join(" ", getWords(movie.getTitle()));
+            movies.set(ordinal, movie);
+            foldedTitles.set(ordinal, foldedTitle);
+            index(foldedTitle, ordinal, true);
+        }
+
+        private void index(String foldedTitle, int ordinal, boolean add) {
+            for (String word : StringUtils.split(foldedTitle, ' ')) {
+                flip(byWord, word, ordinal, add);
+                for (String trigram : getTrigrams(word)) {
+                    flip(byTrigram, trigram, ordinal, add);
+                }
+            }
+        }
+
+        private static void flip(Postings index, String key, int ordinal, boolean add) {
+            if (add) {
+                index.set(key, ordinal);
+            } else {
+                index.clear(key, ordinal);
+            }
+        }
+    }
+}
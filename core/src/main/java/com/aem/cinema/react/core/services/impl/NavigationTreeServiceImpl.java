@@ -0,0 +1,205 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.NavigationItem;
+import com.aem.cinema.react.core.services.NavigationTreeService;
+import com.aem.cinema.react.core.utils.LruCache;
+import com.day.cq.commons.jcr.JcrConstants;
+import com.day.cq.wcm.api.NameConstants;
+import com.day.cq.wcm.api.Page;
+import com.day.cq.wcm.api.PageManager;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ValueMap;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Caches the navigable children of every navigation root, per user. The on/off
+ * times are kept as epoch millis, so the visible list is only re-evaluated in
+ * memory once the next on/off boundary has passed.
+ */
+@Designate(ocd = NavigationTreeServiceImpl.Config.class)
+@Component(service = NavigationTreeService.class)
+public class NavigationTreeServiceImpl implements NavigationTreeService {
+
+    @ObjectClassDefinition(name = "AEM Cinema - Navigation Tree Service",
+                           description = "Caches the pages shown by the custom navbar")
+    public @interface Config {
+
+        @AttributeDefinition(name = "Max trees",
+                             description = "Maximum number of (navigation root, user) trees kept in memory")
+        int maxTrees() default 100;
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NavigationTreeServiceImpl.class);
+
+    private final LruCache<String, NavigationTree> trees = new LruCache<>(100);
+
+    LongSupplier clock = System::currentTimeMillis;
+
+    @Activate
+    @Modified
+    protected void activate(final Config config) {
+        trees.resize(config.maxTrees());
+    }
+
+    @Override
+    public List<NavigationItem> getVisibleChildren(ResourceResolver resolver, String rootPath) {
+        if (resolver == null || StringUtils.isEmpty(rootPath)) {
+            return Collections.emptyList();
+        }
+
+        String key = resolver.getUserID() + ":" + rootPath;
+        NavigationTree tree = trees.get(key);
+        if (tree == null) {
+            long buildGeneration = trees.getGeneration();
+            tree = build(resolver, rootPath);
+            if (tree == null) {
+                return Collections.emptyList();
+            }
+            trees.putIfCurrent(key, tree, buildGeneration);
+        }
+        return tree.getVisible(clock.getAsLong());
+    }
+
+    @Override
+    public void invalidate(String path) {
+        if (StringUtils.isEmpty(path)) {
+            return;
+        }
+        trees.invalidate((key, tree) -> isAffectedBy(tree.rootPath, path));
+        LOGGER.debug("Invalidated navigation trees affected by {}", path);
+    }
+
+    // Only the root itself, its direct children and their jcr:content nodes matter for the navbar
+    static boolean isAffectedBy(String rootPath, String changedPath) {
+        if (rootPath.equals(changedPath) || rootPath.startsWith(changedPath + "/")) {
+            return true;
+        }
+        if (!changedPath.startsWith(rootPath + "/")) {
+            return false;
+        }
+        String relativePath = changedPath.substring(rootPath.length() + 1);
+        int slash = relativePath.indexOf('/');
+        return slash < 0 || relativePath.startsWith(JcrConstants.JCR_CONTENT, slash + 1);
+    }
+
+    private NavigationTree build(ResourceResolver resolver, String rootPath) {
+        PageManager pageManager = resolver.adaptTo(PageManager.class);
+        Page rootPage = pageManager != null ? pageManager.getPage(rootPath) : null;
+        if (rootPage == null) {
+            return null;
+        }
+
+        List<Candidate> candidates = new ArrayList<>();
+        Iterator<Page> children = rootPage.listChildren();
+        while (children.hasNext()) {
+            Page page = children.next();
+            if (page == null || page.getContentResource() == null) {
+                continue; // Page doesn't exist or has no content
+            }
+            ValueMap properties = page.getProperties();
+            if (properties.get(NameConstants.PN_HIDE_IN_NAV, false)) {
+                continue;
+            }
+            Calendar onTime = properties.get(NameConstants.PN_ON_TIME, Calendar.class);
+            Calendar offTime = properties.get(NameConstants.PN_OFF_TIME, Calendar.class);
+            candidates.add(new Candidate(
+                    new NavigationItem(page.getPath(), page.getName(), page.getTitle(), page.getNavigationTitle()),
+                    onTime != null ? onTime.getTimeInMillis() : Long.MIN_VALUE,
+                    offTime != null ? offTime.getTimeInMillis() : Long.MAX_VALUE));
+        }
+        LOGGER.debug("Built navigation tree for {} with {} candidate pages", rootPath, candidates.size());
+        return new NavigationTree(rootPath, candidates);
+    }
+
+    private static final class Candidate {
+
+        private final NavigationItem item;
+        private final long onTime;
+        private final long offTime;
+
+        private Candidate(NavigationItem item, long onTime, long offTime) {
+            this.item = item;
+            this.onTime = onTime;
+            this.offTime = offTime;
+        }
+
+        private boolean isLiveAt(long now) {
+            return now >= onTime && now <= offTime;
+        }
+    }
+
+    private static final class NavigationTree {
+
+        private final String rootPath;
+        private final List<Candidate> candidates;
+
+        // Visible items and the time until which they stay valid, replaced together
+        private volatile Snapshot snapshot;
+
+        private NavigationTree(String rootPath, List<Candidate> candidates) {
+            this.rootPath = rootPath;
+            this.candidates = candidates;
+        }
+
+        private List<NavigationItem> getVisible(long now) {
+            Snapshot current = snapshot;
+            if (current == null || now < current.validFrom || now >= current.validUntil) {
+                current = evaluate(now);
+                snapshot = current;
+            }
+            return current.visible;
+        }
+
+        private Snapshot evaluate(long now) {
+            List<NavigationItem> visible = new ArrayList<>(candidates.size());
+            long validFrom = Long.MIN_VALUE;
+            long validUntil = Long.MAX_VALUE;
+            for (Candidate candidate : candidates) {
+                if (candidate.isLiveAt(now)) {
+                    visible.add(candidate.item);
+                }
+                // The offTime is inclusive, so the page only disappears one milli later
+                long off = candidate.offTime == Long.MAX_VALUE ? Long.MAX_VALUE : candidate.offTime + 1;
+                if (candidate.onTime > now) {
+                    validUntil = Math.min(validUntil, candidate.onTime);
+                } else {
+                    validFrom = Math.max(validFrom, candidate.onTime);
+                }
+                if (off > now) {
+                    validUntil = Math.min(validUntil, off);
+                } else {
+                    validFrom = Math.max(validFrom, off);
+                }
+            }
+            return new Snapshot(Collections.unmodifiableList(visible), validFrom, validUntil);
+        }
+    }
+
+    private static final class Snapshot {
+
+        private final List<NavigationItem> visible;
+        private final long validFrom;
+        private final long validUntil;
+
+        private Snapshot(List<NavigationItem> visible, long validFrom, long validUntil) {
+            this.visible = visible;
+            this.validFrom = validFrom;
+            this.validUntil = validUntil;
+        }
+    }
+}
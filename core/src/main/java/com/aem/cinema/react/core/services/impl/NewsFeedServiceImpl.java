@@ -0,0 +1,232 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.MovieData;
+import com.aem.cinema.react.core.services.NewsFeedService;
+import com.aem.cinema.react.core.services.NewsSummary;
+import com.aem.cinema.react.core.utils.SingleFlight;
+import com.day.cq.commons.jcr.JcrConstants;
+import com.day.cq.dam.api.DamConstants;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.LoginException;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ResourceResolverFactory;
+import org.apache.sling.api.resource.ResourceUtil;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Walks the configured DAM folder once for news fragments and then only re-reads
+ * the fragments touched by a change. The summaries are published as an array in
+ * feed order, so a page is found with one binary search on the cursor position.
+ */
+@Designate(ocd = NewsFeedServiceImpl.Config.class)
+@Component(service = NewsFeedService.class)
+public class NewsFeedServiceImpl implements NewsFeedService {
+
+    @ObjectClassDefinition(name = "AEM Cinema - News Feed",
+                           description = "Keeps the list fields of every news Content Fragment in memory")
+    public @interface Config {
+
+        @AttributeDefinition(name = "Root path",
+                             description = "DAM folder containing the news fragments")
+        String rootPath() default "/content/dam/aem-spa-sccp/contentfragments/news";
+
+        @AttributeDefinition(name = "Model path",
+                             description = "Content Fragment Model of the news")
+        String modelPath() default "/conf/aem-cinema-react/settings/dam/cfm/models/not_cia";
+
+        @AttributeDefinition(name = "Build timeout",
+                             description = "Milliseconds a request waits for the first build of the feed by another request, before building it itself")
+        long buildTimeout() default 10000;
+    }
+
+    static final String SUBSERVICE = "news-reader";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NewsFeedServiceImpl.class);
+
+    private static final String PN_CONTENT_FRAGMENT = "contentFragment";
+    private static final String PN_MODEL = "cq:model";
+    private static final String REP_POLICY = "rep:policy";
+
+    @Reference
+    private ResourceResolverFactory resourceResolverFactory;
+
+    private final Queue<String> pendingChanges = new ConcurrentLinkedQueue<>();
+
+    // Guarded by this
+    private final TreeMap<String, NewsSummary> news = new TreeMap<>();
+
+    private volatile NewsSummary[] feed;
+
+    private volatile SingleFlight<String, NewsSummary[]> builds = new SingleFlight<>(10000);
+
+    private String rootPath;
+    private String modelPath;
+
+    @Activate
+    @Modified
+    protected void activate(final Config config) {
+        synchronized (this) {
+            this.rootPath = config.rootPath();
+            this.modelPath = config.modelPath();
+            this.builds = new SingleFlight<>(config.buildTimeout());
+            this.feed = null;
+            pendingChanges.clear();
+        }
+    }
+
+    @Override
+    public List<NewsSummary> getPage(String cursor, int limit) {
+        int start = 0;
+        NewsSummary[] current = getFeed();
+        if (StringUtils.isNotEmpty(cursor)) {
+            // The insertion point of the cursor position is the first summary after it
+            int index = Arrays.binarySearch(current, NewsSummary.fromCursor(cursor), NewsSummary.FEED_ORDER);
+            start = index >= 0 ? index + 1 : -index - 1;
+        }
+        int end = (int) Math.min((long) start + Math.max(limit, 0), current.length);
+        return Collections.unmodifiableList(Arrays.asList(current).subList(start, Math.max(start, end)));
+    }
+
+    @Override
+    public void invalidate(String path) {
+        String root = rootPath;
+        if (StringUtils.isEmpty(path) || root == null) {
+            return;
+        }
+        if (path.equals(root) || path.startsWith(root + "/") || root.startsWith(path + "/")) {
+            pendingChanges.add(path);
+        }
+    }
+
+    private NewsSummary[] getFeed() {
+        NewsSummary[] current = feed;
+        if (current != null && pendingChanges.isEmpty()) {
+            return current;
+        }
+        return builds.load(rootPath, this::build, current);
+    }
+
+    private NewsSummary[] build() {
+        synchronized (this) {
+            if (feed == null) {
+                rebuild();
+            } else if (!pendingChanges.isEmpty()) {
+                applyPendingChanges();
+            }
+            return feed != null ? feed : new NewsSummary[0];
+        }
+    }
+
+    private void rebuild() {
+        pendingChanges.clear();
+        try (ResourceResolver resolver = getServiceResolver()) {
+            news.clear();
+            Resource root = resolver.getResource(rootPath);
+            if (root != null) {
+                collect(root);
+            }
+            publish();
+            LOGGER.info("Built news feed with {} news from {}", news.size(), rootPath);
+        } catch (LoginException e) {
+            LOGGER.error("Could not open a service resource resolver for subservice {}", SUBSERVICE, e);
+        }
+    }
+
+    private void applyPendingChanges() {
+        SortedSet<String> scopes = new TreeSet<>();
+        String path;
+        while ((path = pendingChanges.poll()) != null) {
+            scopes.add(getScope(path));
+        }
+
+        try (ResourceResolver resolver = getServiceResolver()) {
+            for (String scope : scopes) {
+                if (isCoveredByAncestor(scope, scopes)) {
+                    continue;
+                }
+                news.remove(scope);
+                news.subMap(scope + "/", scope + "0").clear();
+                Resource resource = resolver.getResource(scope);
+                if (resource != null) {
+                    collect(resource);
+                }
+            }
+            publish();
+            LOGGER.debug("Applied {} change scopes to the news feed", scopes.size());
+        } catch (LoginException e) {
+            LOGGER.error("Could not open a service resource resolver for subservice {}", SUBSERVICE, e);
+        }
+    }
+
+    private void publish() {
+        NewsSummary[] sorted = news.values().toArray(new NewsSummary[0]);
+        Arrays.sort(sorted, NewsSummary.FEED_ORDER);
+        feed = sorted;
+    }
+
+    // Everything below a fragment's jcr:content belongs to that fragment
+    private static String getScope(String path) {
+        int contentIndex = path.indexOf("/" + JcrConstants.JCR_CONTENT);
+        return contentIndex > 0 ? path.substring(0, contentIndex) : path;
+    }
+
+    private static boolean isCoveredByAncestor(String path, SortedSet<String> paths) {
+        for (String parent = ResourceUtil.getParent(path); parent != null; parent = ResourceUtil.getParent(parent)) {
+            if (paths.contains(parent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void collect(Resource resource) {
+        if (resource.isResourceType(DamConstants.NT_DAM_ASSET)) {
+            if (isNewsFragment(resource)) {
+                NewsSummary summary = NewsSummary.fromFragment(resource);
+                if (summary != null) {
+                    news.put(resource.getPath(), summary);
+                }
+            }
+            return;
+        }
+        for (Resource child : resource.getChildren()) {
+            String name = child.getName();
+            if (!JcrConstants.JCR_CONTENT.equals(name) && !REP_POLICY.equals(name)) {
+                collect(child);
+            }
+        }
+    }
+
+    private boolean isNewsFragment(Resource asset) {
+        Resource content = asset.getChild(JcrConstants.JCR_CONTENT);
+        if (content == null || !content.getValueMap().get(PN_CONTENT_FRAGMENT, false)) {
+            return false;
+        }
+        Resource data = asset.getChild(MovieData.DATA_PATH);
+        return data != null && modelPath.equals(data.getValueMap().get(PN_MODEL, String.class));
+    }
+
+    private ResourceResolver getServiceResolver() throws LoginException {
+        Map<String, Object> authInfo = Collections.singletonMap(ResourceResolverFactory.SUBSERVICE, SUBSERVICE);
+        return resourceResolverFactory.getServiceResourceResolver(authInfo);
+    }
+}
@@ -0,0 +1,329 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.PersistedQueryResponse;
+import com.aem.cinema.react.core.services.PersistedQueryService;
+import com.aem.cinema.react.core.utils.LruCache;
+import com.day.cq.contentsync.handler.util.RequestResponseFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.engine.SlingRequestProcessor;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Loads the queries from {@code /graphql/<name>.graphql} in the bundle and runs
+ * them as internal POST requests through the Sling request processor, so the
+ * regular GraphQL servlet and its permissions apply. Each query file starts
+ * with {@code # model:} and {@code # root:} lines naming the Content Fragment
+ * Model and the DAM folders it reads; a change below either evicts every cached
+ * response of the query. Responses live in an LRU map keyed by user, query and
+ * variables, normalized so the order of the variables does not matter.
+ */
+@Designate(ocd = PersistedQueryServiceImpl.Config.class)
+@Component(service = PersistedQueryService.class)
+public class PersistedQueryServiceImpl implements PersistedQueryService {
+
+    @ObjectClassDefinition(name = "AEM Cinema - Persisted Queries",
+                           description = "Runs and caches the GraphQL queries of the React app")
+    public @interface Config {
+
+        @AttributeDefinition(name = "Endpoint",
+                             description = "GraphQL endpoint the queries are sent to")
+        String endpoint() default "/content/cq:graphql/aem-cinema-react/endpoint.json";
+
+        @AttributeDefinition(name = "Queries",
+                             description = "Names of the queries, each loaded from /graphql/<name>.graphql in the bundle")
+        String[] queries() default { "filme-by-path", "filme-by-path-full", "filme-list", "noticia-by-path", "noticia-list" };
+
+        @AttributeDefinition(name = "Max entries",
+                             description = "Maximum number of (query, variables, user) responses kept in memory")
+        int maxEntries() default 500;
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersistedQueryServiceImpl.class);
+
+    private static final String MODEL_PREFIX = "# model:";
+    private static final String ROOT_PREFIX = "# root:";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    @Reference
+    private SlingRequestProcessor slingRequestProcessor;
+
+    @Reference
+    private RequestResponseFactory requestResponseFactory;
+
+    private final LruCache<String, CacheEntry> entries = new LruCache<>(500);
+
+    private Map<String, PersistedQuery> queries = Collections.emptyMap();
+
+    private String endpoint;
+
+    @Activate
+    @Modified
+    protected void activate(final Config config) {
+        Map<String, PersistedQuery> loaded = new LinkedHashMap<>();
+        for (String name : config.queries()) {
+            PersistedQuery query = load(name);
+            if (query != null) {
+                loaded.put(name, query);
+            }
+        }
+        this.queries = Collections.unmodifiableMap(loaded);
+        this.endpoint = config.endpoint();
+        entries.resize(config.maxEntries());
+    }
+
+    @Override
+    public Set<String> getQueryNames() {
+        return queries.keySet();
+    }
+
+    @Override
+    public PersistedQueryResponse execute(ResourceResolver resolver, String name, String variables) throws IOException {
+        PersistedQuery query = queries.get(name);
+        if (query == null) {
+            return null;
+        }
+        Map<String, Object> parsedVariables = parseVariables(variables);
+        String key = resolver.getUserID() + "|" + name + "|" + MAPPER.writeValueAsString(parsedVariables);
+        CacheEntry entry = entries.get(key);
+        if (entry != null) {
+            return entry.response;
+        }
+
+        long executeGeneration = entries.getGeneration();
+        PersistedQueryResponse response = run(resolver, query, parsedVariables);
+        if (isCacheable(response)) {
+            entries.putIfCurrent(key, new CacheEntry(name, response), executeGeneration);
+        }
+        return response;
+    }
+
+    @Override
+    public void invalidate(String path) {
+        if (StringUtils.isEmpty(path)) {
+            return;
+        }
+        List<String> affected = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            if (query.reads(path)) {
+                affected.add(name);
+            }
+        });
+        if (affected.isEmpty()) {
+            return;
+        }
+        entries.invalidate((key, entry) -> affected.contains(entry.queryName));
+        LOGGER.debug("Invalidated the responses of {} after a change at {}", affected, path);
+    }
+
+    private PersistedQueryResponse run(ResourceResolver resolver, PersistedQuery query, Map<String, Object> variables)
+            throws IOException {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("query", query.text);
+        payload.put("variables", variables);
+        byte[] requestBody = MAPPER.writeValueAsBytes(payload);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HttpServletRequest request = new JsonPostRequest(requestResponseFactory.createRequest("POST", endpoint), requestBody);
+        HttpServletResponse response = requestResponseFactory.createResponse(out);
+        try {
+            slingRequestProcessor.processRequest(request, response, resolver);
+            response.flushBuffer();
+        } catch (ServletException e) {
+            throw new IOException("Could not run persisted query " + query.name, e);
+        }
+        byte[] body = out.toByteArray();
+        return new PersistedQueryResponse(response.getStatus(), body, "\"" + DigestUtils.md5Hex(body) + "\"");
+    }
+
+    // Responses carrying GraphQL errors may be caused by a transient state, so they are not kept
+    private static boolean isCacheable(PersistedQueryResponse response) {
+        if (response.getStatus() != HttpServletResponse.SC_OK) {
+            return false;
+        }
+        try {
+            JsonNode json = MAPPER.readTree(response.getBody());
+            return json != null && !json.has("errors");
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> parseVariables(String variables) {
+        if (StringUtils.isBlank(variables)) {
+            return Collections.emptyMap();
+        }
+        try {
+            return MAPPER.readValue(variables, TreeMap.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Query variables must be a JSON object", e);
+        }
+    }
+
+    private PersistedQuery load(String name) {
+        try (InputStream in = getClass().getResourceAsStream("/graphql/" + name + ".graphql")) {
+            if (in == null) {
+                LOGGER.error("Persisted query {} not found in the bundle", name);
+                return null;
+            }
+            String text = IOUtils.toString(in, StandardCharsets.UTF_8);
+            String model = null;
+            List<String> roots = new ArrayList<>();
+            for (String line : StringUtils.split(text, '\n')) {
+                if (line.startsWith(MODEL_PREFIX)) {
+                    model = line.substring(MODEL_PREFIX.length()).trim();
+                } else if (line.startsWith(ROOT_PREFIX)) {
+                    roots.add(line.substring(ROOT_PREFIX.length()).trim());
+                }
+            }
+            return new PersistedQuery(name, text, model, roots);
+        } catch (IOException e) {
+            LOGGER.error("Could not read persisted query {}", name, e);
+            return null;
+        }
+    }
+
+    private static final class PersistedQuery {
+
+        private final String name;
+        private final String text;
+        private final String model;
+        private final List<String> roots;
+
+        private PersistedQuery(String name, String text, String model, List<String> roots) {
+            this.name = name;
+            this.text = text;
+            this.model = model;
+            this.roots = roots;
+        }
+
+        private boolean reads(String path) {
+            if (model != null && LruCache.isRelated(model, path)) {
+                return true;
+            }
+            return roots.stream().anyMatch(root -> LruCache.isRelated(root, path));
+        }
+    }
+
+    private static final class CacheEntry {
+
+        private final String queryName;
+        private final PersistedQueryResponse response;
+
+        private CacheEntry(String queryName, PersistedQueryResponse response) {
+            this.queryName = queryName;
+            this.response = response;
+        }
+    }
+
+    /**
+     * Hands the JSON payload to the GraphQL servlet as the request body.
+     */
+    private static final class JsonPostRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private JsonPostRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public String getMethod() {
+            return "POST";
+        }
+
+        @Override
+        public String getContentType() {
+            return "application/json";
+        }
+
+        @Override
+        public String getCharacterEncoding() {
+            return StandardCharsets.UTF_8.name();
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return "Content-Type".equalsIgnoreCase(name) ? getContentType() : super.getHeader(name);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.PosterRenditionService;
+import com.day.cq.dam.api.Asset;
+import com.day.cq.dam.api.Rendition;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.Resource;
+import org.osgi.framework.BundleContext;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders poster renditions with ImageIO and stores them below the bundle's data
+ * area. The file name contains the asset's last modification time, so a new
+ * version of a poster gets new files and the old ones are deleted.
+ */
+@Designate(ocd = PosterRenditionServiceImpl.Config.class)
+@Component(service = PosterRenditionService.class)
+public class PosterRenditionServiceImpl implements PosterRenditionService {
+
+    @ObjectClassDefinition(name = "AEM Cinema - Poster Rendition Service",
+                           description = "Resizes movie posters and caches them on disk")
+    public @interface Config {
+
+        @AttributeDefinition(name = "Cache directory",
+                             description = "Directory of the rendered posters. Leave empty to use the bundle's data area")
+        String cacheDirectory() default "";
+
+        @AttributeDefinition(name = "JPEG quality",
+                             description = "Compression quality between 0 and 1")
+        float quality() default 0.8f;
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PosterRenditionServiceImpl.class);
+
+    private static final String CACHE_NAME = "posters";
+
+    // One render per file at a time; requests for the same rendition wait for it
+    private final Map<String, Object> renderLocks = new ConcurrentHashMap<>();
+
+    private Path cacheDirectory;
+    private float quality;
+
+    @Activate
+    @Modified
+    protected void activate(final BundleContext bundleContext, final Config config) throws IOException {
+        File dataFile = StringUtils.isNotBlank(config.cacheDirectory())
+                ? new File(config.cacheDirectory())
+                : bundleContext.getDataFile(CACHE_NAME);
+        if (dataFile == null) {
+            dataFile = new File(System.getProperty("java.io.tmpdir"), "aem-cinema-react-" + CACHE_NAME);
+        }
+        this.cacheDirectory = Files.createDirectories(dataFile.toPath());
+        this.quality = Math.max(0f, Math.min(1f, config.quality()));
+        LOGGER.info("Caching poster renditions in {}", cacheDirectory);
+    }
+
+    @Override
+    public Path getRendition(Resource resource, int width) throws IOException {
+        Asset asset = resource.adaptTo(Asset.class);
+        Rendition original = asset != null ? asset.getOriginal() : null;
+        if (original == null) {
+            return null;
+        }
+
+        String prefix = DigestUtils.md5Hex(asset.getPath()) + "-" + width + "-";
+        String fileName = prefix + asset.getLastModified() + ".jpg";
+        Path file = cacheDirectory.resolve(fileName);
+        if (Files.exists(file)) {
+            return file;
+        }
+
+        Object lock = renderLocks.computeIfAbsent(fileName, name -> new Object());
+        try {
+            synchronized (lock) {
+                if (Files.exists(file)) {
+                    return file;
+                }
+                BufferedImage image;
+                try (InputStream stream = original.getStream()) {
+                    image = stream != null ? ImageIO.read(stream) : null;
+                }
+                if (image == null) {
+                    LOGGER.warn("Could not decode the original of {}", asset.getPath());
+                    return null;
+                }
+                write(scale(image, width), file);
+                deleteOlderVersions(prefix, fileName);
+                LOGGER.debug("Rendered {} at {}px to {}", asset.getPath(), width, file);
+                return file;
+            }
+        } finally {
+            renderLocks.remove(fileName, lock);
+        }
+    }
+
+    // Halves the image until it is at most twice the target width, so bilinear scaling keeps detail
+    static BufferedImage scale(BufferedImage image, int width) {
+        int targetWidth = Math.min(width, image.getWidth());
+        BufferedImage current = image;
+        int currentWidth = image.getWidth();
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            if (currentWidth < targetWidth * 2) {
+                currentWidth = targetWidth;
+            }
+            current = draw(current, currentWidth);
+        } while (currentWidth > targetWidth);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage image, int width) {
+        int height = Math.max(1, Math.round((float) image.getHeight() * width / image.getWidth()));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // JPEG has no alpha channel, transparent posters get a white background
+            graphics.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private void write(BufferedImage image, Path file) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        Path temp = Files.createTempFile(cacheDirectory, file.getFileName().toString(), ".tmp");
+        try {
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            // Readers never see a partially written file
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void deleteOlderVersions(String prefix, String currentName) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheDirectory, prefix + "*.jpg")) {
+            for (Path file : files) {
+                if (!file.getFileName().toString().equals(currentName)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not delete older renditions with prefix {}", prefix, e);
+        }
+    }
+
+    Path getCacheDirectory() {
+        return cacheDirectory;
+    }
+}
@@ -0,0 +1,71 @@
+package com.aem.cinema.react.core.services.impl;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Sorted map from a key to the bitset of the movie ordinals carrying it, used by
+ * the bitset indexes. A copy shares the bitsets of its source and clones one
+ * the first time it changes, so the source stays untouched while it is published.
+ */
+final class Postings {
+
+    private final TreeMap<String, BitSet> bits;
+
+    // The bitsets created or cloned by this copy, the only ones it may change in place
+    private final Set<BitSet> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    Postings() {
+        this.bits = new TreeMap<>();
+    }
+
+    Postings(Postings source) {
+        this.bits = new TreeMap<>(source.bits);
+    }
+
+    /**
+     * @return the ordinals carrying the key, or {@code null} if none does
+     */
+    BitSet get(String key) {
+        return bits.get(key);
+    }
+
+    /**
+     * @return the ordinals of every key starting with the prefix
+     */
+    Collection<BitSet> getWithPrefix(String prefix) {
+        return bits.subMap(prefix, prefix + Character.MAX_VALUE).values();
+    }
+
+    void set(String key, int ordinal) {
+        BitSet ordinals = bits.get(key);
+        if (ordinals == null || !owned.contains(ordinals)) {
+            ordinals = ordinals != null ? (BitSet) ordinals.clone() : new BitSet();
+            owned.add(ordinals);
+            bits.put(key, ordinals);
+        }
+        ordinals.set(ordinal);
+    }
+
+    void clear(String key, int ordinal) {
+        BitSet ordinals = bits.get(key);
+        if (ordinals == null || !ordinals.get(ordinal)) {
+            return;
+        }
+        if (ordinals.cardinality() == 1) {
+            // Keeps unknown keys answering with null once their last movie is gone
+            bits.remove(key);
+            return;
+        }
+        if (!owned.contains(ordinals)) {
+            ordinals = (BitSet) ordinals.clone();
+            owned.add(ordinals);
+            bits.put(key, ordinals);
+        }
+        ordinals.clear(ordinal);
+    }
+}
@@ -0,0 +1,16 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.adobe.granite.jmx.annotation.Description;
+
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.TabularData;
+
+@Description("AEM Cinema - Request Latency")
+public interface RequestLatencyMBean {
+
+    @Description("Latency percentiles in microseconds per resource type, selectors and extension, slowest p99 first")
+    TabularData getLatencies() throws OpenDataException;
+
+    @Description("Clears every histogram")
+    void reset();
+}
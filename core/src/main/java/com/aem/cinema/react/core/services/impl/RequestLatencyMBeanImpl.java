@@ -0,0 +1,64 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.adobe.granite.jmx.annotation.AnnotatedStandardMBean;
+import com.aem.cinema.react.core.services.LatencyStats;
+import com.aem.cinema.react.core.services.RequestLatencyService;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+import javax.management.DynamicMBean;
+import javax.management.NotCompliantMBeanException;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
+import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+import javax.management.openmbean.TabularType;
+
+/**
+ * Exposes the {@link RequestLatencyService} histograms in the JMX console.
+ */
+@Component(service = DynamicMBean.class,
+           property = {
+                   "jmx.objectname=com.aem.cinema.react:type=RequestLatency"
+           })
+public class RequestLatencyMBeanImpl extends AnnotatedStandardMBean implements RequestLatencyMBean {
+
+    private static final String[] ITEM_NAMES = {
+            "resourceType", "selectors", "extension", "count", "p50", "p95", "p99", "max"
+    };
+
+    private static final OpenType<?>[] ITEM_TYPES = {
+            SimpleType.STRING, SimpleType.STRING, SimpleType.STRING,
+            SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG
+    };
+
+    @Reference
+    private RequestLatencyService requestLatencyService;
+
+    public RequestLatencyMBeanImpl() throws NotCompliantMBeanException {
+        super(RequestLatencyMBean.class);
+    }
+
+    @Override
+    public TabularData getLatencies() throws OpenDataException {
+        CompositeType rowType = new CompositeType("latency", "Request latency in microseconds",
+                ITEM_NAMES, ITEM_NAMES, ITEM_TYPES);
+        TabularDataSupport table = new TabularDataSupport(new TabularType("latencies", "Request latencies",
+                rowType, new String[] { "resourceType", "selectors", "extension" }));
+        for (LatencyStats stats : requestLatencyService.getStats()) {
+            table.put(new CompositeDataSupport(rowType, ITEM_NAMES, new Object[] {
+                    stats.getResourceType(), stats.getSelectorString(), stats.getExtension(),
+                    stats.getCount(), stats.getP50(), stats.getP95(), stats.getP99(), stats.getMax()
+            }));
+        }
+        return table;
+    }
+
+    @Override
+    public void reset() {
+        requestLatencyService.reset();
+    }
+}
@@ -0,0 +1,115 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.LatencyStats;
+import com.aem.cinema.react.core.services.RequestLatencyService;
+import com.aem.cinema.react.core.utils.LatencyHistogram;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the histograms in nested maps keyed by resource type, selector string and
+ * extension, so recording a known combination is three lookups with the strings
+ * Sling already holds, without building a composite key. Selectors come from the
+ * URL, so the number of histograms is capped and the rest share an overflow histogram.
+ */
+@Designate(ocd = RequestLatencyServiceImpl.Config.class)
+@Component(service = RequestLatencyService.class)
+public class RequestLatencyServiceImpl implements RequestLatencyService {
+
+    @ObjectClassDefinition(name = "AEM Cinema - Request Latency Service",
+                           description = "Records request latencies per resource type, selectors and extension")
+    public @interface Config {
+
+        @AttributeDefinition(name = "Max histograms",
+                             description = "Maximum number of (resource type, selectors, extension) histograms; "
+                                     + "further combinations are recorded in one overflow histogram")
+        int maxHistograms() default 500;
+    }
+
+    static final String OVERFLOW = "(other)";
+
+    private static final String NONE = "";
+
+    private final ConcurrentMap<String, ConcurrentMap<String, ConcurrentMap<String, LatencyHistogram>>> histograms =
+            new ConcurrentHashMap<>();
+
+    private final AtomicInteger histogramCount = new AtomicInteger();
+
+    private final LatencyHistogram overflow = new LatencyHistogram();
+
+    private int maxHistograms = 500;
+
+    @Activate
+    @Modified
+    protected void activate(final Config config) {
+        this.maxHistograms = config.maxHistograms();
+    }
+
+    @Override
+    public void record(String resourceType, String selectorString, String extension, long nanos) {
+        getHistogram(resourceType != null ? resourceType : NONE,
+                selectorString != null ? selectorString : NONE,
+                extension != null ? extension : NONE)
+                .record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    private LatencyHistogram getHistogram(String resourceType, String selectorString, String extension) {
+        ConcurrentMap<String, ConcurrentMap<String, LatencyHistogram>> bySelectors = histograms.get(resourceType);
+        ConcurrentMap<String, LatencyHistogram> byExtension = bySelectors != null ? bySelectors.get(selectorString) : null;
+        LatencyHistogram histogram = byExtension != null ? byExtension.get(extension) : null;
+        if (histogram != null) {
+            return histogram;
+        }
+
+        // First request of this combination; the slow path may allocate
+        if (histogramCount.get() >= maxHistograms) {
+            return overflow;
+        }
+        return histograms
+                .computeIfAbsent(resourceType, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(selectorString, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(extension, key -> {
+                    histogramCount.incrementAndGet();
+                    return new LatencyHistogram();
+                });
+    }
+
+    @Override
+    public List<LatencyStats> getStats() {
+        List<LatencyStats> stats = new ArrayList<>();
+        for (Map.Entry<String, ConcurrentMap<String, ConcurrentMap<String, LatencyHistogram>>> resourceType : histograms.entrySet()) {
+            for (Map.Entry<String, ConcurrentMap<String, LatencyHistogram>> selectors : resourceType.getValue().entrySet()) {
+                for (Map.Entry<String, LatencyHistogram> extension : selectors.getValue().entrySet()) {
+                    stats.add(new LatencyStats(resourceType.getKey(), selectors.getKey(), extension.getKey(),
+                            extension.getValue().snapshot()));
+                }
+            }
+        }
+        LatencyHistogram.Snapshot overflowSnapshot = overflow.snapshot();
+        if (overflowSnapshot.getCount() > 0) {
+            stats.add(new LatencyStats(OVERFLOW, OVERFLOW, OVERFLOW, overflowSnapshot));
+        }
+        stats.sort(Comparator.comparingLong(LatencyStats::getP99).reversed());
+        return stats;
+    }
+
+    @Override
+    public void reset() {
+        histograms.clear();
+        histogramCount.set(0);
+        overflow.reset();
+    }
+}
@@ -0,0 +1,188 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.MovieCatalog;
+import com.aem.cinema.react.core.services.MovieCatalogService;
+import com.aem.cinema.react.core.services.MovieData;
+import com.aem.cinema.react.core.services.Showtime;
+import com.aem.cinema.react.core.services.ShowtimeSchedule;
+import com.aem.cinema.react.core.services.ShowtimeService;
+import com.aem.cinema.react.core.utils.CatalogFollower;
+import com.aem.cinema.react.core.utils.ShowtimeUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Follows the versions of the {@link MovieCatalog} through a {@link CatalogFollower}:
+ * the sessions of the changed fragments are parsed and merged into the previous
+ * schedule in one linear pass, instead of parsing every movie again.
+ */
+@Designate(ocd = ShowtimeServiceImpl.Config.class)
+@Component(service = ShowtimeService.class)
+public class ShowtimeServiceImpl implements ShowtimeService {
+
+    @ObjectClassDefinition(name = "AEM Cinema - Showtimes",
+                           description = "Indexes the sessions of every movie by start time")
+    public @interface Config {
+
+        @AttributeDefinition(name = "Time zone",
+                             description = "Zone of the session times entered without an offset")
+        String timeZone() default "America/Sao_Paulo";
+
+        @AttributeDefinition(name = "Default duration",
+                             description = "Session length in minutes when neither an end time nor a numeric movieTime is given")
+        int defaultDuration() default 120;
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShowtimeServiceImpl.class);
+
+    private static final String SEPARATOR = "|";
+
+    private static final Comparator<Showtime> ORDER = Comparator.comparingLong(Showtime::getStart)
+            .thenComparingLong(Showtime::getEnd)
+            .thenComparing(showtime -> showtime.getMovie().getFragmentPath());
+
+    @Reference
+    private MovieCatalogService movieCatalogService;
+
+    // Replaced on every configuration change, so the schedule is parsed again with the new settings
+    private volatile CatalogFollower<ShowtimeSchedule> follower;
+
+    private ZoneId zoneId;
+    private long defaultDuration;
+
+    @Activate
+    @Modified
+    protected void activate(final Config config) {
+        this.zoneId = ZoneId.of(config.timeZone());
+        this.defaultDuration = TimeUnit.MINUTES.toMillis(Math.max(1, config.defaultDuration()));
+        this.follower = new CatalogFollower<>(ShowtimeSchedule.EMPTY, this::index);
+    }
+
+    @Override
+    public ShowtimeSchedule getSchedule() {
+        return follower.get(movieCatalogService.getCatalog());
+    }
+
+    @Override
+    public ZoneId getZoneId() {
+        return zoneId;
+    }
+
+    private ShowtimeSchedule index(ShowtimeSchedule schedule, MovieCatalog previous, MovieCatalog catalog,
+                                   Set<String> changedPaths) {
+        List<MovieData> changedMovies = new ArrayList<>(changedPaths.size());
+        for (String path : changedPaths) {
+            MovieData movie = catalog.getMovie(path);
+            if (movie != null) {
+                changedMovies.add(movie);
+            }
+        }
+        ShowtimeSchedule next = merge(schedule, changedPaths, changedMovies);
+        LOGGER.debug("Merged the sessions of {} changed movies into {} sessions", changedPaths.size(), next.size());
+        return next;
+    }
+
+    /**
+     * Drops the sessions of the removed paths from the schedule and merges in the sessions of the given movies.
+     */
+    ShowtimeSchedule merge(ShowtimeSchedule current, Set<String> removedPaths, List<MovieData> movies) {
+        List<Showtime> added = new ArrayList<>();
+        for (MovieData movie : movies) {
+            for (String session : movie.getSessions()) {
+                Showtime showtime = parse(movie, session);
+                if (showtime != null) {
+                    added.add(showtime);
+                }
+            }
+        }
+        added.sort(ORDER);
+
+        int capacity = current.size() + added.size();
+        long[] starts = new long[capacity];
+        long[] ends = new long[capacity];
+        MovieData[] sessionMovies = new MovieData[capacity];
+        String[] rooms = new String[capacity];
+        int size = 0;
+        int next = 0;
+        for (int i = 0; i <= current.size(); i++) {
+            Showtime kept = null;
+            if (i < current.size()) {
+                kept = current.get(i);
+                if (removedPaths.contains(kept.getMovie().getFragmentPath())) {
+                    continue;
+                }
+            }
+            while (next < added.size() && (kept == null || ORDER.compare(added.get(next), kept) < 0)) {
+                Showtime showtime = added.get(next++);
+                starts[size] = showtime.getStart();
+                ends[size] = showtime.getEnd();
+                sessionMovies[size] = showtime.getMovie();
+                rooms[size++] = showtime.getRoom();
+            }
+            if (kept != null) {
+                starts[size] = kept.getStart();
+                ends[size] = kept.getEnd();
+                sessionMovies[size] = kept.getMovie();
+                rooms[size++] = kept.getRoom();
+            }
+        }
+        return new ShowtimeSchedule(trim(starts, size), trim(ends, size), trim(sessionMovies, size), trim(rooms, size));
+    }
+
+    /**
+     * Parses {@code room|start}, {@code room|start|end} or a bare {@code start}. Times
+     * are ISO-8601, with an offset or in the configured zone.
+     *
+     * @return the session, or {@code null} if it cannot be parsed
+     */
+    Showtime parse(MovieData movie, String session) {
+        if (StringUtils.isBlank(session)) {
+            return null;
+        }
+        String[] parts = StringUtils.splitPreserveAllTokens(session, SEPARATOR);
+        String room = parts.length > 1 ? StringUtils.trimToNull(parts[0]) : null;
+        long start = ShowtimeUtils.parseTime(parts.length > 1 ? parts[1] : parts[0], zoneId);
+        if (start == ShowtimeUtils.INVALID) {
+            LOGGER.warn("Ignoring session '{}' of {}", session, movie.getFragmentPath());
+            return null;
+        }
+        long end = parts.length > 2 ? ShowtimeUtils.parseTime(parts[2], zoneId) : ShowtimeUtils.INVALID;
+        if (end <= start) {
+            end = start + getDuration(movie);
+        }
+        return new Showtime(movie, room, start, end);
+    }
+
+    // movieTime holds the running time in minutes
+    private long getDuration(MovieData movie) {
+        String minutes = StringUtils.trimToEmpty(movie.getMovieTime());
+        if (StringUtils.isNumeric(minutes) && minutes.length() < 5 && Integer.parseInt(minutes) > 0) {
+            return TimeUnit.MINUTES.toMillis(Integer.parseInt(minutes));
+        }
+        return defaultDuration;
+    }
+
+    private static long[] trim(long[] values, int size) {
+        return values.length == size ? values : Arrays.copyOf(values, size);
+    }
+
+    private static <T> T[] trim(T[] values, int size) {
+        return values.length == size ? values : Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,140 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.MovieCatalog;
+import com.aem.cinema.react.core.services.MovieCatalogService;
+import com.aem.cinema.react.core.services.MovieData;
+import com.aem.cinema.react.core.services.SlugRegistry;
+import com.aem.cinema.react.core.utils.CatalogFollower;
+import com.aem.cinema.react.core.utils.SlugUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.ResourceUtil;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Keeps a hash map from title slug and from fragment name slug to the movies
+ * carrying it. Every slug maps to its movies ordered by fragment path, so a
+ * collision still resolves deterministically. The maps follow the versions of
+ * the {@link MovieCatalog} through a {@link CatalogFollower}: only the changed
+ * fragments are re-registered and lookups never wait for each other.
+ */
+@Component(service = SlugRegistry.class)
+public class SlugRegistryImpl implements SlugRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SlugRegistryImpl.class);
+
+    @Reference
+    private MovieCatalogService movieCatalogService;
+
+    private final CatalogFollower<Slugs> follower = new CatalogFollower<>(new Slugs(), SlugRegistryImpl::index);
+
+    @Override
+    public MovieData resolve(String slug) {
+        if (StringUtils.isEmpty(slug)) {
+            return null;
+        }
+        Slugs slugs = follower.get(movieCatalogService.getCatalog());
+        TreeMap<String, MovieData> movies = slugs.byTitle.get(slug);
+        if (movies == null) {
+            movies = slugs.byName.get(slug);
+        }
+        return movies != null ? movies.firstEntry().getValue() : null;
+    }
+
+    @Override
+    public Map<String, Set<String>> getCollisions() {
+        Slugs slugs = follower.get(movieCatalogService.getCatalog());
+        Map<String, Set<String>> collisions = new TreeMap<>();
+        slugs.byTitle.forEach((slug, movies) -> {
+            if (movies.size() > 1) {
+                collisions.put(slug, Collections.unmodifiableSet(new TreeSet<>(movies.keySet())));
+            }
+        });
+        return collisions;
+    }
+
+    private static Slugs index(Slugs slugs, MovieCatalog previous, MovieCatalog catalog, Set<String> changedPaths) {
+        Slugs next = new Slugs(slugs);
+        for (String path : changedPaths) {
+            next.update(path, previous != null ? previous.getMovie(path) : null, catalog.getMovie(path));
+        }
+        LOGGER.debug("Registered {} slugs for catalog version {}", next.byTitle.size(), catalog.getVersion());
+        return next;
+    }
+
+    // Fragments are usually named after the slug of their first title, which old links still use
+    private static String getNameSlug(String path) {
+        return SlugUtils.toSlug(ResourceUtil.getName(path));
+    }
+
+    /**
+     * The slugs of one catalog version. A published instance is never changed; the
+     * next version is built on a copy, which replaces every movie map it touches.
+     */
+    private static final class Slugs {
+
+        private final Map<String, TreeMap<String, MovieData>> byTitle;
+        private final Map<String, TreeMap<String, MovieData>> byName;
+
+        private Slugs() {
+            this.byTitle = new HashMap<>();
+            this.byName = new HashMap<>();
+        }
+
+        private Slugs(Slugs source) {
+            this.byTitle = new HashMap<>(source.byTitle);
+            this.byName = new HashMap<>(source.byName);
+        }
+
+        private void update(String path, MovieData previous, MovieData movie) {
+            if (previous != null) {
+                unregister(byTitle, SlugUtils.toSlug(previous.getTitle()), path);
+                unregister(byName, getNameSlug(path), path);
+            }
+            if (movie != null) {
+                String slug = SlugUtils.toSlug(movie.getTitle());
+                if (register(byTitle, slug, movie)) {
+                    LOGGER.warn("Movies {} share the slug '{}'", byTitle.get(slug).keySet(), slug);
+                }
+                register(byName, getNameSlug(path), movie);
+            }
+        }
+
+        /**
+         * @return {@code true} if another movie already had the slug
+         */
+        private static boolean register(Map<String, TreeMap<String, MovieData>> slugs, String slug, MovieData movie) {
+            if (StringUtils.isEmpty(slug)) {
+                return false;
+            }
+            TreeMap<String, MovieData> previous = slugs.get(slug);
+            TreeMap<String, MovieData> movies = previous != null ? new TreeMap<>(previous) : new TreeMap<>();
+            movies.put(movie.getFragmentPath(), movie);
+            slugs.put(slug, movies);
+            return movies.size() > 1;
+        }
+
+        private static void unregister(Map<String, TreeMap<String, MovieData>> slugs, String slug, String path) {
+            TreeMap<String, MovieData> previous = slugs.get(slug);
+            if (previous == null || !previous.containsKey(path)) {
+                return;
+            }
+            if (previous.size() == 1) {
+                slugs.remove(slug);
+                return;
+            }
+            TreeMap<String, MovieData> movies = new TreeMap<>(previous);
+            movies.remove(path);
+            slugs.put(slug, movies);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.aem.cinema.react.core.servlets;
+
+import com.aem.cinema.react.core.services.DataLayerService;
+import com.day.cq.commons.jcr.JcrConstants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.SlingHttpServletResponse;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.servlets.HttpConstants;
+import org.apache.sling.api.servlets.SlingSafeMethodsServlet;
+import org.apache.sling.servlets.annotations.SlingServletResourceTypes;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+
+import javax.servlet.Servlet;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes the aggregated data layer of a page and its child pages, e.g.
+ * {@code en/jcr:content.datalayer.json}, as one map of component id to component
+ * properties, see {@link DataLayerService#getEntry} for the fields of each component.
+ * Only available when the {@link DataLayerService} runs in page-level mode.
+ */
+@Component(service = { Servlet.class })
+@SlingServletResourceTypes(
+        resourceTypes = "aem-cinema-react/components/page",
+        methods = HttpConstants.METHOD_GET,
+        selectors = DataLayerServlet.SELECTOR,
+        extensions = "json")
+@ServiceDescription("Page data layer servlet")
+public class DataLayerServlet extends SlingSafeMethodsServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String SELECTOR = "datalayer";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Reference
+    private transient DataLayerService dataLayerService;
+
+    @Override
+    protected void doGet(final SlingHttpServletRequest req,
+            final SlingHttpServletResponse resp) throws IOException {
+        if (!dataLayerService.isPageLevel()) {
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        Resource resource = req.getResource();
+        Resource page = JcrConstants.JCR_CONTENT.equals(resource.getName()) ? resource.getParent() : resource;
+        resp.setContentType("application/json");
+        resp.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        MAPPER.writeValue(resp.getWriter(), dataLayerService.getPageDataLayer(page != null ? page : resource));
+    }
+}
@@ -0,0 +1,220 @@
+package com.aem.cinema.react.core.servlets;
+
+import com.aem.cinema.react.core.services.MovieCatalog;
+import com.aem.cinema.react.core.services.MovieCatalogService;
+import com.aem.cinema.react.core.services.MovieData;
+import com.aem.cinema.react.core.services.MovieIndexService;
+import com.aem.cinema.react.core.utils.SingleFlight;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.SlingHttpServletResponse;
+import org.apache.sling.api.servlets.HttpConstants;
+import org.apache.sling.api.servlets.SlingSafeMethodsServlet;
+import org.apache.sling.servlets.annotations.SlingServletResourceTypes;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+
+import javax.servlet.Servlet;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves the movie catalog as JSON, e.g. {@code home/jcr:content.catalog.json},
+ * {@code home/jcr:content.catalog.gender-acao.json} or
+ * {@code home/jcr:content.catalog.gender-acao.age-14.json}. The response of every variant
+ * is rendered once per catalog version and carries a strong ETag, so it can be
+ * cached by the dispatcher and the CDN. Concurrent requests for a variant that is
+ * not rendered yet share one rendering and get the variant of the previous catalog
+ * version meanwhile.
+ */
+@Component(service = { Servlet.class })
+@SlingServletResourceTypes(
+        resourceTypes = "aem-cinema-react/components/page",
+        methods = HttpConstants.METHOD_GET,
+        selectors = MovieCatalogServlet.SELECTOR,
+        extensions = "json")
+@ServiceDescription("Movie catalog servlet")
+public class MovieCatalogServlet extends SlingSafeMethodsServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String SELECTOR = "catalog";
+
+    private static final String GENDER_PREFIX = "gender-";
+    private static final String AGE_PREFIX = "age-";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // Requests without a previous variant wait this long for another request's rendering
+    private static final long RENDER_TIMEOUT = 5000;
+
+    @Reference
+    private transient MovieCatalogService movieCatalogService;
+
+    @Reference
+    private transient MovieIndexService movieIndexService;
+
+    // Rendered variants of one catalog version, replaced as a whole when the catalog changes
+    private transient volatile RenderedVersion rendered = new RenderedVersion(-1, null);
+
+    private final transient SingleFlight<String, RenderedCatalog> renderings = new SingleFlight<>(RENDER_TIMEOUT);
+
+    @Override
+    protected void doGet(final SlingHttpServletRequest req,
+            final SlingHttpServletResponse resp) throws IOException {
+        String[] selectors = req.getRequestPathInfo().getSelectors();
+        String gender = null;
+        String maxAgeGroup = null;
+        for (int i = 1; i < selectors.length; i++) {
+            if (i == 1 && selectors[i].startsWith(GENDER_PREFIX)) {
+                gender = selectors[i].substring(GENDER_PREFIX.length());
+            } else if (i == selectors.length - 1 && selectors[i].startsWith(AGE_PREFIX)) {
+                maxAgeGroup = selectors[i].substring(AGE_PREFIX.length());
+            } else {
+                // Unknown selectors would only fill up the dispatcher cache
+                resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+        }
+
+        MovieCatalog catalog = movieCatalogService.getCatalog();
+        RenderedCatalog variant = getRendered(catalog, gender, maxAgeGroup);
+        if (variant == null) {
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        resp.setHeader("ETag", variant.etag);
+        resp.setDateHeader("Last-Modified", variant.lastModified);
+        if (variant.etag.equals(req.getHeader("If-None-Match"))) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        resp.setContentType("application/json");
+        resp.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resp.setContentLength(variant.body.length);
+        resp.getOutputStream().write(variant.body);
+    }
+
+    private RenderedCatalog getRendered(MovieCatalog catalog, String gender, String maxAgeGroup) throws IOException {
+        RenderedVersion cache = rendered;
+        if (cache.version != catalog.getVersion()) {
+            cache = new RenderedVersion(catalog.getVersion(), cache.version < catalog.getVersion() ? cache : null);
+            rendered = cache;
+        }
+        String key = (gender != null ? gender : "") + "|" + (maxAgeGroup != null ? maxAgeGroup : "");
+        RenderedCatalog variant = cache.variants.get(key);
+        if (variant != null) {
+            return variant;
+        }
+
+        RenderedVersion target = cache;
+        try {
+            return renderings.load(catalog.getVersion() + ":" + key,
+                    () -> renderVariant(target, catalog, key, gender, maxAgeGroup),
+                    cache.previous != null ? cache.previous.get(key) : null);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private RenderedCatalog renderVariant(RenderedVersion cache, MovieCatalog catalog, String key,
+            String gender, String maxAgeGroup) {
+        RenderedCatalog variant = cache.variants.get(key);
+        if (variant != null) {
+            return variant;
+        }
+        List<MovieData> movies = catalog.getMovies();
+        if (gender != null || maxAgeGroup != null) {
+            movies = movieIndexService.find(catalog, gender, maxAgeGroup);
+            if (movies == null) {
+                return null;
+            }
+        }
+        try {
+            variant = new RenderedCatalog(render(movies), catalog.getLastModified());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        cache.variants.put(key, variant);
+        return variant;
+    }
+
+    // Mirrors the shape of the filmeList GraphQL response, so the frontend can switch endpoints
+    static byte[] render(List<MovieData> movies) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("items");
+            for (MovieData movie : movies) {
+                writeMovie(json, movie);
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+
+    static void writeMovie(JsonGenerator json, MovieData movie) throws IOException {
+        json.writeStartObject();
+        writeMovieFields(json, movie);
+        json.writeEndObject();
+    }
+
+    static void writeMovieFields(JsonGenerator json, MovieData movie) throws IOException {
+        json.writeStringField("_path", movie.getFragmentPath());
+        json.writeStringField("title", movie.getTitle());
+        if (movie.getPoster() != null) {
+            json.writeObjectFieldStart("poster");
+            json.writeStringField("_path", movie.getPoster());
+            json.writeEndObject();
+        } else {
+            json.writeNullField("poster");
+        }
+        // Same candidates as the model.json of the movie components
+        json.writeArrayFieldStart("posterSrcset");
+        for (String candidate : movie.getPosterSrcset()) {
+            json.writeString(candidate);
+        }
+        json.writeEndArray();
+        json.writeStringField("ageGroup", movie.getAgeGroup());
+        json.writeStringField("gender", movie.getGender());
+        json.writeStringField("movieTime", movie.getMovieTime());
+    }
+
+    private static final class RenderedVersion {
+
+        private final long version;
+        private final Map<String, RenderedCatalog> variants = new ConcurrentHashMap<>();
+        // Variants of the version this one replaced, served while they are re-rendered
+        private final Map<String, RenderedCatalog> previous;
+
+        private RenderedVersion(long version, RenderedVersion replaced) {
+            this.version = version;
+            this.previous = replaced != null ? replaced.variants : null;
+        }
+    }
+
+    private static final class RenderedCatalog {
+
+        private final byte[] body;
+        private final String etag;
+        private final long lastModified;
+
+        private RenderedCatalog(byte[] body, long lastModified) {
+            this.body = body;
+            this.etag = "\"" + DigestUtils.md5Hex(body) + "\"";
+            this.lastModified = lastModified;
+        }
+    }
+}
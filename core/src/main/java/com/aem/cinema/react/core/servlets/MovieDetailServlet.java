@@ -0,0 +1,99 @@
+package com.aem.cinema.react.core.servlets;
+
+import com.aem.cinema.react.core.services.MovieData;
+import com.aem.cinema.react.core.services.SlugRegistry;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.SlingHttpServletResponse;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.servlets.HttpConstants;
+import org.apache.sling.api.servlets.SlingSafeMethodsServlet;
+import org.apache.sling.servlets.annotations.SlingServletResourceTypes;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+
+import javax.servlet.Servlet;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves one movie by its URL slug, e.g. {@code home/filme/jcr:content.movie.duna-parte-dois.json},
+ * in the shape of the {@code filmeByPath} GraphQL item including the synopsis. The slug is
+ * part of the path, so the dispatcher can cache every movie. A movie is only served if
+ * the fragment is readable with the resolver of the request.
+ */
+@Component(service = { Servlet.class })
+@SlingServletResourceTypes(
+        resourceTypes = "aem-cinema-react/components/page",
+        methods = HttpConstants.METHOD_GET,
+        selectors = MovieDetailServlet.SELECTOR,
+        extensions = "json")
+@ServiceDescription("Movie detail servlet")
+public class MovieDetailServlet extends SlingSafeMethodsServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String SELECTOR = "movie";
+
+    private static final String PN_SINOPSE = "sinopse";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Reference
+    private transient SlugRegistry slugRegistry;
+
+    @Override
+    protected void doGet(final SlingHttpServletRequest req,
+            final SlingHttpServletResponse resp) throws IOException {
+        String[] selectors = req.getRequestPathInfo().getSelectors();
+        MovieData movie = selectors.length == 2 ? slugRegistry.resolve(selectors[1]) : null;
+        // The registry is read by a service user; only serve fragments the visitor may read as well
+        Resource fragment = movie != null ? req.getResourceResolver().getResource(movie.getFragmentPath()) : null;
+        if (fragment == null) {
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        byte[] body = render(movie, getSinopse(fragment));
+        String etag = "\"" + DigestUtils.md5Hex(body) + "\"";
+        resp.setHeader("ETag", etag);
+        resp.setHeader("Cache-Control", "max-age=300");
+        if (etag.equals(req.getHeader("If-None-Match"))) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        resp.setContentType("application/json");
+        resp.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resp.setContentLength(body.length);
+        resp.getOutputStream().write(body);
+    }
+
+    // The synopsis is only needed here, so it is read per request instead of being kept in the catalog
+    private static String getSinopse(Resource fragment) {
+        Resource data = MovieData.getDataResource(fragment);
+        return data != null ? data.getValueMap().get(PN_SINOPSE, String.class) : null;
+    }
+
+    static byte[] render(MovieData movie, String sinopse) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            MovieCatalogServlet.writeMovieFields(json, movie);
+            if (sinopse != null) {
+                json.writeObjectFieldStart(PN_SINOPSE);
+                json.writeStringField("html", sinopse);
+                json.writeEndObject();
+            } else {
+                json.writeNullField(PN_SINOPSE);
+            }
+            json.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+}
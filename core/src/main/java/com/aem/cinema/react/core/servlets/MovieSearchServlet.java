@@ -0,0 +1,69 @@
+package com.aem.cinema.react.core.servlets;
+
+import com.aem.cinema.react.core.services.MovieCatalogService;
+import com.aem.cinema.react.core.services.MovieData;
+import com.aem.cinema.react.core.services.MovieSearchService;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.SlingHttpServletResponse;
+import org.apache.sling.api.servlets.HttpConstants;
+import org.apache.sling.api.servlets.SlingSafeMethodsServlet;
+import org.apache.sling.servlets.annotations.SlingServletResourceTypes;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+
+import javax.servlet.Servlet;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Searches the movie titles, e.g. {@code home/jcr:content.search.json?q=acao&limit=5}.
+ * Movies are written in the shape of the catalog servlet, best match first.
+ */
+@Component(service = { Servlet.class })
+@SlingServletResourceTypes(
+        resourceTypes = "aem-cinema-react/components/page",
+        methods = HttpConstants.METHOD_GET,
+        selectors = MovieSearchServlet.SELECTOR,
+        extensions = "json")
+@ServiceDescription("Movie search servlet")
+public class MovieSearchServlet extends SlingSafeMethodsServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String SELECTOR = "search";
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Reference
+    private transient MovieCatalogService movieCatalogService;
+
+    @Reference
+    private transient MovieSearchService movieSearchService;
+
+    @Override
+    protected void doGet(final SlingHttpServletRequest req,
+            final SlingHttpServletResponse resp) throws IOException {
+        int limit = Math.min(MAX_LIMIT, NumberUtils.toInt(req.getParameter("limit"), DEFAULT_LIMIT));
+        List<MovieData> movies = movieSearchService.search(movieCatalogService.getCatalog(), req.getParameter("q"), limit);
+
+        resp.setContentType("application/json");
+        resp.setCharacterEncoding("UTF-8");
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(resp.getOutputStream(), JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("items");
+            for (MovieData movie : movies) {
+                MovieCatalogServlet.writeMovie(json, movie);
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+}
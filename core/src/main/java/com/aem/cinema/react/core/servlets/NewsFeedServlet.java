@@ -0,0 +1,111 @@
+package com.aem.cinema.react.core.servlets;
+
+import com.aem.cinema.react.core.services.NewsFeedService;
+import com.aem.cinema.react.core.services.NewsSummary;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.SlingHttpServletResponse;
+import org.apache.sling.api.servlets.HttpConstants;
+import org.apache.sling.api.servlets.SlingSafeMethodsServlet;
+import org.apache.sling.servlets.annotations.SlingServletResourceTypes;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+
+import javax.servlet.Servlet;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Serves the news feed page by page, newest first, e.g.
+ * {@code home/jcr:content.news.json?limit=10} and then
+ * {@code home/jcr:content.news.json?limit=10&cursor=<next>} with the {@code next}
+ * cursor of the previous response, which is {@code null} on the last page.
+ * Items carry the list fields only; the body is read by the detail view through
+ * the {@code noticia-by-path} persisted query.
+ */
+@Component(service = { Servlet.class })
+@SlingServletResourceTypes(
+        resourceTypes = "aem-cinema-react/components/page",
+        methods = HttpConstants.METHOD_GET,
+        selectors = NewsFeedServlet.SELECTOR,
+        extensions = "json")
+@ServiceDescription("News feed servlet")
+public class NewsFeedServlet extends SlingSafeMethodsServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String SELECTOR = "news";
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Reference
+    private transient NewsFeedService newsFeedService;
+
+    @Override
+    protected void doGet(final SlingHttpServletRequest req,
+            final SlingHttpServletResponse resp) throws IOException {
+        List<NewsSummary> page;
+        int limit;
+        try {
+            limit = Math.min(MAX_LIMIT, Integer.parseInt(StringUtils.defaultIfEmpty(req.getParameter("limit"),
+                    String.valueOf(DEFAULT_LIMIT))));
+            if (limit < 1) {
+                throw new IllegalArgumentException("Invalid limit " + limit);
+            }
+            // One more than asked tells whether there is a next page
+            page = newsFeedService.getPage(req.getParameter("cursor"), limit + 1);
+        } catch (IllegalArgumentException e) {
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        resp.setContentType("application/json");
+        resp.setCharacterEncoding("UTF-8");
+        resp.setHeader("Cache-Control", "max-age=60");
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(resp.getOutputStream(), JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("items");
+            for (NewsSummary news : page.subList(0, Math.min(limit, page.size()))) {
+                writeNews(json, news);
+            }
+            json.writeEndArray();
+            if (page.size() > limit) {
+                json.writeStringField("next", page.get(limit - 1).getCursor());
+            } else {
+                json.writeNullField("next");
+            }
+            json.writeEndObject();
+        }
+    }
+
+    // Mirrors the item shape of the not_ciaList GraphQL response, without the body
+    private static void writeNews(JsonGenerator json, NewsSummary news) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("_path", news.getFragmentPath());
+        json.writeStringField("title", news.getTitle());
+        json.writeStringField("subtitle", news.getSubtitle());
+        if (news.getDate() > 0) {
+            json.writeStringField("date", Instant.ofEpochMilli(news.getDate()).toString());
+        } else {
+            json.writeNullField("date");
+        }
+        json.writeStringField("author", news.getAuthor());
+        if (news.getImage() != null) {
+            json.writeObjectFieldStart("image");
+            json.writeStringField("_path", news.getImage());
+            json.writeEndObject();
+        } else {
+            json.writeNullField("image");
+        }
+        json.writeEndObject();
+    }
+}
@@ -0,0 +1,390 @@
+package com.aem.cinema.react.core.servlets;
+
+import com.adobe.cq.export.json.ComponentExporter;
+import com.adobe.cq.export.json.ContainerExporter;
+import com.adobe.cq.export.json.ExporterConstants;
+import com.aem.cinema.react.core.services.ComponentExportCache;
+import com.aem.cinema.react.core.services.MovieData;
+import com.aem.cinema.react.core.services.MovieFragmentCache;
+import com.aem.cinema.react.core.services.ModelValidator;
+import com.aem.cinema.react.core.services.ModelValidatorService;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.SlingHttpServletResponse;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceWrapper;
+import org.apache.sling.api.resource.ValueMap;
+import org.apache.sling.api.servlets.HttpConstants;
+import org.apache.sling.api.servlets.SlingSafeMethodsServlet;
+import org.apache.sling.api.wrappers.SlingHttpServletRequestWrapper;
+import org.apache.sling.models.factory.ExportException;
+import org.apache.sling.models.factory.MissingExporterException;
+import org.apache.sling.models.factory.ModelFactory;
+import org.apache.sling.servlets.annotations.SlingServletResourceTypes;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.Servlet;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming variant of the page {@code model.json}, e.g.
+ * {@code programacao/jcr:content.stream.json}. The page is walked resource by
+ * resource and every component is written to the response as soon as its model
+ * is built, so neither the whole model tree nor the whole JSON string is held in
+ * memory. Every component is serialized by the Sling Models exporter, as for
+ * {@code model.json}. Carousels and highlights are written from the {@link ComponentExportCache}.
+ * Unchanged pages are answered with {@code 304} from their {@link ModelValidator}.
+ * <p>
+ * With the {@code bundle} selector, e.g. {@code programacao/jcr:content.bundle.json},
+ * the page model additionally carries a {@code :movies} object with the data of
+ * every movie fragment referenced on the page, once per fragment, so the movie
+ * cards render without a GraphQL request each.
+ */
+@Component(service = { Servlet.class })
+@SlingServletResourceTypes(
+        resourceTypes = "aem-cinema-react/components/page",
+        methods = HttpConstants.METHOD_GET,
+        selectors = { PageModelStreamServlet.SELECTOR, PageModelStreamServlet.BUNDLE_SELECTOR },
+        extensions = "json")
+@ServiceDescription("Streaming page model servlet")
+public class PageModelStreamServlet extends SlingSafeMethodsServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String SELECTOR = "stream";
+    static final String BUNDLE_SELECTOR = "bundle";
+
+    private static final String PN_ITEMS = ":items";
+    private static final String PN_ITEMS_ORDER = ":itemsOrder";
+    private static final String PN_MOVIES = ":movies";
+
+    private static final String PN_FRAGMENT_PATH = "fragmentPath";
+
+    // No model is registered for it, so container items exported as placeholders are left out
+    private static final String ITEM_PLACEHOLDER_TYPE = "aem-cinema-react/components/page/stream-placeholder";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PageModelStreamServlet.class);
+
+    // Only writes what the exporter produced and never serializes models itself
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Reference
+    private transient ModelFactory modelFactory;
+
+    @Reference
+    private transient ComponentExportCache componentExportCache;
+
+    @Reference
+    private transient ModelValidatorService modelValidatorService;
+
+    @Reference
+    private transient MovieFragmentCache movieFragmentCache;
+
+    @Override
+    protected void doGet(final SlingHttpServletRequest req,
+            final SlingHttpServletResponse resp) throws IOException {
+        Resource page = req.getResource();
+        ModelValidator validator = modelValidatorService.getValidator(page, req.getRequestPathInfo().getSelectorString());
+        if (validator != null) {
+            resp.setHeader("Cache-Control", modelValidatorService.getCacheControl());
+            resp.setHeader("ETag", validator.getEtag());
+            if (validator.getLastModified() > 0) {
+                resp.setDateHeader("Last-Modified", validator.getLastModified());
+            }
+            if (validator.isNotModified(req)) {
+                resp.setStatus(SlingHttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+
+        ComponentExporter pageModel = getModel(req, page);
+        if (pageModel == null) {
+            resp.sendError(SlingHttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        resp.setContentType("application/json");
+        resp.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        // Referenced fragments in page order, collected while the page is walked
+        Set<String> fragmentPaths = BUNDLE_SELECTOR.equals(req.getRequestPathInfo().getSelectorString())
+                ? new LinkedHashSet<>() : null;
+        // Jackson flushes its buffer as it fills up, so the first bytes leave before the page is walked
+        try (JsonGenerator json = MAPPER.getFactory().createGenerator(resp.getOutputStream(), JsonEncoding.UTF8)) {
+            if (pageModel instanceof ContainerExporter) {
+                writeContainer(json, req, page, fragmentPaths, fragmentPaths != null);
+            } else {
+                String exported = export(pageModel, page);
+                if (exported == null) {
+                    throw new IOException("Could not export the page model of " + page.getPath());
+                }
+                json.writeRawValue(exported);
+            }
+        }
+    }
+
+    /**
+     * Writes the field of one container item, taking cached exports before building the model.
+     *
+     * @return {@code false} if the resource is not an exportable component
+     */
+    private boolean writeItem(JsonGenerator json, SlingHttpServletRequest request, Resource resource,
+            Set<String> fragmentPaths) throws IOException {
+        byte[] cached = componentExportCache.getExport(request, resource);
+        if (cached != null) {
+            json.writeFieldName(resource.getName());
+            json.writeRawValue(new String(cached, StandardCharsets.UTF_8));
+            collectFragmentPaths(resource, true, fragmentPaths);
+            return true;
+        }
+        ComponentExporter model = getModel(request, resource);
+        if (model instanceof ContainerExporter) {
+            json.writeFieldName(resource.getName());
+            writeContainer(json, request, resource, fragmentPaths, false);
+            return true;
+        }
+        String exported = model != null ? export(model, resource) : null;
+        if (exported == null) {
+            return false;
+        }
+        json.writeFieldName(resource.getName());
+        json.writeRawValue(exported);
+        // Leaf components such as the carousel keep their movie references in child resources
+        collectFragmentPaths(resource, true, fragmentPaths);
+        return true;
+    }
+
+    /**
+     * Writes a container with the fields the exporter gives its model, in the order
+     * the exporter puts them out, streaming {@code :items} and {@code :itemsOrder}
+     * from the resource tree in their place.
+     */
+    private void writeContainer(JsonGenerator json, SlingHttpServletRequest request, Resource resource,
+            Set<String> fragmentPaths, boolean bundle) throws IOException {
+        collectFragmentPaths(resource, false, fragmentPaths);
+        ComponentExporter model = getModel(request, new ContainerFieldsResource(resource));
+        String exported = model != null ? export(model, resource) : null;
+        Map<String, String> fields = exported != null ? getFields(exported) : Collections.emptyMap();
+        List<String> itemNames = getItemNames(request, resource);
+
+        json.writeStartObject();
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            if (PN_ITEMS.equals(field.getKey())) {
+                writeItems(json, request, resource, itemNames, fragmentPaths);
+            } else if (PN_ITEMS_ORDER.equals(field.getKey())) {
+                writeItemsOrder(json, itemNames);
+            } else {
+                json.writeFieldName(field.getKey());
+                json.writeRawValue(field.getValue());
+            }
+        }
+        if (!fields.containsKey(PN_ITEMS)) {
+            writeItems(json, request, resource, itemNames, fragmentPaths);
+        }
+        if (!fields.containsKey(PN_ITEMS_ORDER)) {
+            writeItemsOrder(json, itemNames);
+        }
+        if (bundle) {
+            writeMovies(json, request, fragmentPaths);
+        }
+        json.writeEndObject();
+    }
+
+    private void writeItems(JsonGenerator json, SlingHttpServletRequest request, Resource resource,
+            List<String> itemNames, Set<String> fragmentPaths) throws IOException {
+        // Only one child model is alive at a time
+        json.writeObjectFieldStart(PN_ITEMS);
+        for (String name : itemNames) {
+            Resource child = resource.getChild(name);
+            if (child == null || !writeItem(json, request, child, fragmentPaths)) {
+                LOGGER.warn("Could not export {}/{}, which is listed in {}", resource.getPath(), name, PN_ITEMS_ORDER);
+            }
+        }
+        json.writeEndObject();
+    }
+
+    private static void writeItemsOrder(JsonGenerator json, List<String> itemNames) throws IOException {
+        json.writeArrayFieldStart(PN_ITEMS_ORDER);
+        for (String name : itemNames) {
+            json.writeString(name);
+        }
+        json.writeEndArray();
+    }
+
+    /**
+     * @return the names of the children that have a component model, known before
+     *         any of them is built, since the exporter may put {@code :itemsOrder}
+     *         before {@code :items}
+     */
+    private List<String> getItemNames(SlingHttpServletRequest request, Resource resource) {
+        List<String> itemNames = new ArrayList<>();
+        for (Resource child : resource.getChildren()) {
+            if (modelFactory.isModelAvailableForRequest(new ItemRequest(request, child))) {
+                itemNames.add(child.getName());
+            }
+        }
+        return itemNames;
+    }
+
+    /**
+     * @return the top level fields of an exported model with their raw values,
+     *         so they keep the escaping of the exporter
+     */
+    private static Map<String, String> getFields(String exported) throws IOException {
+        Map<String, String> fields = new LinkedHashMap<>();
+        try (JsonParser parser = MAPPER.getFactory().createParser(exported)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return fields;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                int start = (int) parser.getTokenLocation().getCharOffset();
+                parser.skipChildren();
+                parser.finishToken();
+                int end = (int) parser.getCurrentLocation().getCharOffset();
+                fields.put(name, exported.substring(start, end));
+            }
+        }
+        return fields;
+    }
+
+    private void writeMovies(JsonGenerator json, SlingHttpServletRequest request, Set<String> fragmentPaths)
+            throws IOException {
+        // One sorted pass over the misses, checked against the ACLs of the requesting user
+        Map<String, MovieData> movies = movieFragmentCache.getAll(request.getResourceResolver(), fragmentPaths);
+        json.writeObjectFieldStart(PN_MOVIES);
+        for (String fragmentPath : fragmentPaths) {
+            MovieData movie = movies.get(fragmentPath);
+            if (movie != null) {
+                json.writeFieldName(fragmentPath);
+                MovieCatalogServlet.writeMovie(json, movie);
+            }
+        }
+        json.writeEndObject();
+    }
+
+    private static void collectFragmentPaths(Resource resource, boolean deep, Set<String> fragmentPaths) {
+        if (fragmentPaths == null) {
+            return;
+        }
+        ValueMap properties = resource.getValueMap();
+        String fragmentPath = properties.get(PN_FRAGMENT_PATH, String.class);
+        if (fragmentPath != null && !fragmentPath.isEmpty()) {
+            fragmentPaths.add(fragmentPath);
+        }
+        if (deep) {
+            for (Resource child : resource.getChildren()) {
+                collectFragmentPaths(child, true, fragmentPaths);
+            }
+        }
+    }
+
+    private ComponentExporter getModel(SlingHttpServletRequest request, Resource resource) {
+        return modelFactory.getModelFromWrappedRequest(request, resource, ComponentExporter.class);
+    }
+
+    // The same serialization as model.json, so both stay byte for byte identical
+    private String export(ComponentExporter model, Resource resource) {
+        try {
+            return modelFactory.exportModel(model, ExporterConstants.SLING_MODEL_EXPORTER_NAME, String.class,
+                    Collections.emptyMap());
+        } catch (ExportException | MissingExporterException e) {
+            LOGGER.error("Could not export the model of {}", resource.getPath(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Shows the children of a container as resources without a model, so exporting
+     * the container gives its own fields without building the models of its items.
+     * Fields computed from the child resources themselves, such as the column
+     * classes of a responsive grid, are still exported.
+     */
+    private static final class ContainerFieldsResource extends ResourceWrapper {
+
+        private ContainerFieldsResource(Resource resource) {
+            super(resource);
+        }
+
+        @Override
+        public Resource getChild(String relPath) {
+            Resource child = super.getChild(relPath);
+            return child != null ? new ItemPlaceholder(child) : null;
+        }
+
+        @Override
+        public Iterator<Resource> listChildren() {
+            Iterator<Resource> children = super.listChildren();
+            return new Iterator<Resource>() {
+                @Override
+                public boolean hasNext() {
+                    return children.hasNext();
+                }
+
+                @Override
+                public Resource next() {
+                    return new ItemPlaceholder(children.next());
+                }
+            };
+        }
+
+        @Override
+        public Iterable<Resource> getChildren() {
+            return this::listChildren;
+        }
+    }
+
+    private static final class ItemRequest extends SlingHttpServletRequestWrapper {
+
+        private final Resource resource;
+
+        private ItemRequest(SlingHttpServletRequest request, Resource resource) {
+            super(request);
+            this.resource = resource;
+        }
+
+        @Override
+        public Resource getResource() {
+            return resource;
+        }
+    }
+
+    private static final class ItemPlaceholder extends ResourceWrapper {
+
+        private ItemPlaceholder(Resource resource) {
+            super(resource);
+        }
+
+        @Override
+        public String getResourceType() {
+            return ITEM_PLACEHOLDER_TYPE;
+        }
+
+        @Override
+        public String getResourceSuperType() {
+            return null;
+        }
+
+        @Override
+        public boolean isResourceType(String resourceType) {
+            return ITEM_PLACEHOLDER_TYPE.equals(resourceType);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.aem.cinema.react.core.servlets;
+
+import com.aem.cinema.react.core.services.PersistedQueryResponse;
+import com.aem.cinema.react.core.services.PersistedQueryService;
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.SlingHttpServletResponse;
+import org.apache.sling.api.servlets.HttpConstants;
+import org.apache.sling.api.servlets.SlingSafeMethodsServlet;
+import org.apache.sling.servlets.annotations.SlingServletResourceTypes;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+
+import javax.servlet.Servlet;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Runs a persisted GraphQL query with GET, e.g.
+ * {@code home/jcr:content.graphql.filme-list.json?variables=%7B%22gender%22%3A%22A%C3%A7%C3%A3o%22%7D}.
+ * Only the queries registered in the {@link PersistedQueryService} can be run.
+ */
+@Component(service = { Servlet.class })
+@SlingServletResourceTypes(
+        resourceTypes = "aem-cinema-react/components/page",
+        methods = HttpConstants.METHOD_GET,
+        selectors = PersistedQueryServlet.SELECTOR,
+        extensions = "json")
+@ServiceDescription("Persisted query servlet")
+public class PersistedQueryServlet extends SlingSafeMethodsServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String SELECTOR = "graphql";
+
+    @Reference
+    private transient PersistedQueryService persistedQueryService;
+
+    @Override
+    protected void doGet(final SlingHttpServletRequest req,
+            final SlingHttpServletResponse resp) throws IOException {
+        String[] selectors = req.getRequestPathInfo().getSelectors();
+        if (selectors.length != 2) {
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        PersistedQueryResponse response;
+        try {
+            response = persistedQueryService.execute(req.getResourceResolver(), selectors[1], req.getParameter("variables"));
+        } catch (IllegalArgumentException e) {
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        if (response == null) {
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        resp.setStatus(response.getStatus());
+        resp.setHeader("ETag", response.getEtag());
+        resp.setHeader("Cache-Control", "max-age=60");
+        if (response.getEtag().equals(req.getHeader("If-None-Match"))) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        resp.setContentType("application/json");
+        resp.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resp.setContentLength(response.getBody().length);
+        resp.getOutputStream().write(response.getBody());
+    }
+}
@@ -0,0 +1,99 @@
+package com.aem.cinema.react.core.servlets;
+
+import com.aem.cinema.react.core.services.ModelValidator;
+import com.aem.cinema.react.core.services.PosterRenditionService;
+import com.aem.cinema.react.core.utils.PosterUtils;
+import com.day.cq.dam.api.DamConstants;
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.SlingHttpServletResponse;
+import org.apache.sling.api.servlets.HttpConstants;
+import org.apache.sling.api.servlets.SlingSafeMethodsServlet;
+import org.apache.sling.servlets.annotations.SlingServletResourceTypes;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+
+import javax.servlet.Servlet;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Serves resized posters, e.g. {@code /content/dam/.../poster.jpg.poster.480.jpg}.
+ * Renditions come from the disk cache of the {@link PosterRenditionService} and are
+ * copied to the response with {@link FileChannel#transferTo}, without going through
+ * a heap buffer where the container allows it.
+ * <p>
+ * The URL does not change with the asset, so renditions are only cached for a
+ * few minutes and then revalidated with their ETag, which names the asset version.
+ */
+@Component(service = { Servlet.class })
+@SlingServletResourceTypes(
+        resourceTypes = DamConstants.NT_DAM_ASSET,
+        methods = HttpConstants.METHOD_GET,
+        selectors = PosterUtils.SELECTOR,
+        extensions = PosterUtils.EXTENSION)
+@ServiceDescription("Poster rendition servlet")
+public class PosterRenditionServlet extends SlingSafeMethodsServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    // The URL is not versioned, so a changed poster shows up at the latest after this
+    private static final String CACHE_CONTROL = "max-age=300";
+
+    @Reference
+    private transient PosterRenditionService posterRenditionService;
+
+    @Override
+    protected void doGet(final SlingHttpServletRequest req,
+            final SlingHttpServletResponse resp) throws IOException {
+        String[] selectors = req.getRequestPathInfo().getSelectors();
+        int width = selectors.length == 2 ? parseWidth(selectors[1]) : -1;
+        if (!PosterUtils.isSupportedWidth(width)) {
+            // Arbitrary widths would let anyone fill up the disk cache
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        Path rendition = posterRenditionService.getRendition(req.getResource(), width);
+        if (rendition == null) {
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // The file name holds the width and the asset version, see PosterRenditionServiceImpl
+        ModelValidator validator = new ModelValidator("\"" + rendition.getFileName() + "\"",
+                Files.getLastModifiedTime(rendition).toMillis());
+        resp.setHeader("ETag", validator.getEtag());
+        resp.setDateHeader("Last-Modified", validator.getLastModified());
+        resp.setHeader("Cache-Control", CACHE_CONTROL);
+        if (validator.isNotModifiedSince(req)) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        resp.setContentType("image/jpeg");
+        try (FileChannel channel = FileChannel.open(rendition, StandardOpenOption.READ)) {
+            long size = channel.size();
+            resp.setContentLengthLong(size);
+            WritableByteChannel out = Channels.newChannel(resp.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+
+    private static int parseWidth(String selector) {
+        try {
+            return Integer.parseInt(selector);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.aem.cinema.react.core.servlets;
+
+import com.aem.cinema.react.core.services.LatencyStats;
+import com.aem.cinema.react.core.services.RequestLatencyService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.SlingHttpServletResponse;
+import org.apache.sling.api.servlets.SlingSafeMethodsServlet;
+import org.apache.sling.servlets.annotations.SlingServletPaths;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+
+import javax.servlet.Servlet;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes the request latency percentiles as JSON, slowest p99 first. Mounted
+ * below /bin, which the dispatcher does not forward, so it is only reachable on
+ * the instances themselves.
+ */
+@Component(service = { Servlet.class })
+@SlingServletPaths(RequestLatencyServlet.PATH)
+@ServiceDescription("Request latency servlet")
+public class RequestLatencyServlet extends SlingSafeMethodsServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String PATH = "/bin/aem-cinema-react/latency";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Reference
+    private transient RequestLatencyService requestLatencyService;
+
+    @Override
+    protected void doGet(final SlingHttpServletRequest req,
+            final SlingHttpServletResponse resp) throws IOException {
+        resp.setContentType("application/json");
+        resp.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resp.setHeader("Cache-Control", "no-store");
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(resp.getWriter())) {
+            json.writeStartObject();
+            json.writeStringField("unit", "microseconds");
+            json.writeArrayFieldStart("histograms");
+            for (LatencyStats stats : requestLatencyService.getStats()) {
+                json.writeStartObject();
+                json.writeStringField("resourceType", stats.getResourceType());
+                json.writeStringField("selectors", stats.getSelectorString());
+                json.writeStringField("extension", stats.getExtension());
+                json.writeNumberField("count", stats.getCount());
+                json.writeNumberField("p50", stats.getP50());
+                json.writeNumberField("p95", stats.getP95());
+                json.writeNumberField("p99", stats.getP99());
+                json.writeNumberField("max", stats.getMax());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.aem.cinema.react.core.servlets;
+
+import com.aem.cinema.react.core.services.Showtime;
+import com.aem.cinema.react.core.services.ShowtimeSchedule;
+import com.aem.cinema.react.core.services.ShowtimeService;
+import com.aem.cinema.react.core.utils.ShowtimeUtils;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.SlingHttpServletResponse;
+import org.apache.sling.api.servlets.HttpConstants;
+import org.apache.sling.api.servlets.SlingSafeMethodsServlet;
+import org.apache.sling.servlets.annotations.SlingServletResourceTypes;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+
+import javax.servlet.Servlet;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Answers session queries from the {@link ShowtimeSchedule}:
+ * <ul>
+ *     <li>{@code home/jcr:content.showtimes.now.json} - sessions running right now</li>
+ *     <li>{@code home/jcr:content.showtimes.next.json?count=5} - the next sessions to start</li>
+ *     <li>{@code home/jcr:content.showtimes.window.json?from=...&to=...&count=50} - the first sessions starting in the window</li>
+ * </ul>
+ * Every query takes an optional {@code at}, and times are given as ISO-8601 or epoch millis.
+ * Lists are capped at {@value #MAX_COUNT} sessions.
+ * Responses are only cached for a minute, as they depend on the current time.
+ */
+@Component(service = { Servlet.class })
+@SlingServletResourceTypes(
+        resourceTypes = "aem-cinema-react/components/page",
+        methods = HttpConstants.METHOD_GET,
+        selectors = ShowtimeServlet.SELECTOR,
+        extensions = "json")
+@ServiceDescription("Showtime servlet")
+public class ShowtimeServlet extends SlingSafeMethodsServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String SELECTOR = "showtimes";
+
+    private static final String NOW = "now";
+    private static final String NEXT = "next";
+    private static final String WINDOW = "window";
+
+    private static final int DEFAULT_COUNT = 10;
+    private static final int MAX_COUNT = 100;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Reference
+    private transient ShowtimeService showtimeService;
+
+    transient LongSupplier clock = System::currentTimeMillis;
+
+    @Override
+    protected void doGet(final SlingHttpServletRequest req,
+            final SlingHttpServletResponse resp) throws IOException {
+        String[] selectors = req.getRequestPathInfo().getSelectors();
+        String query = selectors.length == 2 ? selectors[1] : null;
+        ShowtimeSchedule schedule = showtimeService.getSchedule();
+        List<Showtime> sessions;
+        try {
+            long at = getTime(req, "at", clock.getAsLong());
+            if (NOW.equals(query)) {
+                sessions = schedule.getNowPlaying(at);
+            } else if (NEXT.equals(query)) {
+                sessions = schedule.getNext(at, getCount(req, DEFAULT_COUNT));
+            } else if (WINDOW.equals(query)) {
+                long from = getTime(req, "from", at);
+                sessions = schedule.getWindow(from, getTime(req, "to", from + 86_400_000L), getCount(req, MAX_COUNT));
+            } else {
+                resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+        } catch (IllegalArgumentException e) {
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        resp.setContentType("application/json");
+        resp.setCharacterEncoding("UTF-8");
+        resp.setHeader("Cache-Control", "max-age=60");
+        DateTimeFormatter formatter = DateTimeFormatter.ISO_OFFSET_DATE_TIME.withZone(showtimeService.getZoneId());
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(resp.getOutputStream(), JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("items");
+            for (Showtime session : sessions) {
+                json.writeStartObject();
+                json.writeStringField("_path", session.getMovie().getFragmentPath());
+                json.writeStringField("title", session.getMovie().getTitle());
+                json.writeStringField("room", session.getRoom());
+                json.writeStringField("start", formatter.format(Instant.ofEpochMilli(session.getStart())));
+                json.writeStringField("end", formatter.format(Instant.ofEpochMilli(session.getEnd())));
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    private static int getCount(SlingHttpServletRequest req, int defaultValue) {
+        String value = req.getParameter("count");
+        return Math.min(MAX_COUNT, StringUtils.isEmpty(value) ? defaultValue : Integer.parseInt(value));
+    }
+
+    private long getTime(SlingHttpServletRequest req, String name, long defaultValue) {
+        String value = req.getParameter(name);
+        if (StringUtils.isEmpty(value)) {
+            return defaultValue;
+        }
+        long time = ShowtimeUtils.parseTime(value, showtimeService.getZoneId());
+        if (time == ShowtimeUtils.INVALID) {
+            throw new IllegalArgumentException("Invalid time " + value);
+        }
+        return time;
+    }
+}
@@ -0,0 +1,109 @@
+package com.aem.cinema.react.core.utils;
+
+import com.aem.cinema.react.core.services.MovieCatalog;
+import com.aem.cinema.react.core.services.MovieData;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Keeps a state derived from the {@link MovieCatalog} in step with its versions,
+ * shared by the indexes of this bundle. Only the fragments changed between two
+ * catalogs are handed to the {@link Indexer}, which builds the next state as a
+ * new immutable snapshot. The snapshot is published through a volatile field,
+ * so reads never block; only a caller seeing a new catalog takes the lock to
+ * index it.
+ *
+ * @param <S> the immutable state, e.g. a set of bitsets over the movies
+ */
+public final class CatalogFollower<S> {
+
+    /**
+     * Builds the state of a catalog from the state of a previous one.
+     *
+     * @param <S> the immutable state
+     */
+    @FunctionalInterface
+    public interface Indexer<S> {
+
+        /**
+         * @param state        the state of {@code previous}; it is published and must not be modified
+         * @param previous     the catalog the state reflects, or {@code null} for the initial state
+         * @param catalog      the catalog to index
+         * @param changedPaths the fragment paths added, changed or removed between both catalogs
+         * @return the state of {@code catalog}
+         */
+        S index(S state, MovieCatalog previous, MovieCatalog catalog, Set<String> changedPaths);
+    }
+
+    private final Indexer<S> indexer;
+
+    // Only replaced while holding this
+    private volatile Indexed<S> indexed;
+
+    /**
+     * @param initialState the state of an empty catalog
+     */
+    public CatalogFollower(S initialState, Indexer<S> indexer) {
+        this.indexer = indexer;
+        this.indexed = new Indexed<>(null, initialState);
+    }
+
+    /**
+     * @return the state of the catalog, indexed first if the catalog is not the one last indexed
+     */
+    public S get(MovieCatalog catalog) {
+        Indexed<S> current = indexed;
+        if (current.catalog == catalog) {
+            return current.state;
+        }
+        synchronized (this) {
+            current = indexed;
+            if (current.catalog != catalog) {
+                S state = indexer.index(current.state, current.catalog, catalog, getChangedPaths(current.catalog, catalog));
+                current = new Indexed<>(catalog, state);
+                indexed = current;
+            }
+            return current.state;
+        }
+    }
+
+    /**
+     * @return the fragment paths added, changed or removed between both catalogs
+     */
+    static Set<String> getChangedPaths(MovieCatalog previous, MovieCatalog catalog) {
+        Set<String> changedPaths = new LinkedHashSet<>();
+        if (previous == null) {
+            for (MovieData movie : catalog.getMovies()) {
+                changedPaths.add(movie.getFragmentPath());
+            }
+            return changedPaths;
+        }
+        if (catalog.getChangedPaths() != null && catalog.getVersion() == previous.getVersion() + 1) {
+            return catalog.getChangedPaths();
+        }
+        // Versions were skipped; unchanged fragments share their MovieData instance, so compare references
+        for (MovieData movie : catalog.getMovies()) {
+            if (previous.getMovie(movie.getFragmentPath()) != movie) {
+                changedPaths.add(movie.getFragmentPath());
+            }
+        }
+        for (MovieData movie : previous.getMovies()) {
+            if (catalog.getMovie(movie.getFragmentPath()) == null) {
+                changedPaths.add(movie.getFragmentPath());
+            }
+        }
+        return changedPaths;
+    }
+
+    private static final class Indexed<S> {
+
+        private final MovieCatalog catalog;
+        private final S state;
+
+        private Indexed(MovieCatalog catalog, S state) {
+            this.catalog = catalog;
+            this.state = state;
+        }
+    }
+}
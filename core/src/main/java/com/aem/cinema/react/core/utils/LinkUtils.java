@@ -0,0 +1,40 @@
+package com.aem.cinema.react.core.utils;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Normalizes the internal and external links authored on carousel slides and
+ * highlights.
+ */
+public final class LinkUtils {
+
+    private static final String HTML_EXTENSION = ".html";
+
+    private LinkUtils() {
+        // static methods only
+    }
+
+    /**
+     * Appends {@code .html} to an internal link unless it already ends with it.
+     *
+     * @return the link, or {@code null} if it is empty
+     */
+    public static String toInternalLink(String link) {
+        if (StringUtils.isEmpty(link)) {
+            return null;
+        }
+        return link.endsWith(HTML_EXTENSION) ? link : link + HTML_EXTENSION;
+    }
+
+    /**
+     * Prefixes an external link with {@code http://} unless it already has a scheme.
+     *
+     * @return the link, or {@code null} if it is empty
+     */
+    public static String toExternalLink(String link) {
+        if (StringUtils.isEmpty(link)) {
+            return null;
+        }
+        return link.startsWith("http://") || link.startsWith("https://") ? link : "http://" + link;
+    }
+}
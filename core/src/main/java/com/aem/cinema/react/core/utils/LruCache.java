@@ -0,0 +1,113 @@
+package com.aem.cinema.react.core.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+
+/**
+ * Bounded map that evicts the least recently used entry, shared by the caches
+ * of this bundle. Every invalidation bumps a generation. A caller reads
+ * {@link #getGeneration()} before loading a value from the repository and
+ * stores it with {@link #putIfCurrent}, which drops the value if an
+ * invalidation ran in between, so a load racing with a change is never cached.
+ *
+ * @param <K> the cache key, e.g. a resource path
+ * @param <V> the cached value
+ */
+public final class LruCache<K, V> {
+
+    // Guarded by this
+    private final LinkedHashMap<K, V> entries;
+
+    // Guarded by this
+    private int maxEntries;
+
+    // Only changed while holding this, so a put checking it cannot interleave with an invalidation
+    private volatile long generation;
+
+    public LruCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > LruCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Empties the cache and changes its bound, e.g. when the owning component is reconfigured.
+     */
+    public synchronized void resize(int maxEntries) {
+        generation++;
+        this.maxEntries = maxEntries;
+        entries.clear();
+    }
+
+    /**
+     * @return the cached value, or {@code null} on a miss
+     */
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * @return the current generation, to be passed to {@link #putIfCurrent} once the value is loaded
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Caches the value unless the cache was invalidated since {@code loadGeneration} was read.
+     *
+     * @return {@code true} if the value was cached
+     */
+    public synchronized boolean putIfCurrent(K key, V value, long loadGeneration) {
+        if (loadGeneration != generation) {
+            return false;
+        }
+        entries.put(key, value);
+        return true;
+    }
+
+    /**
+     * Removes every entry matching the predicate.
+     */
+    public synchronized void invalidate(BiPredicate<? super K, ? super V> predicate) {
+        generation++;
+        entries.entrySet().removeIf(entry -> predicate.test(entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Replaces every entry by the result of the function, e.g. to mark entries
+     * stale instead of removing them.
+     */
+    public synchronized void invalidateAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        generation++;
+        entries.replaceAll(function);
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return {@code true} if a change at {@code changedPath} affects the entry of
+     *         {@code cachedPath}: the changed path is the same, one of its ancestors
+     *         or below it
+     */
+    public static boolean isRelated(String cachedPath, String changedPath) {
+        return cachedPath.equals(changedPath)
+                || cachedPath.startsWith(changedPath + "/")
+                || changedPath.startsWith(cachedPath + "/");
+    }
+}
@@ -0,0 +1,52 @@
+package com.aem.cinema.react.core.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Builds the URLs of the resized poster renditions served by the
+ * PosterRenditionServlet, e.g. {@code /content/dam/.../poster.jpg.poster.480.jpg}.
+ * The frontend renders the exported {@code posterSrcset} as is, so the widths live here only.
+ */
+public final class PosterUtils {
+
+    public static final String SELECTOR = "poster";
+
+    public static final String EXTENSION = "jpg";
+
+    // Card, retina card and detail page widths; the servlet refuses every other width
+    private static final int[] WIDTHS = { 240, 480, 960 };
+
+    private PosterUtils() {
+        // static methods only
+    }
+
+    public static boolean isSupportedWidth(int width) {
+        for (int supported : WIDTHS) {
+            if (supported == width) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static String getRenditionUrl(String posterPath, int width) {
+        return posterPath + "." + SELECTOR + "." + width + "." + EXTENSION;
+    }
+
+    /**
+     * @return the {@code srcset} candidates of the poster, e.g. {@code ".../poster.jpg.poster.240.jpg 240w"},
+     *         or an empty list if there is no poster
+     */
+    public static List<String> getSrcset(String posterPath) {
+        if (posterPath == null || posterPath.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> srcset = new ArrayList<>(WIDTHS.length);
+        for (int width : WIDTHS) {
+            srcset.add(getRenditionUrl(posterPath, width) + " " + width + "w");
+        }
+        return srcset;
+    }
+}
@@ -0,0 +1,44 @@
+package com.aem.cinema.react.core.utils;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Helpers for the session times of the showtime schedule.
+ */
+public final class ShowtimeUtils {
+
+    /**
+     * Returned by {@link #parseTime(String, ZoneId)} for values that are not a time.
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private ShowtimeUtils() {
+        // static methods only
+    }
+
+    /**
+     * Parses an ISO-8601 date-time, with an offset or in the given zone, or epoch millis.
+     *
+     * @return the epoch millis, or {@link #INVALID}
+     */
+    public static long parseTime(String value, ZoneId zoneId) {
+        String time = StringUtils.trimToEmpty(value);
+        if (StringUtils.isNumeric(time)) {
+            return time.length() < 19 ? Long.parseLong(time) : INVALID;
+        }
+        try {
+            return LocalDateTime.parse(time).atZone(zoneId).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            try {
+                return OffsetDateTime.parse(time).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e2) {
+                return INVALID;
+            }
+        }
+    }
+}
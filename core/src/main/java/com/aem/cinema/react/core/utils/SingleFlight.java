@@ -0,0 +1,78 @@
+package com.aem.cinema.react.core.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key into one computation. The first
+ * caller of a key runs the loader on its own thread and every caller arriving
+ * while it runs shares its result. Callers that still hold a previous value get
+ * that back immediately instead of waiting (stale-while-revalidate); the others
+ * wait at most the timeout and then load on their own. If the running load
+ * fails, its waiters get the same exception instead of each retrying it.
+ *
+ * @param <K> the key identifying one computation, e.g. a path and a version
+ * @param <V> the computed value
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final long timeoutMillis;
+
+    /**
+     * @param timeoutMillis how long a caller without a previous value waits for a running load
+     */
+    public SingleFlight(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Returns the value of {@code key}, running {@code loader} unless a load of the
+     * same key is already in flight.
+     *
+     * @param staleValue the previous value, returned while another caller reloads it,
+     *                   or {@code null} to wait for the running load
+     * @return the loaded value, which may be {@code null} if the loader returns it
+     * @throws RuntimeException thrown by the loader, also to the callers waiting for it
+     */
+    public V load(K key, Supplier<V> loader, V staleValue) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, call);
+        if (running == null) {
+            try {
+                V value = loader.get();
+                call.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                call.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, call);
+            }
+        }
+
+        if (staleValue != null) {
+            return staleValue;
+        }
+        try {
+            return running.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return loader.get();
+        } catch (ExecutionException e) {
+            // The leader failed; retrying the same load from every waiter would only multiply the failure
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw (Error) e.getCause();
+        }
+    }
+}
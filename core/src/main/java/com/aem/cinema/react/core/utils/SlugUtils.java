@@ -0,0 +1,39 @@
+package com.aem.cinema.react.core.utils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Turns movie titles and filter values into URL slugs. Mirrors
+ * {@code formatTitleForUrl} in MovieDisplay.js, so slugs built on the server
+ * match the ones the React app puts into URLs.
+ */
+public final class SlugUtils {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("[\\u0300-\\u036f]");
+    private static final Pattern INVALID_CHARACTERS = Pattern.compile("[^a-z0-9\\s-]");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern HYPHENS = Pattern.compile("-+");
+
+    private SlugUtils() {
+        // static methods only
+    }
+
+    /**
+     * Lower-cases the value, strips accents and replaces whitespace with hyphens,
+     * e.g. "Ação e Aventura" becomes "acao-e-aventura".
+     *
+     * @return the slug, or an empty string for {@code null}
+     */
+    public static String toSlug(String value) {
+        if (value == null) {
+            return "";
+        }
+        String slug = Normalizer.normalize(value.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        slug = COMBINING_MARKS.matcher(slug).replaceAll("");
+        slug = INVALID_CHARACTERS.matcher(slug).replaceAll("");
+        slug = WHITESPACE.matcher(slug).replaceAll("-");
+        return HYPHENS.matcher(slug).replaceAll("-");
+    }
+}
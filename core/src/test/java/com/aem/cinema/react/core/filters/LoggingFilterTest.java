@@ -29,6 +29,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import com.aem.cinema.react.core.services.RequestLatencyService;
+
 import io.wcm.testing.mock.aem.junit5.AemContext;
 import io.wcm.testing.mock.aem.junit5.AemContextExtension;
 import uk.org.lidalia.slf4jext.Level;
@@ -37,7 +39,10 @@ import uk.org.lidalia.slf4jtest.TestLogger;
 import uk.org.lidalia.slf4jtest.TestLoggerFactory;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(AemContextExtension.class)
 class LoggingFilterTest {
@@ -46,8 +51,12 @@ class LoggingFilterTest {
 
     private TestLogger logger = TestLoggerFactory.getTestLogger(fixture.getClass());
 
+    private RequestLatencyService requestLatencyService = mock(RequestLatencyService.class);
+
     @BeforeEach
-    void setup() {
+    void setup(AemContext context) {
+        context.registerService(RequestLatencyService.class, requestLatencyService);
+        context.registerInjectActivateService(fixture);
         TestLoggerFactory.clear();
     }
 
@@ -73,4 +82,17 @@ class LoggingFilterTest {
         assertEquals("/content/test", event.getArguments().get(0));
         assertEquals("selectors", event.getArguments().get(1));
     }
+
+    @Test
+    void recordsLatencyPerResourceType(AemContext context) throws IOException, ServletException {
+        context.create().resource("/content/test", "sling:resourceType", "aem-cinema-react/components/carousel");
+        context.currentResource("/content/test");
+        MockRequestPathInfo requestPathInfo = (MockRequestPathInfo) context.request().getRequestPathInfo();
+        requestPathInfo.setSelectorString("model");
+        requestPathInfo.setExtension("json");
+
+        fixture.doFilter(context.request(), context.response(), mock(FilterChain.class));
+
+        verify(requestLatencyService).record(eq("aem-cinema-react/components/carousel"), eq("model"), eq("json"), anyLong());
+    }
 }
@@ -0,0 +1,73 @@
+package com.aem.cinema.react.core.listeners;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.aem.cinema.react.core.services.ComponentExportCache;
+import com.aem.cinema.react.core.services.FragmentReferenceIndex;
+import com.aem.cinema.react.core.services.ImageRenditionService;
+import com.aem.cinema.react.core.services.MovieCatalogService;
+import com.aem.cinema.react.core.services.MovieFragmentCache;
+import com.aem.cinema.react.core.services.NewsFeedService;
+import com.aem.cinema.react.core.services.PersistedQueryService;
+
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+
+@ExtendWith(AemContextExtension.class)
+class FragmentChangeHandlerTest {
+
+    private static final String DUNA = "/content/dam/aem-cinema-react/filmes/duna";
+    private static final String BARBIE = "/content/dam/aem-cinema-react/filmes/barbie";
+    private static final String HOME = "/content/aem-cinema-react/us/en/home";
+
+    private FragmentChangeHandler fixture = new FragmentChangeHandler();
+
+    private MovieFragmentCache movieFragmentCache = mock(MovieFragmentCache.class);
+
+    private MovieCatalogService movieCatalogService = mock(MovieCatalogService.class);
+
+    private NewsFeedService newsFeedService = mock(NewsFeedService.class);
+
+    private ComponentExportCache componentExportCache = mock(ComponentExportCache.class);
+
+    private ImageRenditionService imageRenditionService = mock(ImageRenditionService.class);
+
+    private PersistedQueryService persistedQueryService = mock(PersistedQueryService.class);
+
+    private FragmentReferenceIndex fragmentReferenceIndex = mock(FragmentReferenceIndex.class);
+
+    @BeforeEach
+    void setup(AemContext context) {
+        context.registerService(MovieFragmentCache.class, movieFragmentCache);
+        context.registerService(MovieCatalogService.class, movieCatalogService);
+        context.registerService(NewsFeedService.class, newsFeedService);
+        context.registerService(ComponentExportCache.class, componentExportCache);
+        context.registerService(ImageRenditionService.class, imageRenditionService);
+        context.registerService(PersistedQueryService.class, persistedQueryService);
+        context.registerService(FragmentReferenceIndex.class, fragmentReferenceIndex);
+        context.registerInjectActivateService(fixture);
+    }
+
+    @Test
+    void invalidatesChangedFragmentsAndTheirComponents() {
+        when(fragmentReferenceIndex.getReferencingComponents(DUNA)).thenReturn(Set.of(HOME + "/jcr:content/root/movie"));
+
+        fixture.handle(Set.of(DUNA, BARBIE));
+
+        verify(movieFragmentCache).invalidate(DUNA);
+        verify(movieCatalogService).invalidate(DUNA);
+        verify(newsFeedService).invalidate(DUNA);
+        verify(componentExportCache).invalidate(DUNA);
+        verify(imageRenditionService).invalidate(BARBIE);
+        verify(persistedQueryService).invalidate(BARBIE);
+        verify(componentExportCache).invalidate(HOME + "/jcr:content/root/movie");
+    }
+}
@@ -0,0 +1,72 @@
+package com.aem.cinema.react.core.listeners;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.osgi.service.event.Event;
+
+import com.aem.cinema.react.core.services.DispatcherFlushService;
+import com.aem.cinema.react.core.services.FragmentReferenceIndex;
+import com.day.cq.replication.ReplicationAction;
+import com.day.cq.replication.ReplicationActionType;
+
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+
+@ExtendWith(AemContextExtension.class)
+class ReplicationFlushListenerTest {
+
+    private static final String DUNA = "/content/dam/aem-cinema-react/filmes/duna";
+    private static final String BARBIE = "/content/dam/aem-cinema-react/filmes/barbie";
+    private static final String HOME = "/content/aem-cinema-react/us/en/home";
+
+    private ReplicationFlushListener fixture = new ReplicationFlushListener();
+
+    private FragmentReferenceIndex fragmentReferenceIndex = mock(FragmentReferenceIndex.class);
+
+    private DispatcherFlushService dispatcherFlushService = mock(DispatcherFlushService.class);
+
+    @BeforeEach
+    void setup(AemContext context) {
+        when(fragmentReferenceIndex.getReferencingPages(DUNA)).thenReturn(Set.of(HOME));
+        when(fragmentReferenceIndex.getReferencingPages(BARBIE)).thenReturn(Set.of(HOME, HOME + "/programacao"));
+
+        context.registerService(FragmentReferenceIndex.class, fragmentReferenceIndex);
+        context.registerService(DispatcherFlushService.class, dispatcherFlushService);
+        context.registerInjectActivateService(fixture);
+    }
+
+    @Test
+    void flushesThePagesOfPublishedFragmentsOnce() {
+        fixture.handleEvent(replicated(ReplicationActionType.ACTIVATE, DUNA, BARBIE, HOME));
+
+        verify(dispatcherFlushService).flush(Set.of(HOME, HOME + "/programacao"));
+    }
+
+    @Test
+    void flushesThePagesOfUnpublishedFragments() {
+        fixture.handleEvent(replicated(ReplicationActionType.DEACTIVATE, DUNA));
+
+        verify(dispatcherFlushService).flush(Set.of(HOME));
+    }
+
+    @Test
+    void skipsTheFlushWithoutReferencingPagesOrContentChange() {
+        fixture.handleEvent(replicated(ReplicationActionType.ACTIVATE, "/content/dam/aem-cinema-react/filmes/unused"));
+        fixture.handleEvent(replicated(ReplicationActionType.TEST, DUNA));
+
+        verify(dispatcherFlushService, never()).flush(any());
+    }
+
+    private static Event replicated(ReplicationActionType type, String... paths) {
+        return new ReplicationAction(type, paths, System.currentTimeMillis(), "admin", null).toEvent();
+    }
+}
@@ -17,25 +17,43 @@ package com.aem.cinema.react.core.listeners;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 import java.util.Arrays;
 import java.util.List;
 
 import org.apache.sling.api.resource.observation.ResourceChange;
 import org.apache.sling.api.resource.observation.ResourceChange.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 
+import com.aem.cinema.react.core.services.ChangePipeline;
+
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
 import uk.org.lidalia.slf4jext.Level;
 import uk.org.lidalia.slf4jtest.LoggingEvent;
 import uk.org.lidalia.slf4jtest.TestLogger;
 import uk.org.lidalia.slf4jtest.TestLoggerFactory;
 
+@ExtendWith(AemContextExtension.class)
 class SimpleResourceListenerTest {
 
     private SimpleResourceListener fixture = new SimpleResourceListener();
 
     private TestLogger logger = TestLoggerFactory.getTestLogger(fixture.getClass());
 
+    private ChangePipeline changePipeline = mock(ChangePipeline.class);
+
+    @BeforeEach
+    void setup(AemContext context) {
+        context.registerService(ChangePipeline.class, changePipeline);
+        context.registerInjectActivateService(fixture);
+        TestLoggerFactory.clear();
+    }
+
     @Test
     void handleEvent() {
         
@@ -55,4 +73,12 @@ class SimpleResourceListenerTest {
                 () -> assertEquals(Boolean.FALSE,event.getArguments().get(2))
         );
     }
+
+    @Test
+    void queuesChangedFragments() {
+        fixture.onChange(Arrays.asList(
+                new ResourceChange(ChangeType.CHANGED, "/content/dam/aem-cinema-react/filmes/duna/jcr:content/data/master", false)));
+
+        verify(changePipeline).submit("/content/dam/aem-cinema-react/filmes/duna/jcr:content/data/master");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+/*
+ *  Copyright 2018 Adobe Systems Incorporated
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.aem.cinema.react.core.schedulers;
+
+import com.day.cq.contentsync.handler.util.RequestResponseFactory;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ResourceResolverFactory;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.api.resource.observation.ResourceChange.ChangeType;
+import org.apache.sling.engine.SlingRequestProcessor;
+import org.apache.sling.testing.mock.osgi.MockOsgi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.osgi.framework.Constants;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(AemContextExtension.class)
+class CacheWarmerTest {
+
+    private static final String HOME = "/content/aem-cinema-react/us/en/home";
+    private static final String PROGRAMACAO = HOME + "/programacao";
+
+    private final SlingRequestProcessor slingRequestProcessor = mock(SlingRequestProcessor.class);
+
+    private final RequestResponseFactory requestResponseFactory = mock(RequestResponseFactory.class);
+
+    @BeforeEach
+    void setup(AemContext context) {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getStatus()).thenReturn(HttpServletResponse.SC_OK);
+        when(requestResponseFactory.createRequest(anyString(), anyString())).thenReturn(mock(HttpServletRequest.class));
+        when(requestResponseFactory.createResponse(any(OutputStream.class))).thenReturn(response);
+        context.registerService(SlingRequestProcessor.class, slingRequestProcessor);
+        context.registerService(RequestResponseFactory.class, requestResponseFactory);
+    }
+
+    @Test
+    void warmsTheModelOfEveryPage(AemContext context) throws Exception {
+        CacheWarmer warmer = context.registerInjectActivateService(new CacheWarmer());
+
+        Map<String, Long> timings = warmer.warm(List.of(HOME, PROGRAMACAO));
+
+        assertEquals(2, timings.size());
+        verify(requestResponseFactory).createRequest("GET", HOME + ".model.json");
+        verify(requestResponseFactory).createRequest("GET", PROGRAMACAO + ".model.json");
+    }
+
+    @Test
+    void warmsAsTheAnonymousVisitor(AemContext context) throws Exception {
+        ResourceResolverFactory resourceResolverFactory = mock(ResourceResolverFactory.class);
+        ResourceResolver anonymous = mock(ResourceResolver.class);
+        when(resourceResolverFactory.getResourceResolver(null)).thenReturn(anonymous);
+        context.registerService(ResourceResolverFactory.class, resourceResolverFactory, Constants.SERVICE_RANKING, Integer.MAX_VALUE);
+        CacheWarmer warmer = context.registerInjectActivateService(new CacheWarmer());
+
+        warmer.warm(List.of(HOME));
+
+        verify(slingRequestProcessor).processRequest(any(HttpServletRequest.class), any(HttpServletResponse.class), eq(anonymous));
+        verify(resourceResolverFactory, never()).getServiceResourceResolver(any());
+        verify(anonymous).close();
+    }
+
+    @Test
+    void coalescesChangesIntoOneRun(AemContext context) throws Exception {
+        CacheWarmer warmer = context.registerInjectActivateService(new CacheWarmer(), "enabled", true, "delay", 200L);
+
+        for (int i = 0; i < 3; i++) {
+            warmer.onChange(List.of(new ResourceChange(ChangeType.CHANGED, HOME + "/jcr:content/root/carousel", false)));
+        }
+
+        verify(slingRequestProcessor, timeout(2000).times(2))
+                .processRequest(any(HttpServletRequest.class), any(HttpServletResponse.class), any(ResourceResolver.class));
+        verify(slingRequestProcessor, after(500).times(2))
+                .processRequest(any(HttpServletRequest.class), any(HttpServletResponse.class), any(ResourceResolver.class));
+    }
+
+    @Test
+    void keepsWarmingAcrossConfigurationChanges(AemContext context) throws Exception {
+        CacheWarmer warmer = context.registerInjectActivateService(new CacheWarmer(), "enabled", true, "delay", 200L);
+        warmer.onChange(List.of(new ResourceChange(ChangeType.CHANGED, HOME, false)));
+
+        MockOsgi.modified(warmer, context.bundleContext(), "enabled", true, "delay", 0L, "concurrency", 4,
+                "pagePaths", new String[] { HOME });
+        warmer.onChange(List.of(new ResourceChange(ChangeType.CHANGED, HOME, false)));
+
+        verify(requestResponseFactory, timeout(2000)).createRequest("GET", PROGRAMACAO + ".model.json");
+        verify(requestResponseFactory, timeout(2000).atLeastOnce()).createRequest("GET", HOME + ".model.json");
+    }
+
+    @Test
+    void ignoresChangesAfterDeactivation(AemContext context) throws Exception {
+        CacheWarmer warmer = context.registerInjectActivateService(new CacheWarmer(), "enabled", true, "delay", 0L);
+        MockOsgi.deactivate(warmer, context.bundleContext());
+
+        warmer.onChange(List.of(new ResourceChange(ChangeType.ADDED, PROGRAMACAO, false)));
+
+        verify(slingRequestProcessor, after(300).never())
+                .processRequest(any(HttpServletRequest.class), any(HttpServletResponse.class), any(ResourceResolver.class));
+    }
+
+    @Test
+    void ignoresChangesWhenDisabled(AemContext context) throws Exception {
+        CacheWarmer warmer = context.registerInjectActivateService(new CacheWarmer(), "enabled", false, "delay", 0L);
+
+        warmer.onChange(List.of(new ResourceChange(ChangeType.ADDED, PROGRAMACAO, false)));
+
+        verify(slingRequestProcessor, after(300).never())
+                .processRequest(any(HttpServletRequest.class), any(HttpServletResponse.class), any(ResourceResolver.class));
+    }
+}
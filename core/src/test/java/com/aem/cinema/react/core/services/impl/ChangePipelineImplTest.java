@@ -0,0 +1,94 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.ChangeBatchHandler;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.testing.mock.osgi.MockOsgi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(AemContextExtension.class)
+class ChangePipelineImplTest {
+
+    private static final String FOLDER = "/content/dam/aem-cinema-react/filmes";
+
+    private final ChangeBatchHandler handler = mock(ChangeBatchHandler.class);
+
+    private ChangePipelineImpl pipeline;
+
+    @BeforeEach
+    void setup(AemContext context) {
+        context.registerService(ChangeBatchHandler.class, handler);
+        pipeline = context.registerInjectActivateService(new ChangePipelineImpl(),
+                "debounce", 100L, "maxDelay", 1000L, "capacity", 3);
+    }
+
+    @Test
+    void coalescesABurstIntoOneBatch() {
+        pipeline.submit(FOLDER + "/duna/jcr:content/data/master");
+        pipeline.submit(FOLDER + "/duna/jcr:content/metadata");
+        pipeline.submit(FOLDER + "/barbie");
+
+        verify(handler, timeout(2000)).handle(Set.of(FOLDER + "/duna", FOLDER + "/barbie"));
+        verify(handler, after(300).times(1)).handle(any());
+        assertEquals(0, pipeline.getQueueDepth());
+        assertEquals(1, pipeline.getBatchCount());
+        assertEquals(2, pipeline.getProcessedCount());
+        assertTrue(pipeline.getLastBatchLag() >= 100);
+    }
+
+    @Test
+    void foldsOverflowIntoACommonAncestor() {
+        for (String name : List.of("duna", "barbie", "oppenheimer", "wonka", "napoleao")) {
+            pipeline.submit(FOLDER + "/" + name + "/jcr:content");
+        }
+
+        assertEquals(3, pipeline.getQueueDepth());
+        assertEquals(2, pipeline.getOverflowCount());
+        verify(handler, timeout(2000)).handle(Set.of(FOLDER));
+    }
+
+    @Test
+    void keepsProcessingAcrossConfigurationChanges(AemContext context) {
+        pipeline.submit(FOLDER + "/duna");
+        MockOsgi.modified(pipeline, context.bundleContext(), "debounce", 50L, "maxDelay", 1000L, "capacity", 3);
+        pipeline.submit(FOLDER + "/barbie");
+
+        verify(handler, timeout(2000)).handle(Set.of(FOLDER + "/duna", FOLDER + "/barbie"));
+        pipeline.submit(FOLDER + "/wonka");
+        verify(handler, timeout(2000)).handle(Set.of(FOLDER + "/wonka"));
+    }
+
+    @Test
+    void ignoresChangesAfterDeactivation(AemContext context) {
+        MockOsgi.deactivate(pipeline, context.bundleContext());
+
+        pipeline.submit(FOLDER + "/duna");
+
+        assertEquals(0, pipeline.getCurrentLag());
+    }
+
+    @Test
+    void dropsPathsBelowAnotherPath() {
+        assertEquals(Set.of(FOLDER, FOLDER + "-antigos", "/content/aem-cinema-react/us/en/home"),
+                ChangePipelineImpl.coalesce(List.of(
+                        FOLDER + "/duna/jcr:content/data",
+                        FOLDER,
+                        FOLDER + "-antigos",
+                        "/content/aem-cinema-react/us/en/home/jcr:content/root")));
+        assertEquals(FOLDER, ChangePipelineImpl.getCommonAncestor(FOLDER + "/duna", FOLDER + "/barbie/jcr:content"));
+        assertEquals("/", ChangePipelineImpl.getCommonAncestor("/content", "/etc"));
+    }
+}
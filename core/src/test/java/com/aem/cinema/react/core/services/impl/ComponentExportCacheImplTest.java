@@ -0,0 +1,125 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.adobe.cq.export.json.ComponentExporter;
+import com.aem.cinema.react.core.testcontext.AppAemContext;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.models.factory.ModelFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.osgi.framework.Constants;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Calendar;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(AemContextExtension.class)
+class ComponentExportCacheImplTest {
+
+    private static final String PAGE = "/content/aem-cinema-react/us/en/home";
+    private static final String CAROUSEL = PAGE + "/jcr:content/root/carousel";
+    private static final String FRAGMENT = "/content/dam/aem-cinema-react/movies-/duna";
+
+    private final AemContext context = AppAemContext.newAemContext();
+
+    private final ModelFactory modelFactory = mock(ModelFactory.class);
+
+    private ComponentExportCacheImpl cache;
+
+    private Resource carousel;
+
+    @BeforeEach
+    void setup() throws Exception {
+        context.create().page(PAGE);
+        carousel = context.create().resource(CAROUSEL, "sling:resourceType", "aem-cinema-react/components/carousel");
+        context.create().resource(CAROUSEL + "/movieAssets/item0", "fragmentPath", FRAGMENT);
+
+        ComponentExporter model = mock(ComponentExporter.class);
+        when(modelFactory.getModelFromWrappedRequest(any(), any(Resource.class), eq(ComponentExporter.class))).thenReturn(model);
+        when(modelFactory.exportModel(eq(model), anyString(), eq(String.class), anyMap())).thenReturn("{\"movies\":[]}");
+        context.registerService(ModelFactory.class, modelFactory, Constants.SERVICE_RANKING, Integer.MAX_VALUE);
+
+        cache = context.registerInjectActivateService(new ComponentExportCacheImpl());
+    }
+
+    @Test
+    void exportsOnceUntilTheComponentIsModified() throws Exception {
+        byte[] expected = "{\"movies\":[]}".getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(expected, cache.getExport(context.request(), carousel));
+        assertArrayEquals(expected, cache.getExport(context.request(), carousel));
+        verify(modelFactory, times(1)).exportModel(any(), anyString(), eq(String.class), anyMap());
+
+        carousel.adaptTo(ModifiableValueMap.class).put("jcr:lastModified", Calendar.getInstance());
+        cache.getExport(context.request(), carousel);
+        verify(modelFactory, times(2)).exportModel(any(), anyString(), eq(String.class), anyMap());
+    }
+
+    @Test
+    void evictsExportsReferencingAChangedFragment() throws Exception {
+        cache.getExport(context.request(), carousel);
+
+        cache.invalidate("/content/dam/aem-cinema-react/movies-/barbie");
+        cache.getExport(context.request(), carousel);
+        verify(modelFactory, times(1)).exportModel(any(), anyString(), eq(String.class), anyMap());
+
+        cache.invalidate(FRAGMENT + "/jcr:content/data/master");
+        cache.getExport(context.request(), carousel);
+        verify(modelFactory, times(2)).exportModel(any(), anyString(), eq(String.class), anyMap());
+    }
+
+    @Test
+    void servesTheStaleExportWhileItIsRebuilt() throws Exception {
+        byte[] stale = cache.getExport(context.request(), carousel);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(modelFactory.exportModel(any(), anyString(), eq(String.class), anyMap())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "{\"movies\":[\"duna\"]}";
+        });
+        cache.invalidate(FRAGMENT);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<byte[]> rebuild = executor.submit(() -> cache.getExport(context.request(), carousel));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertArrayEquals(stale, cache.getExport(context.request(), carousel));
+
+            release.countDown();
+            byte[] fresh = "{\"movies\":[\"duna\"]}".getBytes(StandardCharsets.UTF_8);
+            assertArrayEquals(fresh, rebuild.get(5, TimeUnit.SECONDS));
+            assertArrayEquals(fresh, cache.getExport(context.request(), carousel));
+            verify(modelFactory, times(2)).exportModel(any(), anyString(), eq(String.class), anyMap());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void ignoresComponentsThatAreNotConfigured() {
+        Resource title = context.create().resource(PAGE + "/jcr:content/root/title", "sling:resourceType", "aem-cinema-react/components/title");
+
+        assertNull(cache.getExport(context.request(), title));
+    }
+}
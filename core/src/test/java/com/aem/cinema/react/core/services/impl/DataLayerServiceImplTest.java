@@ -0,0 +1,126 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.DataLayerEntry;
+import com.aem.cinema.react.core.testcontext.AppAemContext;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.apache.sling.api.resource.PersistenceException;
+import org.apache.sling.api.resource.Resource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(AemContextExtension.class)
+class DataLayerServiceImplTest {
+
+    private static final String PAGE = "/content/aem-cinema-react/us/en/home";
+    private static final String HIGHLIGHT_TYPE = "aem-cinema-react/components/highlight";
+    private static final String CAROUSEL_TYPE = "aem-cinema-react/components/carousel";
+
+    private final AemContext context = AppAemContext.newAemContext();
+
+    private DataLayerServiceImpl service;
+
+    private Resource highlight;
+
+    @BeforeEach
+    void setup() {
+        context.create().page(PAGE);
+        highlight = context.create().resource(PAGE + "/jcr:content/root/highlight",
+                "sling:resourceType", HIGHLIGHT_TYPE,
+                "title", "Estreias",
+                "internalLink", PAGE + "/programacao",
+                "jcr:lastModified", calendar(1_000L));
+        context.create().resource(PAGE + "/jcr:content/root/carousel",
+                "sling:resourceType", CAROUSEL_TYPE);
+        context.create().resource(PAGE + "/jcr:content/root/text",
+                "sling:resourceType", "aem-cinema-react/components/text");
+
+        service = context.registerInjectActivateService(new DataLayerServiceImpl(), "pageLevel", true);
+    }
+
+    @Test
+    void buildsImmutableEntryOncePerVersion() throws PersistenceException {
+        DataLayerEntry entry = service.getEntry(highlight, HIGHLIGHT_TYPE);
+
+        String id = "highlight-" + Math.abs(highlight.getPath().hashCode());
+        assertEquals(id, entry.getId());
+        assertEquals(HIGHLIGHT_TYPE, entry.getProperties().get("@type"));
+        assertEquals("Estreias", entry.getProperties().get("dc:title"));
+        assertEquals(PAGE + "/programacao.html", entry.getProperties().get("xdm:linkURL"));
+        assertSame(entry.getProperties(), entry.getDataLayer().get(id));
+        assertSame(entry, service.getEntry(context.resourceResolver().getResource(highlight.getPath()), HIGHLIGHT_TYPE));
+
+        highlight.adaptTo(ModifiableValueMap.class).put("jcr:lastModified", calendar(2_000L));
+        context.resourceResolver().commit();
+        assertNotSame(entry, service.getEntry(highlight, HIGHLIGHT_TYPE));
+    }
+
+    @Test
+    void rebuildsAfterInvalidation() {
+        DataLayerEntry entry = service.getEntry(highlight, HIGHLIGHT_TYPE);
+
+        service.invalidate(PAGE + "/jcr:content/root/carousel");
+        assertSame(entry, service.getEntry(highlight, HIGHLIGHT_TYPE));
+
+        service.invalidate(PAGE);
+        assertNotSame(entry, service.getEntry(highlight, HIGHLIGHT_TYPE));
+    }
+
+    @Test
+    void aggregatesTrackedComponentsOfThePage() {
+        Map<String, Object> dataLayer = service.getPageDataLayer(context.resourceResolver().getResource(PAGE));
+
+        assertEquals(List.of(
+                "highlight-" + Math.abs(highlight.getPath().hashCode()),
+                "carousel-" + Math.abs((PAGE + "/jcr:content/root/carousel").hashCode())),
+                List.copyOf(dataLayer.keySet()));
+    }
+
+    @Test
+    void givesCarouselsTheSameFieldsAsHighlights() {
+        Resource carousel = context.create().resource(PAGE + "/jcr:content/root/estreias",
+                "sling:resourceType", CAROUSEL_TYPE,
+                "title", "Estreias da semana",
+                "externalLink", "https://ingressos.example.com",
+                "jcr:lastModified", calendar(1_000L));
+
+        Map<String, Object> properties = service.getEntry(carousel, CAROUSEL_TYPE).getProperties();
+
+        assertEquals(List.of("@type", "id", "dc:title", "repo:modifyDate", "xdm:linkURL"), List.copyOf(properties.keySet()));
+        assertEquals("Estreias da semana", properties.get("dc:title"));
+        assertEquals("https://ingressos.example.com", properties.get("xdm:linkURL"));
+        // Without a title, modification date or link a carousel keeps the fields it had before
+        assertEquals(List.of("@type", "id"), List.copyOf(service.getEntry(
+                context.resourceResolver().getResource(PAGE + "/jcr:content/root/carousel"), CAROUSEL_TYPE)
+                .getProperties().keySet()));
+    }
+
+    @Test
+    void walksThePageOncePerChange() {
+        Resource page = context.resourceResolver().getResource(PAGE);
+        Map<String, Object> dataLayer = service.getPageDataLayer(page);
+
+        assertSame(dataLayer, service.getPageDataLayer(page));
+        assertThrows(UnsupportedOperationException.class, () -> dataLayer.clear());
+
+        service.invalidate(PAGE + "/jcr:content/root/text");
+        assertNotSame(dataLayer, service.getPageDataLayer(page));
+    }
+
+    private static Calendar calendar(long millis) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(millis);
+        return calendar;
+    }
+}
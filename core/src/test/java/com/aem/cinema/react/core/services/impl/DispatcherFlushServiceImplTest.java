@@ -0,0 +1,76 @@
+package com.aem.cinema.react.core.services.impl;
+
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ResourceResolverFactory;
+import org.apache.sling.distribution.DistributionRequest;
+import org.apache.sling.distribution.DistributionRequestType;
+import org.apache.sling.distribution.DistributionResponse;
+import org.apache.sling.distribution.Distributor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.osgi.framework.Constants;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(AemContextExtension.class)
+class DispatcherFlushServiceImplTest {
+
+    private static final String PAGE = "/content/aem-cinema-react/us/en/home/programacao";
+
+    private final ResourceResolverFactory resourceResolverFactory = mock(ResourceResolverFactory.class);
+
+    private final ResourceResolver flushResolver = mock(ResourceResolver.class);
+
+    private final Distributor distributor = mock(Distributor.class);
+
+    @BeforeEach
+    void setup(AemContext context) throws Exception {
+        when(resourceResolverFactory.getServiceResourceResolver(
+                Map.of(ResourceResolverFactory.SUBSERVICE, DispatcherFlushServiceImpl.SUBSERVICE))).thenReturn(flushResolver);
+        DistributionResponse response = mock(DistributionResponse.class);
+        when(response.isSuccessful()).thenReturn(true);
+        when(distributor.distribute(any(), any(), any())).thenReturn(response);
+
+        context.registerService(ResourceResolverFactory.class, resourceResolverFactory, Constants.SERVICE_RANKING, Integer.MAX_VALUE);
+        context.registerService(Distributor.class, distributor);
+    }
+
+    @Test
+    void invalidatesAsTheFlushServiceUser(AemContext context) {
+        DispatcherFlushServiceImpl service = context.registerInjectActivateService(new DispatcherFlushServiceImpl(),
+                "enabled", true);
+
+        assertTrue(service.flush(List.of(PAGE)));
+
+        ArgumentCaptor<DistributionRequest> request = ArgumentCaptor.forClass(DistributionRequest.class);
+        verify(distributor).distribute(eq("publish"), eq(flushResolver), request.capture());
+        assertEquals(DistributionRequestType.INVALIDATE, request.getValue().getRequestType());
+        assertArrayEquals(new String[] { PAGE }, request.getValue().getPaths());
+        verify(flushResolver).close();
+    }
+
+    @Test
+    void staysOffUnlessEnabled(AemContext context) {
+        DispatcherFlushServiceImpl service = context.registerInjectActivateService(new DispatcherFlushServiceImpl());
+
+        assertFalse(service.flush(List.of(PAGE)));
+
+        verify(distributor, never()).distribute(any(), any(), any());
+    }
+}
@@ -0,0 +1,103 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.testcontext.AppAemContext;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.apache.sling.api.resource.PersistenceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(AemContextExtension.class)
+class FragmentReferenceIndexImplTest {
+
+    private static final String HOME = "/content/aem-cinema-react/us/en/home";
+    private static final String SCHEDULE = HOME + "/programacao";
+    private static final String DUNA = "/content/dam/aem-cinema-react/movies-/duna";
+    private static final String BARBIE = "/content/dam/aem-cinema-react/movies-/barbie";
+
+    private final AemContext context = AppAemContext.newAemContext();
+
+    private FragmentReferenceIndexImpl index;
+
+    @BeforeEach
+    void setup() {
+        context.create().page(HOME);
+        context.create().page(SCHEDULE);
+        context.build().resource(HOME + "/jcr:content/root/carousel/movieAssets/item0", "fragmentPath", DUNA).commit();
+        context.build().resource(HOME + "/jcr:content/root/carousel/movieAssets/item1", "fragmentPath", BARBIE).commit();
+        context.build().resource(SCHEDULE + "/jcr:content/root/movie", "fragmentPath", DUNA).commit();
+
+        index = context.registerInjectActivateService(new FragmentReferenceIndexImpl());
+    }
+
+    @Test
+    void mapsFragmentsToComponentsAndPages() {
+        assertEquals(Set.of(HOME + "/jcr:content/root/carousel/movieAssets/item0", SCHEDULE + "/jcr:content/root/movie"),
+                index.getReferencingComponents(DUNA));
+        assertEquals(Set.of(HOME, SCHEDULE), index.getReferencingPages(DUNA + "/jcr:content/data/master"));
+        assertEquals(Set.of(HOME), index.getReferencingPages(BARBIE));
+        assertTrue(index.getReferencingPages("/content/dam/aem-cinema-react/movies-/oppenheimer").isEmpty());
+    }
+
+    @Test
+    void resolvesFoldersToTheFragmentsBelowThem() {
+        assertEquals(Set.of(HOME, SCHEDULE), index.getReferencingPages("/content/dam/aem-cinema-react/movies-"));
+        assertEquals(3, index.getReferencingComponents("/content/dam").size());
+        // A sibling folder sharing the prefix is not below it
+        assertTrue(index.getReferencingPages("/content/dam/aem-cinema-react/movies").isEmpty());
+    }
+
+    @Test
+    void appliesChangedContentIncrementally() throws PersistenceException {
+        index.getReferencingPages(DUNA);
+
+        context.resourceResolver().getResource(HOME + "/jcr:content/root/carousel/movieAssets/item0")
+                .adaptTo(ModifiableValueMap.class).put("fragmentPath", BARBIE);
+        context.resourceResolver().delete(context.resourceResolver().getResource(SCHEDULE + "/jcr:content/root/movie"));
+        context.resourceResolver().commit();
+
+        assertEquals(Set.of(HOME, SCHEDULE), index.getReferencingPages(DUNA));
+
+        index.invalidate(HOME + "/jcr:content/root/carousel/movieAssets/item0");
+        index.invalidate(SCHEDULE + "/jcr:content/root/movie");
+
+        assertTrue(index.getReferencingPages(DUNA).isEmpty());
+        assertEquals(Set.of(HOME + "/jcr:content/root/carousel/movieAssets/item0",
+                HOME + "/jcr:content/root/carousel/movieAssets/item1"), index.getReferencingComponents(BARBIE));
+    }
+
+    @Test
+    void reindexesEveryChangedScopeOnceWithItsAncestor() {
+        index.getReferencingPages(DUNA);
+        FragmentReferenceIndexImpl spy = spy(index);
+
+        // "home-2" sorts between "home" and "home/programacao", which a sorted walk used to miss
+        spy.invalidate(SCHEDULE + "/jcr:content/root/movie");
+        spy.invalidate(HOME + "-2");
+        spy.invalidate(HOME);
+        spy.getReferencingPages(DUNA);
+
+        verify(spy).reindex(any(), eq(HOME));
+        verify(spy).reindex(any(), eq(HOME + "-2"));
+        verify(spy, never()).reindex(any(), eq(SCHEDULE + "/jcr:content/root/movie"));
+    }
+
+    @Test
+    void resolvesTheOwnerOfAPath() {
+        assertEquals(HOME, FragmentReferenceIndexImpl.getOwner(HOME + "/jcr:content/root/movie"));
+        assertEquals(HOME, FragmentReferenceIndexImpl.getOwner(HOME + "/jcr:content"));
+        assertEquals(DUNA, FragmentReferenceIndexImpl.getOwner(DUNA));
+    }
+}
@@ -0,0 +1,91 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.ImageRendition;
+import com.aem.cinema.react.core.testcontext.AppAemContext;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.ByteArrayInputStream;
+import java.util.Calendar;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(AemContextExtension.class)
+class ImageRenditionServiceImplTest {
+
+    private static final String IMAGE = "/content/dam/aem-cinema-react/banners/estreias.jpg";
+
+    private final AemContext context = AppAemContext.newAemContext();
+
+    private ImageRenditionServiceImpl service;
+
+    @BeforeEach
+    void setup() {
+        // Created node by node instead of through the mock AssetManager, only metadata and renditions are needed
+        context.create().resource(IMAGE, "jcr:primaryType", "dam:Asset");
+        context.create().resource(IMAGE + "/jcr:content",
+                "jcr:primaryType", "dam:AssetContent",
+                "jcr:lastModified", calendar(1_000L));
+        context.create().resource(IMAGE + "/jcr:content/metadata",
+                "tiff:ImageWidth", 2000L,
+                "tiff:ImageLength", 1000L);
+        createRendition("original", "image/jpeg");
+        createRendition("cq5dam.web.1280.1280.jpeg", "image/jpeg");
+        createRendition("cq5dam.thumbnail.319.319.png", "image/png");
+        createRendition("cq5dam.thumbnail.48.48.png", "image/png");
+
+        service = context.registerInjectActivateService(new ImageRenditionServiceImpl());
+    }
+
+    @Test
+    void describesRenditionsByWidth() {
+        List<ImageRendition> renditions = service.getRenditions(context.resourceResolver(), IMAGE);
+
+        assertEquals(List.of("319x160 image/png", "1280x640 image/jpeg", "2000x1000 image/jpeg"),
+                renditions.stream()
+                        .map(rendition -> rendition.getWidth() + "x" + rendition.getHeight() + " " + rendition.getMimeType())
+                        .collect(Collectors.toList()));
+        assertEquals(IMAGE + "/jcr:content/renditions/cq5dam.web.1280.1280.jpeg", renditions.get(1).getUrl());
+        assertEquals(IMAGE, renditions.get(2).getUrl());
+    }
+
+    @Test
+    void cachesPerAssetVersion() {
+        List<ImageRendition> first = service.getRenditions(context.resourceResolver(), IMAGE);
+        assertSame(first, service.getRenditions(context.resourceResolver(), IMAGE));
+
+        context.resourceResolver().getResource(IMAGE + "/jcr:content").adaptTo(ModifiableValueMap.class)
+                .put("jcr:lastModified", calendar(2_000L));
+        assertNotSame(first, service.getRenditions(context.resourceResolver(), IMAGE));
+    }
+
+    @Test
+    void returnsNothingForMissingAssets() {
+        assertTrue(service.getRenditions(context.resourceResolver(), "/content/dam/missing.jpg").isEmpty());
+        assertTrue(service.getRenditions(context.resourceResolver(), null).isEmpty());
+    }
+
+    private void createRendition(String name, String mimeType) {
+        String path = IMAGE + "/jcr:content/renditions/" + name;
+        context.create().resource(path, "jcr:primaryType", "nt:file");
+        context.create().resource(path + "/jcr:content",
+                "jcr:primaryType", "nt:resource",
+                "jcr:mimeType", mimeType,
+                "jcr:data", new ByteArrayInputStream(new byte[0]));
+    }
+
+    private static Calendar calendar(long millis) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(millis);
+        return calendar;
+    }
+}
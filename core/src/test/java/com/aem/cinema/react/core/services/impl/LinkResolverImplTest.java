@@ -0,0 +1,80 @@
+package com.aem.cinema.react.core.services.impl;
+
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(AemContextExtension.class)
+class LinkResolverImplTest {
+
+    private static final String PAGE = "/content/aem-cinema-react/us/en/home/programacao";
+
+    private final ResourceResolver resolver = mock(ResourceResolver.class);
+
+    private LinkResolverImpl linkResolver;
+
+    @BeforeEach
+    void setup(AemContext context) {
+        when(resolver.map(anyString())).thenAnswer(invocation ->
+                invocation.getArgument(0, String.class).replace("/content/aem-cinema-react/us/en/home", ""));
+        linkResolver = context.registerInjectActivateService(new LinkResolverImpl());
+    }
+
+    @Test
+    void mapsInternalLinksOnce() {
+        assertEquals("/programacao.html", linkResolver.getInternalLink(resolver, PAGE));
+        assertEquals("/programacao.html", linkResolver.getInternalLink(resolver, PAGE + ".html"));
+
+        verify(resolver, times(1)).map(PAGE + ".html");
+    }
+
+    @Test
+    void leavesEmptyAndRelativeLinksUnmapped() {
+        assertNull(linkResolver.getInternalLink(resolver, ""));
+        assertEquals("promocao.html", linkResolver.getInternalLink(resolver, "promocao"));
+        assertEquals("http://adobe.com", linkResolver.getExternalLink("adobe.com"));
+        assertEquals("https://adobe.com", linkResolver.getExternalLink("https://adobe.com"));
+
+        verify(resolver, never()).map(anyString());
+    }
+
+    @Test
+    void resolvesAgainAfterPageMoveOrMappingChange() {
+        linkResolver.getInternalLink(resolver, PAGE);
+
+        linkResolver.invalidate("/content/aem-cinema-react/us/en/home/noticias");
+        linkResolver.getInternalLink(resolver, PAGE);
+        verify(resolver, times(1)).map(PAGE + ".html");
+
+        linkResolver.invalidate(PAGE);
+        linkResolver.getInternalLink(resolver, PAGE);
+        verify(resolver, times(2)).map(PAGE + ".html");
+
+        linkResolver.invalidate("/etc/map/http/localhost.4503");
+        linkResolver.getInternalLink(resolver, PAGE);
+        verify(resolver, times(3)).map(PAGE + ".html");
+    }
+
+    @Test
+    void onlyThePageItsContentAndAncestorsAffectALink() {
+        assertTrue(LinkResolverImpl.isAffectedBy(PAGE, PAGE));
+        assertTrue(LinkResolverImpl.isAffectedBy(PAGE, PAGE + "/jcr:content"));
+        assertTrue(LinkResolverImpl.isAffectedBy(PAGE, "/content/aem-cinema-react/us"));
+        assertFalse(LinkResolverImpl.isAffectedBy(PAGE, PAGE + "/semana/jcr:content"));
+        assertFalse(LinkResolverImpl.isAffectedBy(PAGE, PAGE + "-antiga"));
+    }
+}
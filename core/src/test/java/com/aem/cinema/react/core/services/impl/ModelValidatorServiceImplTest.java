@@ -0,0 +1,105 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.ModelValidator;
+import com.aem.cinema.react.core.testcontext.AppAemContext;
+import com.day.cq.wcm.api.NameConstants;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.apache.sling.api.resource.Resource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Calendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@ExtendWith(AemContextExtension.class)
+class ModelValidatorServiceImplTest {
+
+    private static final String HOME = "/content/aem-cinema-react/us/en/home";
+    private static final String CAROUSEL = HOME + "/jcr:content/root/carousel";
+    private static final String NAVBAR = HOME + "/jcr:content/root/customnavbar";
+    private static final String FRAGMENT = "/content/dam/aem-cinema-react/movies-/duna";
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final AemContext context = AppAemContext.newAemContext();
+
+    private ModelValidatorServiceImpl service;
+
+    private long now = NOW;
+
+    @BeforeEach
+    void setup() {
+        context.create().page(HOME, null, NameConstants.PN_PAGE_LAST_MOD, calendar(NOW - 60_000));
+        context.create().page(HOME + "/programacao");
+        context.create().resource(CAROUSEL, "sling:resourceType", "aem-cinema-react/components/carousel");
+        context.create().resource(CAROUSEL + "/movieAssets/item0", "fragmentPath", FRAGMENT);
+        context.create().resource(NAVBAR, "url", HOME);
+        context.create().resource(FRAGMENT + "/jcr:content/data/master", "jcr:lastModified", calendar(NOW - 120_000));
+
+        service = context.registerInjectActivateService(new ModelValidatorServiceImpl());
+        service.clock = () -> now;
+    }
+
+    @Test
+    void changesWithTheReferencedFragment() {
+        ModelValidator before = service.getValidator(resource(CAROUSEL), "model");
+        assertEquals(before.getEtag(), service.getValidator(resource(CAROUSEL), "model").getEtag());
+        assertEquals(NOW - 120_000, before.getLastModified());
+
+        resource(FRAGMENT + "/jcr:content/data/master").adaptTo(ModifiableValueMap.class).put("jcr:lastModified", calendar(NOW));
+
+        ModelValidator after = service.getValidator(resource(CAROUSEL), "model");
+        assertNotEquals(before.getEtag(), after.getEtag());
+        assertEquals(NOW, after.getLastModified());
+        assertNotEquals(after.getEtag(), service.getValidator(resource(CAROUSEL), "model.tidy").getEtag());
+    }
+
+    @Test
+    void changesWhenANavigationPageGoesOnline() {
+        ModelValidator before = service.getValidator(resource(NAVBAR), "model");
+        context.create().page(HOME + "/estreia", null, NameConstants.PN_ON_TIME, calendar(NOW + 60_000));
+
+        // A page waiting for its on time is still part of the hash, but not as visible
+        ModelValidator scheduled = service.getValidator(resource(NAVBAR), "model");
+        assertNotEquals(before.getEtag(), scheduled.getEtag());
+
+        now = NOW + 60_000;
+        assertNotEquals(scheduled.getEtag(), service.getValidator(resource(NAVBAR), "model").getEtag());
+    }
+
+    @Test
+    void coversPagesAndIgnoresResourcesOutsideTheRoots() {
+        ModelValidator page = service.getValidator(resource(HOME), "model");
+        assertEquals(NOW - 60_000, page.getLastModified());
+
+        resource(CAROUSEL + "/movieAssets/item0").adaptTo(ModifiableValueMap.class).remove("fragmentPath");
+        assertNotEquals(page.getEtag(), service.getValidator(resource(HOME), "model").getEtag());
+
+        assertNull(service.getValidator(resource(FRAGMENT + "/jcr:content"), "model"));
+    }
+
+    @Test
+    void ignoresTheContentOfChildPages() {
+        ModelValidator before = service.getValidator(resource(HOME), "model");
+
+        context.create().resource(HOME + "/programacao/jcr:content/root/text", "text", "Sessões");
+
+        assertEquals(before.getEtag(), service.getValidator(resource(HOME), "model").getEtag());
+    }
+
+    private Resource resource(String path) {
+        return context.resourceResolver().getResource(path);
+    }
+
+    private static Calendar calendar(long millis) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(millis);
+        return calendar;
+    }
+}
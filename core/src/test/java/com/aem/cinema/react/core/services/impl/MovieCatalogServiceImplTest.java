@@ -0,0 +1,98 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.MovieCatalog;
+import com.aem.cinema.react.core.services.MovieData;
+import com.aem.cinema.react.core.testcontext.AppAemContext;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.apache.sling.api.resource.PersistenceException;
+import org.apache.sling.testing.mock.osgi.MockOsgi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(AemContextExtension.class)
+class MovieCatalogServiceImplTest {
+
+    private static final String FOLDER = "/content/dam/aem-cinema-react/movies-";
+    private static final String MODEL = "/conf/aem-cinema-react/settings/dam/cfm/models/filme";
+
+    private final AemContext context = AppAemContext.newAemContext();
+
+    private MovieCatalogServiceImpl service;
+
+    @BeforeEach
+    void setup() {
+        createFragment("duna", "Duna", MODEL);
+        createFragment("barbie", "Barbie", MODEL);
+        createFragment("noticia", "Notícia", "/conf/aem-cinema-react/settings/dam/cfm/models/not_cia");
+        service = context.registerInjectActivateService(new MovieCatalogServiceImpl());
+    }
+
+    @Test
+    void collectsMovieFragmentsOfTheConfiguredModel() {
+        assertEquals(List.of("Barbie", "Duna"), titles(service.getCatalog()));
+    }
+
+    @Test
+    void keepsSnapshotUntilAFragmentChanges() {
+        MovieCatalog catalog = service.getCatalog();
+
+        service.invalidate("/content/aem-cinema-react/us/en/home/jcr:content");
+
+        assertSame(catalog, service.getCatalog());
+    }
+
+    @Test
+    void appliesChangesIncrementally() throws PersistenceException {
+        MovieCatalog before = service.getCatalog();
+
+        createFragment("oppenheimer", "Oppenheimer", MODEL);
+        context.resourceResolver().getResource(FOLDER + "/duna/jcr:content/data").adaptTo(ModifiableValueMap.class).put("title", "Duna: Parte Dois");
+        context.resourceResolver().delete(context.resourceResolver().getResource(FOLDER + "/barbie"));
+        context.resourceResolver().commit();
+
+        service.invalidate(FOLDER + "/oppenheimer");
+        service.invalidate(FOLDER + "/duna/jcr:content/data");
+        service.invalidate(FOLDER + "/barbie");
+
+        MovieCatalog after = service.getCatalog();
+        assertEquals(List.of("Duna: Parte Dois", "Oppenheimer"), titles(after));
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertEquals(Set.of(FOLDER + "/oppenheimer", FOLDER + "/duna", FOLDER + "/barbie"), after.getChangedPaths());
+    }
+
+    @Test
+    void keepsIncreasingTheVersionAcrossActivations() {
+        MovieCatalog before = service.getCatalog();
+
+        MockOsgi.modified(service, context.bundleContext());
+
+        MovieCatalog after = service.getCatalog();
+        assertNotSame(before, after);
+        assertTrue(after.getVersion() > before.getVersion());
+        assertNull(after.getChangedPaths());
+    }
+
+    private void createFragment(String name, String title, String model) {
+        context.build().resource(FOLDER + "/" + name, "jcr:primaryType", "dam:Asset")
+                .resource("jcr:content", "contentFragment", true)
+                .resource("data", "cq:model", model, "title", title)
+                .commit();
+    }
+
+    private static List<String> titles(MovieCatalog catalog) {
+        return catalog.getMovies().stream().map(MovieData::getTitle).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,100 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.MovieData;
+import com.aem.cinema.react.core.testcontext.AppAemContext;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(AemContextExtension.class)
+class MovieFragmentCacheImplTest {
+
+    private static final String FRAGMENT = "/content/dam/aem-cinema-react/filmes/duna";
+
+    private final AemContext context = AppAemContext.newAemContext();
+
+    private MovieFragmentCacheImpl cache;
+
+    @BeforeEach
+    void setup() {
+        context.build().resource(FRAGMENT + "/jcr:content/data",
+                "title", "Duna", "poster", "/content/dam/aem-cinema-react/posters/duna.jpg",
+                "ageGroup", "14", "gender", "ficcao", "movieTime", "14:00, 18:30").commit();
+        cache = context.registerInjectActivateService(new MovieFragmentCacheImpl());
+    }
+
+    @Test
+    void cachesFragmentData() {
+        MovieData first = cache.get(context.resourceResolver(), FRAGMENT);
+        MovieData second = cache.get(context.resourceResolver(), FRAGMENT);
+
+        assertNotNull(first);
+        assertEquals("Duna", first.getTitle());
+        assertEquals("14", first.getAgeGroup());
+        assertSame(first, second);
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void fallsBackToContentNode() {
+        context.build().resource("/content/dam/aem-cinema-react/filmes/legacy/jcr:content", "title", "Legacy").commit();
+
+        assertEquals("Legacy", cache.get(context.resourceResolver(), "/content/dam/aem-cinema-react/filmes/legacy").getTitle());
+    }
+
+    @Test
+    void invalidatesOnChangeBelowFragment() {
+        cache.get(context.resourceResolver(), FRAGMENT);
+
+        cache.invalidate(FRAGMENT + "/jcr:content/data/master");
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void invalidatesOnRemovedFolder() {
+        cache.get(context.resourceResolver(), FRAGMENT);
+
+        cache.invalidate("/content/dam/aem-cinema-react/filmes");
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void keepsUnrelatedFragments() {
+        cache.get(context.resourceResolver(), FRAGMENT);
+
+        cache.invalidate("/content/dam/aem-cinema-react/filmes/duna-parte-dois");
+
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void doesNotServeUnreadableFragments() {
+        cache.get(context.resourceResolver(), FRAGMENT);
+
+        ResourceResolver anonymous = mock(ResourceResolver.class);
+        when(anonymous.getUserID()).thenReturn("anonymous");
+
+        assertNull(cache.get(anonymous, FRAGMENT));
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    void ignoresMissingFragments() {
+        assertNull(cache.get(context.resourceResolver(), "/content/dam/aem-cinema-react/filmes/missing"));
+        assertEquals(0, cache.size());
+    }
+}
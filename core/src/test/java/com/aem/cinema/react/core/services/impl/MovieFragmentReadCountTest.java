@@ -0,0 +1,104 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.MovieData;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.wrappers.ValueMapDecorator;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.jcr.query.Query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts repository reads needed to resolve the movies of one carousel, comparing
+ * the per-movie lookups done by MovieImpl with the batched {@link MovieFragmentCacheImpl#getAll}.
+ * A query counts as one read.
+ */
+class MovieFragmentReadCountTest {
+
+    private static final String FOLDER = "/content/dam/aem-cinema-react/filmes";
+
+    private final AtomicInteger reads = new AtomicInteger();
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 60})
+    void perMovieLookupsGrowWithMovieCount(int movieCount) {
+        ResourceResolver resolver = createRepository(movieCount);
+
+        for (String fragmentPath : fragmentPaths(movieCount)) {
+            MovieData.fromFragment(resolver.getResource(fragmentPath));
+        }
+
+        assertEquals(2 * movieCount, reads.get());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 60})
+    void batchedLookupsDoNotGrowWithMovieCount(int movieCount) {
+        ResourceResolver resolver = createRepository(movieCount);
+        MovieFragmentCacheImpl cache = new MovieFragmentCacheImpl();
+
+        Map<String, MovieData> cold = cache.getAll(resolver, fragmentPaths(movieCount));
+        assertEquals(movieCount, cold.size());
+        assertEquals("Filme 3", cold.get(FOLDER + "/filme-3").getTitle());
+        assertEquals(1, reads.get());
+
+        reads.set(0);
+        Map<String, MovieData> warm = cache.getAll(resolver, fragmentPaths(movieCount));
+        assertEquals(movieCount, warm.size());
+        assertEquals(0, reads.get());
+    }
+
+    private List<String> fragmentPaths(int movieCount) {
+        List<String> paths = new ArrayList<>();
+        for (int i = movieCount - 1; i >= 0; i--) {
+            paths.add(FOLDER + "/filme-" + i);
+        }
+        return paths;
+    }
+
+    private ResourceResolver createRepository(int movieCount) {
+        ResourceResolver resolver = mock(ResourceResolver.class);
+        when(resolver.getUserID()).thenReturn("anonymous");
+
+        Resource folder = mock(Resource.class);
+        when(resolver.getResource(FOLDER)).thenAnswer(invocation -> read(folder));
+
+        List<Resource> dataResources = new ArrayList<>();
+        when(resolver.findResources(startsWith("SELECT * FROM [nt:base] AS n WHERE ISDESCENDANTNODE(n, '" + FOLDER + "')"),
+                eq(Query.JCR_SQL2))).thenAnswer(invocation -> read(dataResources).iterator());
+
+        for (int i = 0; i < movieCount; i++) {
+            String path = FOLDER + "/filme-" + i;
+            Resource data = mock(Resource.class);
+            when(data.getPath()).thenReturn(path + "/" + MovieData.DATA_PATH);
+            dataResources.add(data);
+            when(data.getValueMap()).thenReturn(new ValueMapDecorator(Collections.singletonMap("title", "Filme " + i)));
+
+            Resource fragment = mock(Resource.class);
+            when(fragment.getPath()).thenReturn(path);
+            when(fragment.getChild(MovieData.DATA_PATH)).thenAnswer(invocation -> read(data));
+
+            when(resolver.getResource(path)).thenAnswer(invocation -> read(fragment));
+            when(folder.getChild("filme-" + i)).thenAnswer(invocation -> read(fragment));
+        }
+        return resolver;
+    }
+
+    private <T> T read(T resource) {
+        reads.incrementAndGet();
+        return resource;
+    }
+}
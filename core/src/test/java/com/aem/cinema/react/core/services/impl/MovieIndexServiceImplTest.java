@@ -0,0 +1,81 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.MovieCatalog;
+import com.aem.cinema.react.core.services.MovieData;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MovieIndexServiceImplTest {
+
+    private static final String FOLDER = "/content/dam/aem-cinema-react/movies-/";
+
+    private final MovieIndexServiceImpl index = new MovieIndexServiceImpl();
+
+    private final TreeMap<String, MovieData> movies = new TreeMap<>();
+
+    @Test
+    void intersectsGenderAndAgeGroup() {
+        put("velozes", "Ação", "14");
+        put("john-wick", "Ação", "18");
+        put("divertida-mente", "Animação", "L");
+        MovieCatalog catalog = new MovieCatalog(1, 0, movies);
+
+        assertEquals(List.of("john-wick", "velozes"), names(index.find(catalog, "acao", null)));
+        assertEquals(List.of("velozes"), names(index.find(catalog, "Ação", "14")));
+        assertEquals(List.of("divertida-mente", "velozes"), names(index.find(catalog, null, "16")));
+        assertEquals(List.of("divertida-mente", "john-wick", "velozes"), names(index.find(catalog, null, null)));
+    }
+
+    @Test
+    void rejectsUnknownFilterValues() {
+        put("velozes", "Ação", "14");
+        MovieCatalog catalog = new MovieCatalog(1, 0, movies);
+
+        assertNull(index.find(catalog, "terror", null));
+        assertNull(index.find(catalog, null, "21"));
+    }
+
+    @Test
+    void reindexesOnlyChangedFragments() {
+        put("velozes", "Ação", "14");
+        put("john-wick", "Ação", "18");
+        index.find(new MovieCatalog(1, 0, new TreeMap<>(movies)), null, null);
+
+        put("john-wick", "Suspense", "16");
+        movies.remove(FOLDER + "velozes");
+        put("duna", "Ficção", "14");
+        MovieCatalog next = new MovieCatalog(2, 0, new TreeMap<>(movies),
+                Set.of(FOLDER + "john-wick", FOLDER + "velozes", FOLDER + "duna"));
+
+        assertNull(index.find(next, "acao", null));
+        assertEquals(List.of("duna", "john-wick"), names(index.find(next, null, "16")));
+    }
+
+    @Test
+    void diffsSnapshotsWhenVersionsWereSkipped() {
+        put("velozes", "Ação", "14");
+        put("john-wick", "Ação", "18");
+        index.find(new MovieCatalog(1, 0, new TreeMap<>(movies)), null, null);
+
+        put("velozes", "Comédia", "12");
+        movies.remove(FOLDER + "john-wick");
+
+        assertEquals(List.of("velozes"), names(index.find(new MovieCatalog(5, 0, new TreeMap<>(movies)), "comedia", "12")));
+        assertNull(index.find(new MovieCatalog(6, 0, new TreeMap<>(movies)), "acao", null));
+    }
+
+    private void put(String name, String gender, String ageGroup) {
+        movies.put(FOLDER + name, new MovieData(FOLDER + name, null, name, ageGroup, gender, null));
+    }
+
+    private static List<String> names(List<MovieData> result) {
+        return result.stream().map(MovieData::getTitle).collect(Collectors.toList());
+    }
+}
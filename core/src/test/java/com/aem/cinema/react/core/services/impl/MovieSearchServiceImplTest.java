@@ -0,0 +1,75 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.MovieCatalog;
+import com.aem.cinema.react.core.services.MovieData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MovieSearchServiceImplTest {
+
+    private final MovieSearchServiceImpl service = new MovieSearchServiceImpl();
+
+    private final Map<String, MovieData> movies = new LinkedHashMap<>();
+
+    private MovieCatalog catalog;
+
+    @BeforeEach
+    void setup() {
+        add("duna", "Duna");
+        add("duna-2", "Duna: Parte Dois");
+        add("acao", "Missão Impossível: Acerto de Contas");
+        add("coracao", "Coração de Cavaleiro");
+        add("barbie", "Barbie");
+        catalog = new MovieCatalog(1, 0, movies);
+    }
+
+    @Test
+    void ranksExactWordsAbovePrefixes() {
+        assertEquals(List.of("Duna", "Duna: Parte Dois"), titles(service.search(catalog, "duna", 10)));
+        assertEquals(List.of("Duna", "Duna: Parte Dois"), titles(service.search(catalog, "DU", 10)));
+        assertEquals(List.of("Duna"), titles(service.search(catalog, "du", 1)));
+    }
+
+    @Test
+    void foldsAccentsLikeTheSlugs() {
+        assertEquals(List.of("Missão Impossível: Acerto de Contas"), titles(service.search(catalog, "missao impossivel", 10)));
+        assertEquals("Coração de Cavaleiro", service.search(catalog, "coração", 10).get(0).getTitle());
+    }
+
+    @Test
+    void toleratesMisspellings() {
+        assertEquals(List.of("Barbie"), titles(service.search(catalog, "barbei", 10)));
+        assertTrue(service.search(catalog, "   ", 10).isEmpty());
+    }
+
+    @Test
+    void updatesChangedTitlesIncrementally() {
+        service.search(catalog, "duna", 10);
+
+        Map<String, MovieData> changed = new LinkedHashMap<>(movies);
+        changed.put("duna", new MovieData("duna", null, "Oppenheimer", null, null, null));
+        changed.remove("barbie");
+        MovieCatalog next = new MovieCatalog(2, 0, changed, Set.of("duna", "barbie"));
+
+        assertEquals(List.of("Duna: Parte Dois"), titles(service.search(next, "duna", 10)));
+        assertEquals(List.of("Oppenheimer"), titles(service.search(next, "oppen", 10)));
+        assertTrue(service.search(next, "barbie", 10).isEmpty());
+    }
+
+    private void add(String path, String title) {
+        movies.put(path, new MovieData(path, null, title, null, null, null));
+    }
+
+    private static List<String> titles(List<MovieData> results) {
+        return results.stream().map(MovieData::getTitle).collect(Collectors.toList());
+    }
+}
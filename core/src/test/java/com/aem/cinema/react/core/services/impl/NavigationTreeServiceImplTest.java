@@ -0,0 +1,96 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.NavigationItem;
+import com.aem.cinema.react.core.testcontext.AppAemContext;
+import com.day.cq.wcm.api.NameConstants;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Calendar;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(AemContextExtension.class)
+class NavigationTreeServiceImplTest {
+
+    private static final String ROOT = "/content/aem-cinema-react/us/en/home";
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final AemContext context = AppAemContext.newAemContext();
+
+    private NavigationTreeServiceImpl service;
+
+    private long now = NOW;
+
+    @BeforeEach
+    void setup() {
+        context.create().page(ROOT);
+        context.create().page(ROOT + "/programacao", null, "jcr:title", "Programação");
+        context.create().page(ROOT + "/escondida", null, NameConstants.PN_HIDE_IN_NAV, true);
+        context.create().page(ROOT + "/estreia", null, NameConstants.PN_ON_TIME, calendar(NOW + 60_000));
+        context.create().page(ROOT + "/promocao", null, NameConstants.PN_OFF_TIME, calendar(NOW + 120_000));
+
+        service = context.registerInjectActivateService(new NavigationTreeServiceImpl());
+        service.clock = () -> now;
+    }
+
+    @Test
+    void filtersHiddenAndScheduledPages() {
+        assertEquals(List.of("programacao", "promocao"), names(service.getVisibleChildren(context.resourceResolver(), ROOT)));
+    }
+
+    @Test
+    void reevaluatesAtOnAndOffTime() {
+        service.getVisibleChildren(context.resourceResolver(), ROOT);
+
+        now = NOW + 60_000;
+        assertEquals(List.of("programacao", "estreia", "promocao"), names(service.getVisibleChildren(context.resourceResolver(), ROOT)));
+
+        now = NOW + 120_001;
+        assertEquals(List.of("programacao", "estreia"), names(service.getVisibleChildren(context.resourceResolver(), ROOT)));
+    }
+
+    @Test
+    void cachesUntilInvalidated() {
+        List<NavigationItem> first = service.getVisibleChildren(context.resourceResolver(), ROOT);
+        context.create().page(ROOT + "/noticias");
+
+        assertSame(first, service.getVisibleChildren(context.resourceResolver(), ROOT));
+
+        service.invalidate(ROOT + "/noticias");
+        assertEquals(List.of("programacao", "promocao", "noticias"), names(service.getVisibleChildren(context.resourceResolver(), ROOT)));
+    }
+
+    @Test
+    void onlyDirectChildrenAffectTheTree() {
+        assertTrue(NavigationTreeServiceImpl.isAffectedBy(ROOT, ROOT + "/programacao"));
+        assertTrue(NavigationTreeServiceImpl.isAffectedBy(ROOT, ROOT + "/programacao/jcr:content"));
+        assertTrue(NavigationTreeServiceImpl.isAffectedBy(ROOT, "/content/aem-cinema-react/us"));
+        assertFalse(NavigationTreeServiceImpl.isAffectedBy(ROOT, ROOT + "/programacao/semana/jcr:content"));
+        assertFalse(NavigationTreeServiceImpl.isAffectedBy(ROOT, "/content/aem-cinema-react/us/en/homepage"));
+    }
+
+    @Test
+    void returnsEmptyListForMissingRoot() {
+        assertTrue(service.getVisibleChildren(context.resourceResolver(), "/content/missing").isEmpty());
+    }
+
+    private static List<String> names(List<NavigationItem> items) {
+        return items.stream().map(NavigationItem::getName).collect(Collectors.toList());
+    }
+
+    private static Calendar calendar(long millis) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(millis);
+        return calendar;
+    }
+}
@@ -0,0 +1,90 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.NewsSummary;
+import com.aem.cinema.react.core.testcontext.AppAemContext;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.apache.sling.api.resource.PersistenceException;
+import org.apache.sling.api.resource.ResourceUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Calendar;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(AemContextExtension.class)
+class NewsFeedServiceImplTest {
+
+    private static final String FOLDER = "/content/dam/aem-spa-sccp/contentfragments/news";
+    private static final String MODEL = "/conf/aem-cinema-react/settings/dam/cfm/models/not_cia";
+
+    private static final long DAY = 86_400_000L;
+    private static final long START = 1_700_000_000_000L;
+
+    private final AemContext context = AppAemContext.newAemContext();
+
+    private NewsFeedServiceImpl service;
+
+    @BeforeEach
+    void setup() {
+        createNews("estreia-duna", START + 3 * DAY, MODEL);
+        createNews("festival", START + 2 * DAY, MODEL);
+        createNews("pipoca", START + 2 * DAY, MODEL);
+        createNews("reforma", START + DAY, MODEL);
+        createNews("duna", START + 4 * DAY, "/conf/aem-cinema-react/settings/dam/cfm/models/filme");
+        service = context.registerInjectActivateService(new NewsFeedServiceImpl());
+    }
+
+    @Test
+    void pagesNewestFirstUsingTheCursorOfTheLastItem() {
+        List<NewsSummary> first = service.getPage(null, 2);
+        assertEquals(List.of("estreia-duna", "festival"), names(first));
+
+        List<NewsSummary> second = service.getPage(first.get(1).getCursor(), 2);
+        assertEquals(List.of("pipoca", "reforma"), names(second));
+
+        assertEquals(List.of(), service.getPage(second.get(1).getCursor(), 2));
+    }
+
+    @Test
+    void keepsThePositionWhenNewsArePublishedOrRemoved() throws PersistenceException {
+        String cursor = service.getPage(null, 2).get(1).getCursor();
+
+        createNews("lancamento", START + 5 * DAY, MODEL);
+        context.resourceResolver().getResource(FOLDER + "/festival/jcr:content/data").adaptTo(ModifiableValueMap.class)
+                .put("title", "Festival de Gramado");
+        context.resourceResolver().delete(context.resourceResolver().getResource(FOLDER + "/reforma"));
+        context.resourceResolver().commit();
+        service.invalidate(FOLDER + "/lancamento");
+        service.invalidate(FOLDER + "/festival/jcr:content/data");
+        service.invalidate(FOLDER + "/reforma");
+
+        assertEquals(List.of("pipoca"), names(service.getPage(cursor, 10)));
+        assertEquals(List.of("lancamento", "estreia-duna", "festival"), names(service.getPage(null, 3)));
+        assertEquals("Festival de Gramado", service.getPage(null, 3).get(2).getTitle());
+    }
+
+    @Test
+    void rejectsCursorsItDidNotCreate() {
+        assertThrows(IllegalArgumentException.class, () -> service.getPage("not-a-cursor", 2));
+    }
+
+    private void createNews(String name, long date, String model) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(date);
+        context.build().resource(FOLDER + "/" + name, "jcr:primaryType", "dam:Asset")
+                .resource("jcr:content", "contentFragment", true)
+                .resource("data", "cq:model", model, "title", name, "date", calendar, "body", "<p>" + name + "</p>")
+                .commit();
+    }
+
+    private static List<String> names(List<NewsSummary> news) {
+        return news.stream().map(summary -> ResourceUtil.getName(summary.getFragmentPath())).collect(Collectors.toList());
+    }
+}
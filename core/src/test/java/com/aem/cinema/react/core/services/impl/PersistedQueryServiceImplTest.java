@@ -0,0 +1,127 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.PersistedQueryResponse;
+import com.day.cq.contentsync.handler.util.RequestResponseFactory;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.commons.io.IOUtils;
+import org.apache.sling.engine.SlingRequestProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(AemContextExtension.class)
+class PersistedQueryServiceImplTest {
+
+    private final SlingRequestProcessor slingRequestProcessor = mock(SlingRequestProcessor.class);
+
+    private final RequestResponseFactory requestResponseFactory = mock(RequestResponseFactory.class);
+
+    // Request bodies received by the GraphQL endpoint
+    private final List<String> requests = new ArrayList<>();
+
+    private OutputStream output;
+
+    private String answer = "{\"data\":{}}";
+
+    private PersistedQueryServiceImpl service;
+
+    @BeforeEach
+    void setup(AemContext context) throws Exception {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getStatus()).thenReturn(HttpServletResponse.SC_OK);
+        when(requestResponseFactory.createRequest(anyString(), anyString())).thenReturn(mock(HttpServletRequest.class));
+        when(requestResponseFactory.createResponse(any(OutputStream.class))).thenAnswer(invocation -> {
+            output = invocation.getArgument(0);
+            return response;
+        });
+        doAnswer(invocation -> {
+            HttpServletRequest request = invocation.getArgument(0);
+            requests.add(IOUtils.toString(request.getReader()));
+            output.write(answer.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(slingRequestProcessor).processRequest(any(), any(), any());
+
+        context.registerService(SlingRequestProcessor.class, slingRequestProcessor);
+        context.registerService(RequestResponseFactory.class, requestResponseFactory);
+        service = context.registerInjectActivateService(new PersistedQueryServiceImpl());
+    }
+
+    @Test
+    void runsEachQueryOncePerVariables(AemContext context) throws Exception {
+        PersistedQueryResponse first = service.execute(context.resourceResolver(), "filme-by-path", "{\"path\":\"/content/dam/a\",\"x\":1}");
+        PersistedQueryResponse second = service.execute(context.resourceResolver(), "filme-by-path", "{\"x\":1,\"path\":\"/content/dam/a\"}");
+        service.execute(context.resourceResolver(), "filme-by-path", "{\"path\":\"/content/dam/b\"}");
+
+        assertSame(first, second);
+        assertEquals(2, requests.size());
+        assertTrue(requests.get(0).contains("filmeByPath(_path: $path)"));
+        assertTrue(requests.get(0).endsWith("\"variables\":{\"path\":\"/content/dam/a\",\"x\":1}}"));
+    }
+
+    @Test
+    void evictsTheQueriesReadingAChangedFragmentOrModel(AemContext context) throws Exception {
+        service.execute(context.resourceResolver(), "filme-list", null);
+
+        service.invalidate("/content/aem-cinema-react/us/en/home");
+        service.execute(context.resourceResolver(), "filme-list", null);
+        assertEquals(1, requests.size());
+
+        service.invalidate("/content/dam/aem-cinema-react/movies-/duna/jcr:content/data/master");
+        service.execute(context.resourceResolver(), "filme-list", null);
+        assertEquals(2, requests.size());
+
+        service.invalidate("/conf/aem-cinema-react/settings/dam/cfm/models/filme/jcr:content");
+        service.execute(context.resourceResolver(), "filme-list", null);
+        assertEquals(3, requests.size());
+    }
+
+    @Test
+    void keepsTheNewsQueriesAcrossMovieChanges(AemContext context) throws Exception {
+        service.execute(context.resourceResolver(), "noticia-list", null);
+
+        service.invalidate("/content/dam/aem-cinema-react/movies-/duna/jcr:content/data/master");
+        service.execute(context.resourceResolver(), "noticia-list", null);
+        assertEquals(1, requests.size());
+
+        service.invalidate("/content/dam/aem-spa-sccp/contentfragments/news/estreia/jcr:content/data/master");
+        service.execute(context.resourceResolver(), "noticia-list", null);
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void doesNotCacheErrors(AemContext context) throws Exception {
+        answer = "{\"errors\":[{\"message\":\"boom\"}]}";
+
+        service.execute(context.resourceResolver(), "noticia-list", "");
+        service.execute(context.resourceResolver(), "noticia-list", "");
+
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void rejectsUnknownQueriesAndInvalidVariables(AemContext context) throws Exception {
+        assertNull(service.execute(context.resourceResolver(), "filmeList", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.execute(context.resourceResolver(), "filme-list", "[1]"));
+        assertEquals(5, service.getQueryNames().size());
+    }
+}
@@ -0,0 +1,113 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.testcontext.AppAemContext;
+import com.day.cq.dam.api.Asset;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Calendar;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@ExtendWith(AemContextExtension.class)
+class PosterRenditionServiceImplTest {
+
+    private static final String POSTER = "/content/dam/aem-cinema-react/posters/duna.jpg";
+
+    private final AemContext context = AppAemContext.newAemContext();
+
+    @TempDir
+    Path cacheDirectory;
+
+    private PosterRenditionServiceImpl service;
+
+    @BeforeEach
+    void setup() throws IOException {
+        createAsset(POSTER, 1200, 1800);
+        service = context.registerInjectActivateService(new PosterRenditionServiceImpl(),
+                "cacheDirectory", cacheDirectory.toString());
+    }
+
+    @Test
+    void rendersOnceAndServesFromDisk() throws IOException {
+        Path rendition = service.getRendition(context.resourceResolver().getResource(POSTER), 480);
+
+        BufferedImage image = ImageIO.read(rendition.toFile());
+        assertEquals(480, image.getWidth());
+        assertEquals(720, image.getHeight());
+
+        assertEquals(rendition, service.getRendition(context.resourceResolver().getResource(POSTER), 480));
+        assertEquals(1, countFiles());
+    }
+
+    @Test
+    void neverUpscales() throws IOException {
+        Path rendition = service.getRendition(context.resourceResolver().getResource(POSTER), 1600);
+
+        assertEquals(1200, ImageIO.read(rendition.toFile()).getWidth());
+    }
+
+    @Test
+    void replacesRenditionsOfOlderVersions() throws IOException {
+        Path first = service.getRendition(context.resourceResolver().getResource(POSTER), 240);
+
+        Calendar modified = Calendar.getInstance();
+        modified.setTimeInMillis(context.resourceResolver().getResource(POSTER).adaptTo(Asset.class).getLastModified() + 60_000);
+        context.resourceResolver().getResource(POSTER + "/jcr:content").adaptTo(ModifiableValueMap.class)
+                .put("jcr:lastModified", modified);
+        Path second = service.getRendition(context.resourceResolver().getResource(POSTER), 240);
+
+        assertNotEquals(first, second);
+        assertEquals(1, countFiles());
+    }
+
+    @Test
+    void ignoresResourcesThatAreNoAssets() throws IOException {
+        assertNull(service.getRendition(context.create().resource("/content/aem-cinema-react/us"), 240));
+    }
+
+    @Test
+    void scalesInSteps() {
+        BufferedImage scaled = PosterRenditionServiceImpl.scale(new BufferedImage(4000, 6000, BufferedImage.TYPE_INT_ARGB), 240);
+
+        assertEquals(240, scaled.getWidth());
+        assertEquals(360, scaled.getHeight());
+        assertEquals(BufferedImage.TYPE_INT_RGB, scaled.getType());
+    }
+
+    // Created node by node instead of through the mock AssetManager, only the original rendition is needed
+    private void createAsset(String path, int width, int height) throws IOException {
+        ByteArrayOutputStream image = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "jpeg", image);
+        context.create().resource(path, "jcr:primaryType", "dam:Asset");
+        context.create().resource(path + "/jcr:content",
+                "jcr:primaryType", "dam:AssetContent",
+                "jcr:lastModified", Calendar.getInstance());
+        context.create().resource(path + "/jcr:content/renditions/original", "jcr:primaryType", "nt:file");
+        context.create().resource(path + "/jcr:content/renditions/original/jcr:content",
+                "jcr:primaryType", "nt:resource",
+                "jcr:mimeType", "image/jpeg",
+                "jcr:data", new ByteArrayInputStream(image.toByteArray()));
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.LatencyStats;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(AemContextExtension.class)
+class RequestLatencyServiceImplTest {
+
+    private RequestLatencyServiceImpl service;
+
+    @BeforeEach
+    void setup(AemContext context) {
+        service = context.registerInjectActivateService(new RequestLatencyServiceImpl(), "maxHistograms", 2);
+    }
+
+    @Test
+    void keepsOneHistogramPerCombinationSlowestFirst() {
+        service.record("aem-cinema-react/components/page", "model", "json", TimeUnit.MILLISECONDS.toNanos(40));
+        service.record("aem-cinema-react/components/page", "model", "json", TimeUnit.MILLISECONDS.toNanos(60));
+        service.record("aem-cinema-react/components/carousel", null, "html", TimeUnit.MILLISECONDS.toNanos(5));
+
+        List<LatencyStats> stats = service.getStats();
+        assertEquals(2, stats.size());
+        assertEquals("aem-cinema-react/components/page", stats.get(0).getResourceType());
+        assertEquals(2, stats.get(0).getCount());
+        assertEquals(60_000, stats.get(0).getMax());
+        assertEquals("", stats.get(1).getSelectorString());
+    }
+
+    @Test
+    void recordsUnknownCombinationsInOverflowOnceFull() {
+        service.record("a", "one", "json", 1_000);
+        service.record("a", "two", "json", 1_000);
+        service.record("a", "three", "json", 1_000);
+        service.record("a", "four", "json", 1_000);
+
+        List<LatencyStats> stats = service.getStats();
+        assertEquals(3, stats.size());
+        assertTrue(stats.stream().anyMatch(stat -> RequestLatencyServiceImpl.OVERFLOW.equals(stat.getResourceType())
+                && stat.getCount() == 2));
+    }
+
+    @Test
+    void resetClearsEverything() {
+        service.record("a", "one", "json", 1_000);
+
+        service.reset();
+
+        assertTrue(service.getStats().isEmpty());
+    }
+}
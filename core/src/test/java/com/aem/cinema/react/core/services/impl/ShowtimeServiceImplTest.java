@@ -0,0 +1,105 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.MovieCatalog;
+import com.aem.cinema.react.core.services.MovieCatalogService;
+import com.aem.cinema.react.core.services.MovieData;
+import com.aem.cinema.react.core.services.Showtime;
+import com.aem.cinema.react.core.services.ShowtimeSchedule;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(AemContextExtension.class)
+class ShowtimeServiceImplTest {
+
+    private static final String DUNA = "/content/dam/filmes/duna";
+    private static final String BARBIE = "/content/dam/filmes/barbie";
+
+    private final MovieCatalogService movieCatalogService = mock(MovieCatalogService.class);
+
+    private final Map<String, MovieData> movies = new LinkedHashMap<>();
+
+    private ShowtimeServiceImpl service;
+
+    @BeforeEach
+    void setup(AemContext context) {
+        movies.put(DUNA, movie(DUNA, "Duna", "166", "Sala 1|2024-05-10T14:00", "Sala 1|2024-05-10T19:30"));
+        movies.put(BARBIE, movie(BARBIE, "Barbie", null, "Sala 2|2024-05-10T15:00|2024-05-10T17:00", "invalido"));
+        when(movieCatalogService.getCatalog()).thenReturn(new MovieCatalog(1, 0, movies));
+
+        context.registerService(MovieCatalogService.class, movieCatalogService);
+        service = context.registerInjectActivateService(new ShowtimeServiceImpl(), "timeZone", "America/Sao_Paulo");
+    }
+
+    @Test
+    void answersTimeQueriesFromTheSchedule() {
+        ShowtimeSchedule schedule = service.getSchedule();
+
+        assertEquals(3, schedule.size());
+        assertEquals(List.of("Duna 14:00", "Barbie 15:00"), describe(schedule.getNowPlaying(at("2024-05-10T16:00"))));
+        assertEquals(List.of("Barbie 15:00"), describe(schedule.getNowPlaying(at("2024-05-10T16:50"))));
+        assertEquals(List.of(), describe(schedule.getNowPlaying(at("2024-05-10T17:00"))));
+        assertEquals(List.of("Barbie 15:00", "Duna 19:30"), describe(schedule.getNext(at("2024-05-10T14:01"), 5)));
+        assertEquals(List.of("Duna 14:00", "Barbie 15:00"), describe(schedule.getWindow(at("2024-05-10T14:00"), at("2024-05-10T15:00"), 10)));
+        assertEquals(List.of("Duna 14:00"), describe(schedule.getWindow(at("2024-05-10T14:00"), at("2024-05-10T15:00"), 1)));
+        assertSame(schedule, service.getSchedule());
+    }
+
+    @Test
+    void mergesTheSessionsOfChangedFragments() {
+        service.getSchedule();
+
+        Map<String, MovieData> changed = new LinkedHashMap<>(movies);
+        changed.put(DUNA, movie(DUNA, "Duna", "166", "Sala 3|2024-05-10T16:30"));
+        changed.remove(BARBIE);
+        when(movieCatalogService.getCatalog()).thenReturn(new MovieCatalog(2, 0, changed, Set.of(DUNA, BARBIE)));
+
+        ShowtimeSchedule schedule = service.getSchedule();
+        assertEquals(List.of("Duna 16:30"), describe(schedule.getNext(at("2024-05-10T00:00"), 10)));
+        assertEquals("Sala 3", schedule.get(0).getRoom());
+        assertEquals(at("2024-05-10T19:16"), schedule.get(0).getEnd());
+    }
+
+    @Test
+    void cutsRunawaySessions() {
+        when(movieCatalogService.getCatalog()).thenReturn(new MovieCatalog(1, 0,
+                Map.of(DUNA, movie(DUNA, "Duna", "166", "Sala 1|2024-05-10T14:00|2024-05-12T14:00"))));
+
+        ShowtimeSchedule schedule = service.getSchedule();
+
+        assertEquals(at("2024-05-10T14:00") + ShowtimeSchedule.MAX_DURATION, schedule.get(0).getEnd());
+        assertEquals(List.of("Duna 14:00"), describe(schedule.getNowPlaying(at("2024-05-11T01:59"))));
+        assertEquals(List.of(), describe(schedule.getNowPlaying(at("2024-05-11T02:00"))));
+    }
+
+    private static MovieData movie(String path, String title, String movieTime, String... sessions) {
+        return new MovieData(path, null, title, "14", "Ficção", movieTime, List.of(sessions));
+    }
+
+    private static long at(String localTime) {
+        return OffsetDateTime.parse(localTime + "-03:00").toInstant().toEpochMilli();
+    }
+
+    private static List<String> describe(List<Showtime> showtimes) {
+        return showtimes.stream()
+                .map(showtime -> showtime.getMovie().getTitle() + " "
+                        + OffsetDateTime.ofInstant(Instant.ofEpochMilli(showtime.getStart()), ZoneOffset.ofHours(-3)).toLocalTime())
+                .collect(Collectors.toList());
+    }
+}
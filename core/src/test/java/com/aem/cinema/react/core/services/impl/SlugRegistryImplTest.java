@@ -0,0 +1,74 @@
+package com.aem.cinema.react.core.services.impl;
+
+import com.aem.cinema.react.core.services.MovieCatalog;
+import com.aem.cinema.react.core.services.MovieCatalogService;
+import com.aem.cinema.react.core.services.MovieData;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(AemContextExtension.class)
+class SlugRegistryImplTest {
+
+    private static final String FOLDER = "/content/dam/aem-cinema-react/movies-";
+
+    private final MovieCatalogService movieCatalogService = mock(MovieCatalogService.class);
+
+    private final Map<String, MovieData> movies = new LinkedHashMap<>();
+
+    private SlugRegistryImpl registry;
+
+    @BeforeEach
+    void setup(AemContext context) {
+        add("duna", "Duna: Parte Dois");
+        add("acao-total", "Ação Total");
+        add("acao-total-1990", "Ação Total");
+        when(movieCatalogService.getCatalog()).thenReturn(new MovieCatalog(1, 0, movies));
+
+        context.registerService(MovieCatalogService.class, movieCatalogService);
+        registry = context.registerInjectActivateService(new SlugRegistryImpl());
+    }
+
+    @Test
+    void resolvesTitleAndFragmentNameSlugs() {
+        assertEquals(FOLDER + "/duna", registry.resolve("duna-parte-dois").getFragmentPath());
+        assertEquals(FOLDER + "/duna", registry.resolve("duna").getFragmentPath());
+        assertNull(registry.resolve("barbie"));
+    }
+
+    @Test
+    void detectsCollisionsAndResolvesThemDeterministically() {
+        assertEquals(FOLDER + "/acao-total", registry.resolve("acao-total").getFragmentPath());
+        assertEquals(Map.of("acao-total", Set.of(FOLDER + "/acao-total", FOLDER + "/acao-total-1990")), registry.getCollisions());
+    }
+
+    @Test
+    void followsRenamedTitles() {
+        registry.resolve("duna");
+
+        Map<String, MovieData> changed = new LinkedHashMap<>(movies);
+        changed.put(FOLDER + "/duna", new MovieData(FOLDER + "/duna", null, "Duna 2", null, null, null));
+        changed.remove(FOLDER + "/acao-total");
+        when(movieCatalogService.getCatalog()).thenReturn(new MovieCatalog(2, 0, changed, Set.of(FOLDER + "/duna", FOLDER + "/acao-total")));
+
+        assertNull(registry.resolve("duna-parte-dois"));
+        assertEquals(FOLDER + "/duna", registry.resolve("duna-2").getFragmentPath());
+        assertEquals(FOLDER + "/acao-total-1990", registry.resolve("acao-total").getFragmentPath());
+        assertEquals(Map.of(), registry.getCollisions());
+    }
+
+    private void add(String name, String title) {
+        movies.put(FOLDER + "/" + name, new MovieData(FOLDER + "/" + name, null, title, null, null, null));
+    }
+}
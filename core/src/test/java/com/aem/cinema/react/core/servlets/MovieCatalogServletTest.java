@@ -0,0 +1,98 @@
+package com.aem.cinema.react.core.servlets;
+
+import com.aem.cinema.react.core.services.MovieCatalog;
+import com.aem.cinema.react.core.services.MovieCatalogService;
+import com.aem.cinema.react.core.services.MovieData;
+import com.aem.cinema.react.core.services.impl.MovieIndexServiceImpl;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.testing.mock.sling.servlet.MockRequestPathInfo;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(AemContextExtension.class)
+class MovieCatalogServletTest {
+
+    private final MovieCatalogService movieCatalogService = mock(MovieCatalogService.class);
+
+    private MovieCatalogServlet fixture;
+
+    @BeforeEach
+    void setup(AemContext context) {
+        Map<String, MovieData> movies = new LinkedHashMap<>();
+        movies.put("/content/dam/filmes/duna", new MovieData("/content/dam/filmes/duna", "/content/dam/posters/duna.jpg", "Duna", "14", "Ficção", "14:00"));
+        movies.put("/content/dam/filmes/velozes", new MovieData("/content/dam/filmes/velozes", null, "Velozes", "12", "Ação", "16:00"));
+        when(movieCatalogService.getCatalog()).thenReturn(new MovieCatalog(1, 1_700_000_000_000L, movies));
+
+        context.registerService(MovieCatalogService.class, movieCatalogService);
+        context.registerInjectActivateService(new MovieIndexServiceImpl());
+        fixture = context.registerInjectActivateService(new MovieCatalogServlet());
+    }
+
+    @Test
+    void servesWholeCatalog(AemContext context) throws IOException {
+        MockSlingHttpServletResponse response = get(context, "catalog", null);
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals("{\"items\":[{\"_path\":\"/content/dam/filmes/duna\",\"title\":\"Duna\",\"poster\":{\"_path\":\"/content/dam/posters/duna.jpg\"},"
+                + "\"posterSrcset\":[\"/content/dam/posters/duna.jpg.poster.240.jpg 240w\","
+                + "\"/content/dam/posters/duna.jpg.poster.480.jpg 480w\",\"/content/dam/posters/duna.jpg.poster.960.jpg 960w\"],"
+                + "\"ageGroup\":\"14\",\"gender\":\"Ficção\",\"movieTime\":\"14:00\"},"
+                + "{\"_path\":\"/content/dam/filmes/velozes\",\"title\":\"Velozes\",\"poster\":null,\"posterSrcset\":[],"
+                + "\"ageGroup\":\"12\",\"gender\":\"Ação\",\"movieTime\":\"16:00\"}]}", response.getOutputAsString());
+        assertTrue(response.getHeader("ETag").startsWith("\""));
+    }
+
+    @Test
+    void filtersByAccentFoldedGender(AemContext context) throws IOException {
+        MockSlingHttpServletResponse response = get(context, "catalog.gender-acao", null);
+
+        assertTrue(response.getOutputAsString().contains("Velozes"));
+        assertFalse(response.getOutputAsString().contains("Duna"));
+    }
+
+    @Test
+    void combinesGenderAndAgeGroupFilters(AemContext context) throws IOException {
+        assertEquals("{\"items\":[]}", get(context, "catalog.gender-ficcao.age-12", null).getOutputAsString());
+        assertTrue(get(context, "catalog.age-14", null).getOutputAsString().contains("Duna"));
+    }
+
+    @Test
+    void answersNotModifiedForMatchingEtag(AemContext context) throws IOException {
+        String etag = get(context, "catalog", null).getHeader("ETag");
+
+        MockSlingHttpServletResponse response = get(context, "catalog", etag);
+
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals("", response.getOutputAsString());
+    }
+
+    @Test
+    void rejectsUnknownSelectors(AemContext context) throws IOException {
+        assertEquals(HttpServletResponse.SC_NOT_FOUND, get(context, "catalog.foo", null).getStatus());
+        assertEquals(HttpServletResponse.SC_NOT_FOUND, get(context, "catalog.gender-terror", null).getStatus());
+        assertEquals(HttpServletResponse.SC_NOT_FOUND, get(context, "catalog.age-14.gender-acao", null).getStatus());
+        assertEquals(HttpServletResponse.SC_NOT_FOUND, get(context, "catalog.age-21", null).getStatus());
+    }
+
+    private MockSlingHttpServletResponse get(AemContext context, String selectors, String ifNoneMatch) throws IOException {
+        context.request().setHeader("If-None-Match", ifNoneMatch);
+        ((MockRequestPathInfo) context.request().getRequestPathInfo()).setSelectorString(selectors);
+        MockSlingHttpServletResponse response = new MockSlingHttpServletResponse();
+        fixture.doGet(context.request(), response);
+        return response;
+    }
+}
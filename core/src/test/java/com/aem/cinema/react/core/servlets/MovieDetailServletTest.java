@@ -0,0 +1,63 @@
+package com.aem.cinema.react.core.servlets;
+
+import com.aem.cinema.react.core.services.MovieData;
+import com.aem.cinema.react.core.services.SlugRegistry;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.testing.mock.sling.servlet.MockRequestPathInfo;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(AemContextExtension.class)
+class MovieDetailServletTest {
+
+    private static final String DUNA = "/content/dam/aem-cinema-react/filmes/duna";
+    private static final String PREVIEW = "/content/dam/aem-cinema-react/filmes/preview";
+
+    private final SlugRegistry slugRegistry = mock(SlugRegistry.class);
+
+    private MovieDetailServlet fixture;
+
+    @BeforeEach
+    void setup(AemContext context) {
+        when(slugRegistry.resolve("duna")).thenReturn(new MovieData(DUNA, null, "Duna", "14", "Ficção", "155"));
+        // Known to the registry, which reads as a service user, but not readable by the visitor
+        when(slugRegistry.resolve("preview")).thenReturn(new MovieData(PREVIEW, null, "Preview", "L", "Drama", "90"));
+        context.create().resource(DUNA + "/" + MovieData.DATA_PATH, "sinopse", "<p>Paul Atreides</p>");
+
+        context.registerService(SlugRegistry.class, slugRegistry);
+        fixture = context.registerInjectActivateService(new MovieDetailServlet());
+    }
+
+    @Test
+    void servesReadableMovies(AemContext context) throws IOException {
+        MockSlingHttpServletResponse response = get(context, "duna");
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertTrue(response.getOutputAsString().contains("\"title\":\"Duna\""));
+        assertTrue(response.getOutputAsString().contains("\"sinopse\":{\"html\":\"<p>Paul Atreides</p>\"}"));
+    }
+
+    @Test
+    void hidesMoviesTheVisitorCannotRead(AemContext context) throws IOException {
+        assertEquals(HttpServletResponse.SC_NOT_FOUND, get(context, "preview").getStatus());
+        assertEquals(HttpServletResponse.SC_NOT_FOUND, get(context, "unknown").getStatus());
+    }
+
+    private MockSlingHttpServletResponse get(AemContext context, String slug) throws IOException {
+        ((MockRequestPathInfo) context.request().getRequestPathInfo()).setSelectorString(MovieDetailServlet.SELECTOR + "." + slug);
+        MockSlingHttpServletResponse response = new MockSlingHttpServletResponse();
+        fixture.doGet(context.request(), response);
+        return response;
+    }
+}
@@ -0,0 +1,163 @@
+package com.aem.cinema.react.core.servlets;
+
+import com.adobe.cq.export.json.ComponentExporter;
+import com.adobe.cq.export.json.ContainerExporter;
+import com.adobe.cq.export.json.ExporterConstants;
+import com.aem.cinema.react.core.services.ComponentExportCache;
+import com.aem.cinema.react.core.services.MovieFragmentCache;
+import com.aem.cinema.react.core.services.impl.ModelValidatorServiceImpl;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.models.annotations.DefaultInjectionStrategy;
+import org.apache.sling.models.annotations.Exporter;
+import org.apache.sling.models.annotations.Model;
+import org.apache.sling.models.annotations.injectorspecific.OSGiService;
+import org.apache.sling.models.annotations.injectorspecific.SlingObject;
+import org.apache.sling.models.annotations.injectorspecific.ValueMapValue;
+import org.apache.sling.models.factory.ModelFactory;
+import org.apache.sling.models.jacksonexporter.impl.JacksonExporter;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Renders a real page with the Sling Models Jackson exporter, once as {@code model.json}
+ * and once through the {@link PageModelStreamServlet}, and expects the same bytes.
+ */
+@ExtendWith(AemContextExtension.class)
+class PageModelJsonEquivalenceTest {
+
+    private static final String CONTENT = "/content/aem-cinema-react/us/en/home/programacao/jcr:content";
+    private static final String CONTAINER_TYPE = "aem-cinema-react/components/test-container";
+    private static final String TEXT_TYPE = "aem-cinema-react/components/test-text";
+
+    private PageModelStreamServlet fixture;
+
+    @BeforeEach
+    void setup(AemContext context) {
+        context.addModelsForClasses(TestContainer.class, TestText.class);
+        context.registerInjectActivateService(new JacksonExporter());
+
+        context.create().resource(CONTENT, "sling:resourceType", CONTAINER_TYPE, "title", "Programação");
+        context.create().resource(CONTENT + "/root", "sling:resourceType", CONTAINER_TYPE, "title", "Em <cartaz>");
+        context.create().resource(CONTENT + "/root/title", "sling:resourceType", TEXT_TYPE,
+                "text", "Filmes \"da\" semana </script>");
+        context.create().resource(CONTENT + "/root/grid", "sling:resourceType", CONTAINER_TYPE);
+        context.create().resource(CONTENT + "/root/grid/duna", "sling:resourceType", TEXT_TYPE, "text", "Duna");
+        context.create().resource(CONTENT + "/root/grid/barbie", "sling:resourceType", TEXT_TYPE, "text", "Barbie");
+        context.create().resource(CONTENT + "/root/cq:responsive");
+        context.create().resource(CONTENT + "/footer", "sling:resourceType", TEXT_TYPE, "text", "Rodapé");
+
+        context.registerService(ComponentExportCache.class, mock(ComponentExportCache.class));
+        context.registerService(MovieFragmentCache.class, mock(MovieFragmentCache.class));
+        context.registerInjectActivateService(new ModelValidatorServiceImpl());
+        fixture = context.registerInjectActivateService(new PageModelStreamServlet());
+    }
+
+    @Test
+    void streamsTheSameJsonAsModelJson(AemContext context) throws Exception {
+        context.currentResource(CONTENT);
+        String modelJson = context.getService(ModelFactory.class).exportModelForRequest(context.request(),
+                ExporterConstants.SLING_MODEL_EXPORTER_NAME, String.class, Collections.emptyMap());
+
+        MockSlingHttpServletResponse response = context.response();
+        fixture.doGet(context.request(), response);
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals(modelJson, response.getOutputAsString());
+    }
+
+    @Model(adaptables = SlingHttpServletRequest.class, adapters = { TestContainer.class, ComponentExporter.class },
+            resourceType = CONTAINER_TYPE, defaultInjectionStrategy = DefaultInjectionStrategy.OPTIONAL)
+    @Exporter(name = ExporterConstants.SLING_MODEL_EXPORTER_NAME, extensions = ExporterConstants.SLING_MODEL_EXTENSION)
+    public static class TestContainer implements ContainerExporter {
+
+        @SlingObject
+        private SlingHttpServletRequest request;
+
+        @SlingObject
+        private Resource resource;
+
+        @OSGiService
+        private ModelFactory modelFactory;
+
+        @ValueMapValue
+        private String title;
+
+        public String getTitle() {
+            return title;
+        }
+
+        // Computed from the child resources, like the column classes of a responsive grid
+        public List<String> getColumnClassNames() {
+            List<String> columnClassNames = new ArrayList<>();
+            for (Resource child : resource.getChildren()) {
+                columnClassNames.add("aem-GridColumn--" + child.getName());
+            }
+            return columnClassNames;
+        }
+
+        @Override
+        public Map<String, ? extends ComponentExporter> getExportedItems() {
+            Map<String, ComponentExporter> items = new LinkedHashMap<>();
+            for (Resource child : resource.getChildren()) {
+                ComponentExporter model = modelFactory.getModelFromWrappedRequest(request, child, ComponentExporter.class);
+                if (model != null) {
+                    items.put(child.getName(), model);
+                }
+            }
+            return items;
+        }
+
+        @Override
+        public String[] getExportedItemsOrder() {
+            return getExportedItems().keySet().toArray(new String[0]);
+        }
+
+        @Override
+        public String getExportedType() {
+            return resource.getResourceType();
+        }
+    }
+
+    @Model(adaptables = SlingHttpServletRequest.class, adapters = { TestText.class, ComponentExporter.class },
+            resourceType = TEXT_TYPE, defaultInjectionStrategy = DefaultInjectionStrategy.OPTIONAL)
+    @Exporter(name = ExporterConstants.SLING_MODEL_EXPORTER_NAME, extensions = ExporterConstants.SLING_MODEL_EXTENSION)
+    public static class TestText implements ComponentExporter {
+
+        @SlingObject
+        private Resource resource;
+
+        @ValueMapValue
+        private String text;
+
+        @ValueMapValue
+        private String subtitle;
+
+        public String getText() {
+            return text;
+        }
+
+        public String getSubtitle() {
+            return subtitle;
+        }
+
+        @Override
+        public String getExportedType() {
+            return resource.getResourceType();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.aem.cinema.react.core.servlets;
+
+import com.adobe.cq.export.json.ComponentExporter;
+import com.adobe.cq.export.json.ContainerExporter;
+import com.adobe.cq.export.json.ExporterConstants;
+import com.aem.cinema.react.core.services.ComponentExportCache;
+import com.aem.cinema.react.core.services.MovieData;
+import com.aem.cinema.react.core.services.MovieFragmentCache;
+import com.aem.cinema.react.core.services.impl.ModelValidatorServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.models.factory.ModelFactory;
+import org.apache.sling.testing.mock.sling.servlet.MockRequestPathInfo;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletRequest;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.osgi.framework.Constants;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(AemContextExtension.class)
+class PageModelStreamServletTest {
+
+    private static final String CONTENT = "/content/aem-cinema-react/us/en/home/programacao/jcr:content";
+    private static final String DUNA = "/content/dam/aem-cinema-react/movies-/duna";
+    private static final String BARBIE = "/content/dam/aem-cinema-react/movies-/barbie";
+
+    private final ModelFactory modelFactory = mock(ModelFactory.class);
+
+    private final ComponentExportCache componentExportCache = mock(ComponentExportCache.class);
+
+    private final MovieFragmentCache movieFragmentCache = mock(MovieFragmentCache.class);
+
+    private PageModelStreamServlet fixture;
+
+    @BeforeEach
+    void setup(AemContext context) throws Exception {
+        context.create().resource(CONTENT);
+        context.create().resource(CONTENT + "/root");
+        context.create().resource(CONTENT + "/root/title");
+        context.create().resource(CONTENT + "/root/carousel");
+        context.create().resource(CONTENT + "/root/carousel/movieAssets/item0", "fragmentPath", DUNA);
+        context.create().resource(CONTENT + "/root/carousel/movieAssets/item1", "fragmentPath", BARBIE);
+        context.create().resource(CONTENT + "/root/carousel/movieAssets/item2", "fragmentPath", DUNA);
+        context.create().resource(CONTENT + "/root/cq:responsive");
+
+        model(CONTENT, new Container("aem-cinema-react/components/page", "Programação"));
+        model(CONTENT + "/root", new Container("aem-cinema-react/components/container", "Em cartaz"));
+        model(CONTENT + "/root/title", new Title("Filmes da semana"));
+        when(componentExportCache.getExport(any(), argThat(resource -> resource != null && resource.getPath().equals(CONTENT + "/root/carousel"))))
+                .thenReturn("{\":type\":\"aem-cinema-react/components/carousel\"}".getBytes(StandardCharsets.UTF_8));
+
+        // Stands in for the Jackson exporter, see PageModelJsonEquivalenceTest for the real one
+        when(modelFactory.exportModel(any(), eq(ExporterConstants.SLING_MODEL_EXPORTER_NAME), eq(String.class), any()))
+                .thenAnswer(invocation -> new ObjectMapper().writeValueAsString(invocation.getArgument(0)));
+        when(modelFactory.isModelAvailableForRequest(any()))
+                .thenAnswer(invocation -> !invocation.getArgument(0, SlingHttpServletRequest.class).getResource().getName().equals("cq:responsive"));
+        context.registerService(ModelFactory.class, modelFactory, Constants.SERVICE_RANKING, Integer.MAX_VALUE);
+        context.registerService(ComponentExportCache.class, componentExportCache);
+        context.registerService(MovieFragmentCache.class, movieFragmentCache);
+        context.registerInjectActivateService(new ModelValidatorServiceImpl());
+        fixture = context.registerInjectActivateService(new PageModelStreamServlet());
+    }
+
+    @Test
+    void streamsContainersItemByItem(AemContext context) throws IOException {
+        context.currentResource(CONTENT);
+        MockSlingHttpServletResponse response = context.response();
+
+        fixture.doGet(context.request(), response);
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        // Field order is up to Jackson, so compare the trees
+        ObjectMapper mapper = new ObjectMapper();
+        assertEquals(mapper.readTree("{\"title\":\"Programação\",\":type\":\"aem-cinema-react/components/page\","
+                + "\":items\":{\"root\":{\"title\":\"Em cartaz\",\":type\":\"aem-cinema-react/components/container\","
+                + "\":items\":{\"title\":{\"text\":\"Filmes da semana\",\":type\":\"aem-cinema-react/components/title\"},"
+                + "\"carousel\":{\":type\":\"aem-cinema-react/components/carousel\"}},"
+                + "\":itemsOrder\":[\"title\",\"carousel\"]}},"
+                + "\":itemsOrder\":[\"root\"]}"), mapper.readTree(response.getOutputAsString()));
+    }
+
+    @Test
+    void inlinesEveryReferencedMovieOnce(AemContext context) throws IOException {
+        when(movieFragmentCache.getAll(any(), eq(new LinkedHashSet<>(List.of(DUNA, BARBIE)))))
+                .thenReturn(Map.of(DUNA, new MovieData(DUNA, "/content/dam/duna.jpg", "Duna", "14", "Ficção", "166")));
+        context.currentResource(CONTENT);
+        ((MockRequestPathInfo) context.request().getRequestPathInfo()).setSelectorString("bundle");
+
+        fixture.doGet(context.request(), context.response());
+
+        JsonNode bundle = new ObjectMapper().readTree(context.response().getOutputAsString());
+        assertEquals("[\"root\"]", bundle.get(":itemsOrder").toString());
+        assertEquals(1, bundle.get(":movies").size());
+        JsonNode duna = bundle.get(":movies").get(DUNA);
+        assertEquals("Duna", duna.get("title").asText());
+        assertEquals("/content/dam/duna.jpg", duna.get("poster").get("_path").asText());
+    }
+
+    @Test
+    void answersUnchangedPagesWithNotModified(AemContext context) throws IOException {
+        context.currentResource(CONTENT);
+        fixture.doGet(context.request(), context.response());
+        String etag = context.response().getHeader("ETag");
+        assertNotNull(etag);
+
+        MockSlingHttpServletRequest request = new MockSlingHttpServletRequest(context.resourceResolver(), context.bundleContext());
+        request.setResource(context.resourceResolver().getResource(CONTENT));
+        request.setHeader("If-None-Match", etag);
+        MockSlingHttpServletResponse response = new MockSlingHttpServletResponse();
+        fixture.doGet(request, response);
+
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(0, response.getOutput().length);
+        verify(componentExportCache, never()).getExport(eq(request), any());
+    }
+
+    @Test
+    void revalidatesByEtagOnly(AemContext context) throws IOException {
+        MockSlingHttpServletRequest request = new MockSlingHttpServletRequest(context.resourceResolver(), context.bundleContext());
+        request.setResource(context.resourceResolver().getResource(CONTENT));
+        // A date cannot tell whether a child was deleted or the user changed
+        request.setHeader("If-Modified-Since", "Fri, 31 Dec 2100 23:59:59 GMT");
+        MockSlingHttpServletResponse response = new MockSlingHttpServletResponse();
+        fixture.doGet(request, response);
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals("max-age=60, must-revalidate", response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    void answersNotFoundWithoutPageModel(AemContext context) throws IOException {
+        context.currentResource(CONTENT + "/root/cq:responsive");
+
+        fixture.doGet(context.request(), context.response());
+
+        assertEquals(HttpServletResponse.SC_NOT_FOUND, context.response().getStatus());
+    }
+
+    private void model(String path, ComponentExporter model) {
+        when(modelFactory.getModelFromWrappedRequest(any(), argThat((Resource resource) -> resource != null && resource.getPath().equals(path)),
+                eq(ComponentExporter.class))).thenReturn(model);
+    }
+
+    public static class Container implements ContainerExporter {
+
+        private final String type;
+        private final String title;
+
+        Container(String type, String title) {
+            this.type = type;
+            this.title = title;
+        }
+
+        @Override
+        public String getExportedType() {
+            return type;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        // Replaced by the items streamed from the resource tree, so never part of the response
+        @Override
+        public Map<String, ? extends ComponentExporter> getExportedItems() {
+            return Map.of("stale", new Title("Não transmitido"));
+        }
+
+        @Override
+        public String[] getExportedItemsOrder() {
+            return new String[] { "stale" };
+        }
+    }
+
+    public static class Title implements ComponentExporter {
+
+        private final String text;
+
+        Title(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public String getExportedType() {
+            return "aem-cinema-react/components/title";
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.aem.cinema.react.core.servlets;
+
+import com.aem.cinema.react.core.services.PosterRenditionService;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.testing.mock.sling.servlet.MockRequestPathInfo;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletRequest;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(AemContextExtension.class)
+class PosterRenditionServletTest {
+
+    private static final String POSTER = "/content/dam/aem-cinema-react/posters/duna.jpg";
+
+    private final PosterRenditionService posterRenditionService = mock(PosterRenditionService.class);
+
+    private PosterRenditionServlet fixture;
+
+    @BeforeEach
+    void setup(AemContext context, @TempDir Path cacheDirectory) throws IOException {
+        Path rendition = Files.write(cacheDirectory.resolve("0a1b-480-1715360400000.jpg"), new byte[] { 1, 2, 3 });
+        when(posterRenditionService.getRendition(any(), eq(480))).thenReturn(rendition);
+
+        context.create().resource(POSTER);
+        context.registerService(PosterRenditionService.class, posterRenditionService);
+        fixture = context.registerInjectActivateService(new PosterRenditionServlet());
+    }
+
+    @Test
+    void revalidatesTheUnversionedUrlWithTheAssetVersion(AemContext context) throws IOException {
+        MockSlingHttpServletResponse response = get(context, null);
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertArrayEquals(new byte[] { 1, 2, 3 }, response.getOutput());
+        assertEquals("max-age=300", response.getHeader("Cache-Control"));
+        assertEquals("\"0a1b-480-1715360400000.jpg\"", response.getHeader("ETag"));
+
+        MockSlingHttpServletResponse revalidated = get(context, response.getHeader("ETag"));
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, revalidated.getStatus());
+        assertEquals(0, revalidated.getOutput().length);
+
+        assertEquals(HttpServletResponse.SC_OK, get(context, "\"0a1b-480-1715300000000.jpg\"").getStatus());
+    }
+
+    @Test
+    void revalidatesByTheFileDateWithoutEtag(AemContext context) throws IOException {
+        MockSlingHttpServletResponse response = get(context, null);
+
+        MockSlingHttpServletRequest request = request(context);
+        request.setHeader("If-Modified-Since", response.getHeader("Last-Modified"));
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, get(request).getStatus());
+    }
+
+    private MockSlingHttpServletResponse get(AemContext context, String ifNoneMatch) throws IOException {
+        MockSlingHttpServletRequest request = request(context);
+        if (ifNoneMatch != null) {
+            request.setHeader("If-None-Match", ifNoneMatch);
+        }
+        return get(request);
+    }
+
+    private static MockSlingHttpServletRequest request(AemContext context) {
+        MockSlingHttpServletRequest request = new MockSlingHttpServletRequest(context.resourceResolver(), context.bundleContext());
+        request.setResource(context.resourceResolver().getResource(POSTER));
+        ((MockRequestPathInfo) request.getRequestPathInfo()).setSelectorString("poster.480");
+        return request;
+    }
+
+    private MockSlingHttpServletResponse get(MockSlingHttpServletRequest request) throws IOException {
+        MockSlingHttpServletResponse response = new MockSlingHttpServletResponse() {
+            // Not implemented by the mock
+            @Override
+            public void setContentLengthLong(long length) {
+                setContentLength((int) length);
+            }
+        };
+        fixture.doGet(request, response);
+        return response;
+    }
+}
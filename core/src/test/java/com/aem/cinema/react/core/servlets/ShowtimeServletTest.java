@@ -0,0 +1,101 @@
+package com.aem.cinema.react.core.servlets;
+
+import com.aem.cinema.react.core.services.MovieData;
+import com.aem.cinema.react.core.services.ShowtimeSchedule;
+import com.aem.cinema.react.core.services.ShowtimeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.testing.mock.sling.servlet.MockRequestPathInfo;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(AemContextExtension.class)
+class ShowtimeServletTest {
+
+    // 2024-05-10T14:00-03:00
+    private static final long START = 1_715_360_400_000L;
+
+    private final ShowtimeService showtimeService = mock(ShowtimeService.class);
+
+    private ShowtimeServlet fixture;
+
+    @BeforeEach
+    void setup(AemContext context) {
+        MovieData duna = new MovieData("/content/dam/filmes/duna", null, "Duna", "14", "Ficção", "166");
+        when(showtimeService.getSchedule()).thenReturn(new ShowtimeSchedule(
+                new long[] { START }, new long[] { START + 7_200_000L }, new MovieData[] { duna }, new String[] { "Sala 1" }));
+        when(showtimeService.getZoneId()).thenReturn(ZoneId.of("America/Sao_Paulo"));
+
+        context.registerService(ShowtimeService.class, showtimeService);
+        fixture = context.registerInjectActivateService(new ShowtimeServlet());
+        fixture.clock = () -> START + 60_000L;
+    }
+
+    @Test
+    void servesNowPlaying(AemContext context) throws IOException {
+        MockSlingHttpServletResponse response = get(context, "showtimes.now", Map.of());
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals("{\"items\":[{\"_path\":\"/content/dam/filmes/duna\",\"title\":\"Duna\",\"room\":\"Sala 1\","
+                + "\"start\":\"2024-05-10T14:00:00-03:00\",\"end\":\"2024-05-10T16:00:00-03:00\"}]}", response.getOutputAsString());
+    }
+
+    @Test
+    void keepsSessionsOutOfTheMovieExport() {
+        MovieData duna = new MovieData("/content/dam/filmes/duna", null, "Duna", "14", "Ficção", "166",
+                List.of("Sala 1|2024-05-10T14:00"));
+
+        assertFalse(new ObjectMapper().valueToTree(duna).has("sessions"));
+    }
+
+    @Test
+    void servesWindowsGivenAsLocalTimes(AemContext context) throws IOException {
+        assertEquals("{\"items\":[]}", get(context, "showtimes.window",
+                Map.of("from", "2024-05-10T14:01", "to", "2024-05-10T23:59")).getOutputAsString());
+        assertEquals(HttpServletResponse.SC_BAD_REQUEST, get(context, "showtimes.next", Map.of("at", "amanha")).getStatus());
+        assertEquals(HttpServletResponse.SC_NOT_FOUND, get(context, "showtimes", Map.of()).getStatus());
+    }
+
+    @Test
+    void capsWindowsLikeNextSessions(AemContext context) throws IOException {
+        int size = 150;
+        long[] starts = new long[size];
+        long[] ends = new long[size];
+        MovieData[] movies = new MovieData[size];
+        String[] rooms = new String[size];
+        for (int i = 0; i < size; i++) {
+            starts[i] = START + i * 60_000L;
+            ends[i] = starts[i] + 7_200_000L;
+            movies[i] = new MovieData("/content/dam/filmes/filme-" + i, null, "Filme " + i, "L", "Drama", "120");
+            rooms[i] = "Sala " + (i % 5 + 1);
+        }
+        when(showtimeService.getSchedule()).thenReturn(new ShowtimeSchedule(starts, ends, movies, rooms));
+
+        String window = get(context, "showtimes.window", Map.of("from", String.valueOf(START))).getOutputAsString();
+        assertEquals(100, new ObjectMapper().readTree(window).get("items").size());
+        String requested = get(context, "showtimes.window", Map.of("from", String.valueOf(START), "count", "20")).getOutputAsString();
+        assertEquals(20, new ObjectMapper().readTree(requested).get("items").size());
+    }
+
+    private MockSlingHttpServletResponse get(AemContext context, String selectors, Map<String, Object> parameters) throws IOException {
+        context.request().setParameterMap(parameters);
+        ((MockRequestPathInfo) context.request().getRequestPathInfo()).setSelectorString(selectors);
+        MockSlingHttpServletResponse response = new MockSlingHttpServletResponse();
+        fixture.doGet(context.request(), response);
+        return response;
+    }
+}
@@ -0,0 +1,89 @@
+package com.aem.cinema.react.core.utils;
+
+import com.aem.cinema.react.core.services.MovieCatalog;
+import com.aem.cinema.react.core.services.MovieData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogFollowerTest {
+
+    private static final MovieData DUNA = movie("duna");
+    private static final MovieData BARBIE = movie("barbie");
+    private static final MovieData OPPENHEIMER = movie("oppenheimer");
+
+    @Test
+    void handsOnlyTheChangedPathsToTheIndexer() {
+        List<Set<String>> calls = new ArrayList<>();
+        CatalogFollower<Integer> follower = new CatalogFollower<>(0, (state, previous, catalog, changedPaths) -> {
+            calls.add(changedPaths);
+            return state + 1;
+        });
+        MovieCatalog first = catalog(1, null, DUNA, BARBIE);
+        MovieCatalog second = catalog(2, Set.of("barbie"), DUNA);
+        MovieData changedDuna = movie("duna");
+        MovieCatalog skipped = catalog(5, Set.of("oppenheimer"), changedDuna, OPPENHEIMER);
+
+        assertEquals(1, follower.get(first));
+        assertEquals(1, follower.get(first));
+        assertEquals(2, follower.get(second));
+        assertEquals(3, follower.get(skipped));
+
+        assertEquals(List.of(Set.of("barbie", "duna"), Set.of("barbie"), Set.of("duna", "oppenheimer")), calls);
+    }
+
+    @Test
+    void servesThePublishedStateWhileTheNextOneIsIndexed() throws Exception {
+        CountDownLatch indexing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MovieCatalog first = catalog(1, null, DUNA);
+        MovieCatalog second = catalog(2, Set.of("barbie"), DUNA, BARBIE);
+        CatalogFollower<String> follower = new CatalogFollower<>("", (state, previous, catalog, changedPaths) -> {
+            if (catalog == second) {
+                indexing.countDown();
+                await(release);
+            }
+            return "v" + catalog.getVersion();
+        });
+        assertEquals("v1", follower.get(first));
+
+        CompletableFuture<String> next = CompletableFuture.supplyAsync(() -> follower.get(second));
+        assertTrue(indexing.await(5, TimeUnit.SECONDS));
+        assertEquals("v1", follower.get(first));
+
+        release.countDown();
+        assertEquals("v2", next.get(5, TimeUnit.SECONDS));
+        assertSame(follower.get(second), next.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static MovieCatalog catalog(long version, Set<String> changedPaths, MovieData... movies) {
+        Map<String, MovieData> moviesByPath = new TreeMap<>();
+        for (MovieData movie : movies) {
+            moviesByPath.put(movie.getFragmentPath(), movie);
+        }
+        return new MovieCatalog(version, 0, moviesByPath, changedPaths);
+    }
+
+    private static MovieData movie(String path) {
+        return new MovieData(path, null, path, null, null, null);
+    }
+}
@@ -0,0 +1,59 @@
+package com.aem.cinema.react.core.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void reportsPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(10_000, snapshot.getCount());
+        assertEquals(10_000, snapshot.getMax());
+        assertEquals(5_000, snapshot.getMean());
+        assertWithinPrecision(5_000, snapshot.getPercentile(50));
+        assertWithinPrecision(9_500, snapshot.getPercentile(95));
+        assertWithinPrecision(9_900, snapshot.getPercentile(99));
+        assertEquals(10_000, snapshot.getPercentile(100));
+    }
+
+    @Test
+    void bucketsCoverEveryValueOnce() {
+        long previousHighest = -1;
+        for (long value = 0; value < 1_000_000; value++) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(value <= LatencyHistogram.highestValue(index));
+            assertTrue(value > (index > 0 ? LatencyHistogram.highestValue(index - 1) : -1));
+            previousHighest = Math.max(previousHighest, LatencyHistogram.highestValue(index));
+        }
+        assertTrue(previousHighest >= 999_999);
+    }
+
+    @Test
+    void clampsOutOfRangeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(2, snapshot.getCount());
+        assertEquals(0, snapshot.getPercentile(50));
+        assertEquals((1L << 35) - 1, snapshot.getMax());
+    }
+
+    @Test
+    void emptyHistogramReportsZero() {
+        assertEquals(0, new LatencyHistogram().snapshot().getPercentile(99));
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected * 0.035, "expected ~" + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,48 @@
+package com.aem.cinema.react.core.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LruCacheTest {
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        LruCache<String, String> cache = new LruCache<>(2);
+        cache.putIfCurrent("duna", "Duna", cache.getGeneration());
+        cache.putIfCurrent("alien", "Alien", cache.getGeneration());
+        cache.get("duna");
+
+        cache.putIfCurrent("matrix", "Matrix", cache.getGeneration());
+
+        assertEquals("Duna", cache.get("duna"));
+        assertNull(cache.get("alien"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void dropsLoadsThatRacedWithAnInvalidation() {
+        LruCache<String, String> cache = new LruCache<>(10);
+        long loadGeneration = cache.getGeneration();
+
+        cache.invalidate((key, value) -> LruCache.isRelated(key, "/content/dam/filmes"));
+
+        assertFalse(cache.putIfCurrent("/content/dam/filmes/duna", "Duna", loadGeneration));
+        assertTrue(cache.putIfCurrent("/content/dam/filmes/duna", "Duna", cache.getGeneration()));
+    }
+
+    @Test
+    void invalidatesRelatedPathsOnly() {
+        LruCache<String, String> cache = new LruCache<>(10);
+        cache.putIfCurrent("/content/dam/filmes/duna", "Duna", cache.getGeneration());
+        cache.putIfCurrent("/content/dam/filmes/duna-2", "Duna 2", cache.getGeneration());
+
+        cache.invalidate((key, value) -> LruCache.isRelated(key, "/content/dam/filmes/duna/jcr:content"));
+
+        assertNull(cache.get("/content/dam/filmes/duna"));
+        assertEquals("Duna 2", cache.get("/content/dam/filmes/duna-2"));
+    }
+}
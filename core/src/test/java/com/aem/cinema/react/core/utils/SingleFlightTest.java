@@ -0,0 +1,144 @@
+package com.aem.cinema.react.core.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(5000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> leader = executor.submit(() -> flight.load("catalog", () -> {
+                loads.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "v2";
+            }, null));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            AtomicReference<Thread> waiterThread = new AtomicReference<>();
+            Future<String> waiter = executor.submit(() -> {
+                waiterThread.set(Thread.currentThread());
+                return flight.load("catalog", () -> "own", null);
+            });
+            awaitWaiting(waiterThread);
+            assertEquals("v1", flight.load("catalog", () -> "own", "v1"));
+
+            release.countDown();
+            assertEquals("v2", leader.get(5, TimeUnit.SECONDS));
+            assertEquals("v2", waiter.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void waitersLoadOnTheirOwnAfterTheTimeout() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(20);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> flight.load("carousel", () -> {
+                started.countDown();
+                await(release);
+                return "slow";
+            }, null));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertEquals("own", flight.load("carousel", () -> "own", null));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedLoadsAreNotRemembered() {
+        SingleFlight<String, String> flight = new SingleFlight<>(5000);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> flight.load("movie", () -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException("repository unavailable");
+        }, null));
+        assertEquals("loaded", flight.load("movie", () -> {
+            loads.incrementAndGet();
+            return "loaded";
+        }, null));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void waitersShareTheFailureOfTheLoad() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(5000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("repository unavailable");
+        AtomicInteger waiterLoads = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> flight.load("catalog", () -> {
+                started.countDown();
+                await(release);
+                throw failure;
+            }, null));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            AtomicReference<Thread> waiterThread = new AtomicReference<>();
+            Future<String> waiter = executor.submit(() -> {
+                waiterThread.set(Thread.currentThread());
+                return flight.load("catalog", () -> "v" + waiterLoads.incrementAndGet(), null);
+            });
+            awaitWaiting(waiterThread);
+
+            release.countDown();
+            ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+            ExecutionException waiterFailure = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+            assertSame(failure, leaderFailure.getCause());
+            assertSame(failure, waiterFailure.getCause());
+            assertEquals(0, waiterLoads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Waits until the thread blocks on the running load
+    private static void awaitWaiting(AtomicReference<Thread> thread) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (thread.get() == null || thread.get().getState() != Thread.State.TIMED_WAITING) {
+            assertTrue(System.currentTimeMillis() < deadline, "the caller never waited for the load");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.aem.cinema.react.core.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SlugUtilsTest {
+
+    @Test
+    void matchesFormatTitleForUrl() {
+        assertEquals("acao-e-aventura", SlugUtils.toSlug("Ação e Aventura"));
+        assertEquals("duna-parte-dois", SlugUtils.toSlug("Duna: Parte   Dois"));
+        assertEquals("homem-aranha-no-aranhaverso", SlugUtils.toSlug("Homem-Aranha -- no Aranhaverso"));
+        assertEquals("", SlugUtils.toSlug(null));
+    }
+}
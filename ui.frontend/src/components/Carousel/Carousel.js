@@ -13,27 +13,8 @@ const getAemHost = () => {
     return typeof window !== 'undefined' ? window.location.origin : '';
 };
 
-const graphqlEndpoint = `${getAemHost()}/content/cq:graphql/aem-cinema-react/endpoint.json`;
-
-const GET_FILME_LIST_QUERY = `
-    query GetFilmeList {
-        filmeList {
-            items {
-                _path
-                title
-                poster {
-                    ... on ImageRef {
-                        _path
-                        mimeType
-                    }
-                }
-                ageGroup
-                gender
-                movieTime
-            }
-        }
-    }
-`;
+// Served by MovieCatalogServlet; a cacheable GET instead of a per-visitor GraphQL POST
+const movieCatalogEndpoint = `${getAemHost()}/content/aem-cinema-react/us/en/home/jcr:content.catalog.json`;
 
 const Carousel = (props) => {
 
@@ -66,16 +47,17 @@ const Carousel = (props) => {
         setMoviesListError(false);
         setMoviesList([]);
         try {
-            const response = await axios.post(graphqlEndpoint, { query: GET_FILME_LIST_QUERY }, { withCredentials: true });
-            if (response.data?.data?.filmeList?.items) {
-                const moviesWithFullPosterPaths = response.data.data.filmeList.items.map(movie => ({
+            const response = await axios.get(movieCatalogEndpoint, { withCredentials: true });
+            if (response.data?.items) {
+                const moviesWithFullPosterPaths = response.data.items.map(movie => ({
                     ...movie,
-                    poster: movie.poster ? `${getAemHost()}${movie.poster._path}` : ''
+                    poster: movie.poster ? `${getAemHost()}${movie.poster._path}` : '',
+                    posterSrcset: (movie.posterSrcset || []).map(candidate => `${getAemHost()}${candidate}`)
                 }));
                 setMoviesList(moviesWithFullPosterPaths);
             } else {
                 setMoviesListError(true);
-                console.error("Carousel: No movie items found or unexpected GraphQL response for list.", response.data);
+                console.error("Carousel: No movie items found or unexpected catalog response for list.", response.data);
             }
         } catch (err) {
             setMoviesListError(true);
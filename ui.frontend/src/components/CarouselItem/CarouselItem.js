@@ -1,14 +1,15 @@
 import React from 'react';
 import './CarouselItem.css';
+import { getImageSrcSet } from '../../utils/ImageSrcSet';
 
 const CarouselItem = (props) => {
-    const { isActive, fileReference, title, buttonName, internalLink, externalLink } = props;
+    const { isActive, fileReference, renditions, title, buttonName, internalLink, externalLink } = props;
 
     return (
         <div className={`carousel-item ${isActive ? 'active' : ''}`}>
             {fileReference && (
                 <div className="carousel-item__image-wrapper">
-                    <img src={fileReference} alt={title || 'Slide Image'} className="carousel-item__image" />
+                    <img src={fileReference} srcSet={getImageSrcSet(renditions)} sizes="100vw" alt={title || 'Slide Image'} className="carousel-item__image" />
                 </div>
             )}
 
@@ -2,6 +2,7 @@ import React, { useEffect } from "react"; // Import useEffect
 import { MapTo } from "@adobe/aem-react-editable-components";
 import "./Highlight.css";
 import { trackComponent } from "../../utils/UseComponentTracking"; // Ensure this path is correct
+import { getImageSrcSet } from "../../utils/ImageSrcSet";
 
 const RESOURCE_TYPE = "aem-cinema-react/components/highlight";
 
@@ -9,6 +10,7 @@ const Highlight = ({
                        id, // Destructure 'id' from props
                        dataLayer, // Destructure 'dataLayer' from props
                        fileReference,
+                       renditions,
                        title,
                        description,
                        alignment = "",
@@ -46,6 +48,8 @@ const Highlight = ({
                 <div className="highlight-image-wrapper">
                     <img
                         src={fileReference}
+                        srcSet={getImageSrcSet(renditions)}
+                        sizes="(max-width: 768px) 100vw, 50vw"
                         alt={title || "Highlight image"}
                         className="highlight-image"
                     />
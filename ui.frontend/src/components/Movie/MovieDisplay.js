@@ -3,6 +3,8 @@ import { MapTo } from '@adobe/aem-react-editable-components';
 import axios from 'axios';
 import './MovieDisplay.css';
 import {trackComponent} from "../../utils/UseComponentTracking";
+import {getPersistedQuery} from "../../utils/PersistedQuery";
+import {getBundledMovie} from "../../utils/PageBundle";
 
 const getAemHost = () => {
     if (typeof window !== 'undefined' && window.location.hostname === 'localhost') {
@@ -11,79 +13,16 @@ const getAemHost = () => {
     return typeof window !== 'undefined' ? window.location.origin : '';
 };
 
-const graphqlEndpoint = `${getAemHost()}/content/cq:graphql/aem-cinema-react/endpoint.json`;
-
-const GET_FILME_BY_PATH_FULL_QUERY = `
-   query GetFilmeByPathFull($path: String!) {
-          filmeByPath(_path: $path) {
-            item{
-              _path
-              title
-              poster {
-                ... on ImageRef {
-                  _path
-                  mimeType
-                }
-              }
-              ageGroup
-              gender
-              movieTime
-              sinopse {
-                html
-                markdown
-                plaintext
-                json
-              }
-            }
-          }
-        }
-`;
-
-const GET_FILME_BY_PATH_NO_SINOPSE_QUERY = `
-   query GetFilmeByPathNoSinopse($path: String!) {
-          filmeByPath(_path: $path) {
-            item{
-              _path
-              title
-              poster {
-                ... on ImageRef {
-                  _path
-                  mimeType
-                }
-              }
-              ageGroup
-              gender
-              movieTime
-            }
-          }
-        }
-`;
-
-const GET_FILME_LIST_FULL_QUERY = `
-    query GetFilmeListFull($gender: String) {
-        filmeList(filter: { gender: { _expressions: [{ value: $gender }] } }) { 
-            items {
-              _path
-              title
-              poster{
-                ... on ImageRef {
-                  _path
-                  mimeType
-                }
-              }
-              gender
-              ageGroup
-              movieTime
-              sinopse {
-                html
-                markdown
-                plaintext
-                json
-              }
-            }
-        }
-    }
-`;
+// Persisted queries, see core/src/main/resources/graphql
+const FILME_BY_PATH_FULL_QUERY = 'filme-by-path-full';
+const FILME_BY_PATH_NO_SINOPSE_QUERY = 'filme-by-path';
+const FILME_LIST_FULL_QUERY = 'filme-list';
+
+// Rendition candidates exported with the movie (Movie.getPosterSrcset), made absolute like its poster.
+// GraphQL responses carry none, so those posters keep their single src.
+const getAbsoluteSrcset = (posterSrcset) => (posterSrcset || []).map(candidate => `${getAemHost()}${candidate}`);
+
+const toSrcSet = (posterSrcset) => (posterSrcset && posterSrcset.length > 0 ? posterSrcset.join(', ') : undefined);
 
 const getAgeGroupColorClass = (ageGroup) => {
     switch (String(ageGroup).toUpperCase()) {
@@ -112,6 +51,10 @@ const formatTitleForUrl = (title) => {
 const MOVIE_DETAIL_PAGE_PATH = '/content/aem-cinema-react/us/en/home/filme.html';
 const MOVIE_LIST_PAGE_PATH = '/content/aem-cinema-react/us/en/home/programacao.html';
 
+// Served by MovieDetailServlet, e.g. .../home/filme/jcr:content.movie.duna-parte-dois.json
+const getMovieDetailUrl = (slug) =>
+    `${getAemHost()}${MOVIE_DETAIL_PAGE_PATH.replace(/\.html$/, '')}/jcr:content.movie.${formatTitleForUrl(slug)}.json`;
+
 const MovieDisplay = ({movie, fragmentPath }) => {
 
 
@@ -154,15 +97,13 @@ const MovieDisplay = ({movie, fragmentPath }) => {
                         variables.gender = selectedGender;
                     }
 
-                    const response = await axios.post(graphqlEndpoint, {
-                        query: GET_FILME_LIST_FULL_QUERY,
-                        variables: variables
-                    }, { withCredentials: true });
+                    const response = await getPersistedQuery(getAemHost(), FILME_LIST_FULL_QUERY, variables);
 
                     if (response.data?.data?.filmeList?.items) {
                         const processedList = response.data.data.filmeList.items.map(item => ({
                             ...item,
                             poster: item.poster ? `${getAemHost()}${item.poster._path}` : '',
+                            posterSrcset: getAbsoluteSrcset(item.posterSrcset),
                             sinopse: item.sinopse ? {
                                 ...item.sinopse,
                                 html: item.sinopse.html ? item.sinopse.html.replace(/src="\/content/g, `src="${getAemHost()}/content`) : ''
@@ -207,29 +148,41 @@ const MovieDisplay = ({movie, fragmentPath }) => {
                 let query;
                 let dataProcessor = (item) => ({
                     ...item,
-                    poster: item.poster ? `${getAemHost()}${item.poster._path}` : ''
+                    poster: item.poster ? `${getAemHost()}${item.poster._path}` : '',
+                    posterSrcset: getAbsoluteSrcset(item.posterSrcset)
                 });
 
                 if (isDetailPage) {
-                    query = GET_FILME_BY_PATH_FULL_QUERY;
+                    query = FILME_BY_PATH_FULL_QUERY;
                     dataProcessor = (item) => ({
                         ...item,
                         poster: item.poster ? `${getAemHost()}${item.poster._path}` : '',
+                        posterSrcset: getAbsoluteSrcset(item.posterSrcset),
                         sinopse: item.sinopse ? {
                             ...item.sinopse,
                             html: item.sinopse.html ? item.sinopse.html.replace(/src="\/content/g, `src="${getAemHost()}/content`) : ''
                         } : null
                     });
                 } else {
-                    query = GET_FILME_BY_PATH_NO_SINOPSE_QUERY;
+                    query = FILME_BY_PATH_NO_SINOPSE_QUERY;
                 }
 
                 try {
+                    if (isDetailPage) {
+                        // One dispatcher-cacheable GET, resolved through the server-side slug registry
+                        const response = await axios.get(getMovieDetailUrl(targetFragmentSlug), { withCredentials: true });
+                        setFetchedMovieData(dataProcessor(response.data));
+                        return;
+                    }
+
+                    // Every card of the page shares the one page bundle request
+                    const bundledMovie = await getBundledMovie(getAemHost(), targetFragmentPath);
+                    if (bundledMovie) {
+                        setFetchedMovieData(dataProcessor(bundledMovie));
+                        return;
+                    }
 
-                    const response = await axios.post(graphqlEndpoint, {
-                        query: query,
-                        variables: { path: targetFragmentPath }
-                    }, { withCredentials: true });
+                    const response = await getPersistedQuery(getAemHost(), query, { path: targetFragmentPath });
 
 
                     if (response.data?.data?.filmeByPath?.item) {
@@ -338,7 +291,7 @@ const MovieDisplay = ({movie, fragmentPath }) => {
                                 <div className="cmp-movie__poster-title-block">
                                     {movieItem.poster && (
                                         <div className="cmp-movie__poster-section">
-                                            <img className="cmp-movie__poster" src={movieItem.poster} alt={`${movieItem.title || 'Movie'} Poster`} />
+                                            <img className="cmp-movie__poster" src={movieItem.poster} srcSet={toSrcSet(movieItem.posterSrcset)} sizes="240px" alt={`${movieItem.title || 'Movie'} Poster`} />
 
                                             {movieItem.ageGroup && (
                                                 <p className={`cmp-movie__age-group-overlay ${ageGroupColorClass}`}>
@@ -385,14 +338,14 @@ const MovieDisplay = ({movie, fragmentPath }) => {
         return null;
     }
 
-    const { title, poster, ageGroup, gender, movieTime, sinopse } = currentMovieData;
+    const { title, poster, posterSrcset, ageGroup, gender, movieTime, sinopse } = currentMovieData;
     const ageGroupColorClass = ageGroup ? getAgeGroupColorClass(ageGroup) : '';
 
     return (
         <div className={`cmp-movie-card ${isDetailPage ? 'cmp-movie-card--detail-page' : ''}`}>
             {poster && (
                 <div className="cmp-movie__poster-section" onClick={() => handlePosterClick(currentMovieData)} style={{ cursor: isDetailPage ? 'default' : 'pointer' }}>
-                    <img className="cmp-movie__poster" src={poster} alt={`${title || 'Movie'} Poster`} />
+                    <img className="cmp-movie__poster" src={poster} srcSet={toSrcSet(posterSrcset)} sizes={isDetailPage ? '480px' : '240px'} alt={`${title || 'Movie'} Poster`} />
                     {ageGroup && (
                         <p className={`cmp-movie__age-group-overlay ${ageGroupColorClass}`}>
                             {ageGroup}
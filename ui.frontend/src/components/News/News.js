@@ -1,23 +1,36 @@
 import React, {useEffect, useState} from 'react';
-import api from "../../axios";
+import axios from 'axios';
+import {getPersistedQuery} from "../../utils/PersistedQuery";
 import './news.css'
 
+// Served by NewsFeedServlet: summaries only, newest first, one page per request
+const NEWS_FEED_URL = '/content/aem-cinema-react/us/en/home/jcr:content.news.json';
+const NEWS_PAGE_SIZE = 10;
+// Folder of the news opened by the older links, which only carry the fragment name
+const NEWS_FOLDER = '/content/dam/aem-spa-sccp/contentfragments/news';
+
+const getNewsPage = (cursor) =>
+    axios.get(NEWS_FEED_URL, {
+        params: cursor ? { limit: NEWS_PAGE_SIZE, cursor } : { limit: NEWS_PAGE_SIZE },
+        withCredentials: true
+    });
+
 const News = () => {
 
     const [data, setData] = useState(null);
     const [dataList, setDataList] = useState([])
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState(false)
+    const [nextCursor, setNextCursor] = useState(null)
+    const [loadingMore, setLoadingMore] = useState(false)
 
     useEffect(() => {
 
-        const idParam = new URLSearchParams(window.location.search).get('id')
-        if (idParam) {
-            api.post("/getNewsByPath", {
-                "query": "query getNewsByPath($path: String!) { not_ciaByPath(_path: $path) {item {title subtitle date author image {... on ImageRef {_path}} body {html}}}}",
-                "variables": {
-                    "path": `/content/dam/aem-spa-sccp/contentfragments/news/${idParam}`
-                }
+        const params = new URLSearchParams(window.location.search)
+        const newsPath = params.get('path') || (params.get('id') && `${NEWS_FOLDER}/${params.get('id')}`)
+        if (newsPath) {
+            getPersistedQuery('', 'noticia-by-path', {
+                "path": newsPath
             })
                 .then((r) => {
                     console.log(r.data)
@@ -30,14 +43,10 @@ const News = () => {
                     setLoading(false)
                 })
         } else {
-            api.post("/getNews", {
-                "query": "query getNews {not_ciaList {items { title subtitle date author image { ... on ImageRef { _path }} body{ html }}}}",
-                "variables": {}
-            })
+            getNewsPage(null)
                 .then((r) => {
-                    console.log(r.data)
-                    setDataList(r.data.data.not_ciaList.items);
-                    console.log(data)
+                    setDataList(r.data.items);
+                    setNextCursor(r.data.next);
                 })
                 .catch(() => {
                     setError(true)
@@ -49,6 +58,21 @@ const News = () => {
 
     }, []);
 
+    const loadMore = () => {
+        setLoadingMore(true)
+        getNewsPage(nextCursor)
+            .then((r) => {
+                setDataList(current => [...current, ...r.data.items]);
+                setNextCursor(r.data.next);
+            })
+            .catch(() => {
+                setError(true)
+            })
+            .finally(() => {
+                setLoadingMore(false)
+            })
+    }
+
     if (loading) {
         return <div>Carregando notícia...</div>;
     }
@@ -78,11 +102,10 @@ const News = () => {
             <h1 className="my-3 text-black fw-bolder">NOTÍCIAS</h1>
             <div className="d-flex flex-column gap-2 me-3">
                 {dataList.map((news, index) => {
-                    const newsId = news._path.split("/").pop();
                     return (
-                        <a className="text-decoration-none" href={`http://localhost:4502/content/aem-spa-sccp/noticias.html?wcmmode=disabled&id=${newsId}`}>
+                        <a key={news._path} className="text-decoration-none" href={`http://localhost:4502/content/aem-spa-sccp/noticias.html?wcmmode=disabled&path=${encodeURIComponent(news._path)}`}>
                             <div key={index} className="col-12 d-flex flex-column flex-md-row gap-2">
-                                <img className="col-12 col-md-3" src={`${news.image._path}`} alt=""/>
+                                {news.image && <img className="col-12 col-md-3" src={`${news.image._path}`} alt=""/>}
                                 <div className="d-flex flex-column">
                                     <h3>{news.title}</h3>
                                     <p className="fs-6">{Intl.DateTimeFormat('pt-BR', {year: 'numeric', month: '2-digit', day: '2-digit', hour: '2-digit', minute: '2-digit'}).format(new Date(news.date))} - {news.author}</p>
@@ -92,6 +115,11 @@ const News = () => {
                     )
                 })}
             </div>
+            {nextCursor && (
+                <button className="btn btn-outline-dark my-3" onClick={loadMore} disabled={loadingMore}>
+                    {loadingMore ? 'Carregando...' : 'Carregar mais'}
+                </button>
+            )}
         </div>
     )
 
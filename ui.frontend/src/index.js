@@ -9,6 +9,7 @@ import { render } from 'react-dom';
 import { Router } from 'react-router-dom';
 import App from './App';
 import LocalDevModelClient from './LocalDevModelClient';
+import { loadPageDataLayer } from './utils/LoadPageDataLayer';
 import './components/import-components';
 import './index.css';
 
@@ -19,6 +20,9 @@ if(process.env.REACT_APP_PROXY_ENABLED) {
 
 const renderApp = () => {
     ModelManager.initialize(modelManagerOptions).then(pageModel => {
+        if (process.env.REACT_APP_PAGE_DATA_LAYER) {
+            loadPageDataLayer(pageModel[Constants.PATH_PROP]);
+        }
         const history = createBrowserHistory();
         render(
             <Router history={history}>
@@ -0,0 +1,10 @@
+// Builds an <img srcset> from the rendition descriptors exported by the
+// CarouselItem and Highlight models
+export const getImageSrcSet = (renditions) => {
+    if (!renditions || renditions.length === 0) {
+        return undefined;
+    }
+    return renditions
+        .map(rendition => `${rendition.url} ${rendition.width}w`)
+        .join(', ');
+};
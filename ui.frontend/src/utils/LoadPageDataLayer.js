@@ -0,0 +1,23 @@
+import axios from 'axios';
+
+// Pushes the data layer of every component on the page at once. Served by
+// DataLayerServlet when the DataLayerService runs in page-level mode.
+export const loadPageDataLayer = async (pagePath) => {
+    if (!pagePath) {
+        return;
+    }
+    try {
+        const response = await axios.get(`${pagePath}/jcr:content.datalayer.json`, { withCredentials: true });
+        if (response.data && Object.keys(response.data).length > 0) {
+            if (!window.adobeDataLayer) {
+                window.adobeDataLayer = [];
+            }
+            window.adobeDataLayer.push({
+                component: response.data,
+                event: "cmp:loaded",
+            });
+        }
+    } catch (error) {
+        console.error("Could not load the page data layer.", error);
+    }
+};
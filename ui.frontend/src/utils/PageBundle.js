@@ -0,0 +1,25 @@
+import axios from 'axios';
+
+// One request per page, shared by every component that asks for it
+const bundles = {};
+
+const getPagePath = () =>
+    typeof window !== 'undefined' ? window.location.pathname.replace(/\.html$/, '') : '';
+
+// Loads the page model with every referenced movie fragment inlined under ":movies",
+// served by PageModelStreamServlet, e.g. .../home/programacao/jcr:content.bundle.json.
+// Resolves to null when the page has no bundle, so callers can fall back to GraphQL.
+export const getPageBundle = (host, pagePath = getPagePath()) => {
+    if (!bundles[pagePath]) {
+        bundles[pagePath] = axios.get(`${host}${pagePath}/jcr:content.bundle.json`, { withCredentials: true })
+            .then(response => response.data)
+            .catch(() => null);
+    }
+    return bundles[pagePath];
+};
+
+// Resolves to the movie of the given fragment in the current page's bundle, or null
+export const getBundledMovie = async (host, fragmentPath) => {
+    const bundle = await getPageBundle(host);
+    return bundle?.[':movies']?.[fragmentPath] || null;
+};
@@ -0,0 +1,13 @@
+import axios from 'axios';
+
+// Any page of the site can serve the queries; the home page is always there
+const QUERY_PAGE_PATH = '/content/aem-cinema-react/us/en/home';
+
+// Runs a GraphQL query registered in PersistedQueryService with a cacheable GET,
+// e.g. getPersistedQuery(host, 'filme-list', { gender: 'Ação' }). The response
+// has the usual GraphQL shape: { data: {...} }.
+export const getPersistedQuery = (host, name, variables = {}) =>
+    axios.get(`${host}${QUERY_PAGE_PATH}/jcr:content.graphql.${name}.json`, {
+        params: Object.keys(variables).length > 0 ? { variables: JSON.stringify(variables) } : {},
+        withCredentials: true
+    });